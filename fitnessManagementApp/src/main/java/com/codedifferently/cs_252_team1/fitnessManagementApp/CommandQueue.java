@@ -0,0 +1,210 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Single writer thread that applies queued changes in order.
+ *
+ * Callers put commands into a bounded ring buffer and get a future for the
+ * result; a caller only waits to submit while the buffer is full. The writer
+ * takes every command waiting in the buffer, applies them one after another,
+ * commits the store once for the whole batch and only then completes their
+ * futures, so a completed future means the change is as durable as the fsync
+ * policy asks. A burst of changes, such as a bulk payment run, shares one
+ * disk flush instead of each caller forcing its own. If the commit fails,
+ * every future of the batch fails with its exception and the writer goes on
+ * with the next batch.
+ */
+final class CommandQueue implements AutoCloseable {
+    @FunctionalInterface
+    interface Command<T> {
+        T execute() throws Exception;
+    }
+
+    private final String name;
+    private final Task<?>[] ring;
+    private final Runnable batchCommit;
+    private int head;
+    private int count;
+    private Thread writer;
+    private boolean closed;
+
+    private static final class Task<T> {
+        private final Command<T> command;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+        private Throwable failure;
+
+        Task(Command<T> command) {
+            this.command = command;
+        }
+
+        void execute() {
+            try {
+                result = command.execute();
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+
+        // A command that failed keeps its own failure; the others fail with
+        // the commit's, or null when the batch was committed
+        void complete(Throwable commitFailure) {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else if (commitFailure != null) {
+                future.completeExceptionally(commitFailure);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+
+    /**
+     * @param name Name of the writer thread
+     * @param capacity Most commands waiting at once
+     * @param batchCommit Called by the writer after each batch to make it durable
+     */
+    CommandQueue(String name, int capacity, Runnable batchCommit) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.name = name;
+        this.ring = new Task<?>[capacity];
+        this.batchCommit = batchCommit;
+    }
+
+    /**
+     * Queue a command, waiting while the buffer is full. The writer thread is
+     * started on first use. A command submitted from the writer thread itself,
+     * for example by a callback on an earlier future, runs right away.
+     * @return Future completed with the command's result once its batch is committed
+     */
+    <T> CompletableFuture<T> submit(Command<T> command) {
+        Task<T> task = new Task<>(command);
+        synchronized (this) {
+            if (Thread.currentThread() != writer) {
+                while (count == ring.length && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return CompletableFuture.failedFuture(e);
+                    }
+                }
+                if (closed) {
+                    return CompletableFuture.failedFuture(new IllegalStateException(name + " is closed"));
+                }
+                ring[(head + count) % ring.length] = task;
+                count++;
+                if (writer == null) {
+                    writer = new Thread(this::run, name);
+                    writer.setDaemon(true);
+                    writer.start();
+                }
+                notifyAll();
+                return task.future;
+            }
+        }
+        task.execute();
+        commit(List.of(task));
+        return task.future;
+    }
+
+    /**
+     * Stop accepting commands and wait for the queued ones to be applied
+     */
+    @Override
+    public void close() {
+        Thread running;
+        synchronized (this) {
+            closed = true;
+            running = writer;
+            notifyAll();
+        }
+        if (running != null && running != Thread.currentThread()) {
+            try {
+                running.join(30_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Wait for a future from {@link #submit}, throwing what the command threw
+     * @param checked The checked exception the command may throw
+     */
+    static <T, E extends Exception> T await(CompletableFuture<T> future, Class<E> checked) throws E {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (checked.isInstance(cause)) {
+                throw checked.cast(cause);
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private void run() {
+        while (true) {
+            List<Task<?>> batch;
+            try {
+                batch = takeBatch();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            for (Task<?> task : batch) {
+                task.execute();
+            }
+            commit(batch);
+        }
+    }
+
+    /**
+     * Commit a batch and complete its futures. A commit that throws fails
+     * every future of the batch instead of ending the writer thread, which
+     * would leave these futures and every later command waiting forever.
+     */
+    private void commit(List<Task<?>> batch) {
+        Throwable commitFailure = null;
+        try {
+            batchCommit.run();
+        } catch (Throwable e) {
+            commitFailure = e;
+        }
+        for (Task<?> task : batch) {
+            task.complete(commitFailure);
+        }
+    }
+
+    // Everything waiting, or nothing once closed and drained
+    private synchronized List<Task<?>> takeBatch() throws InterruptedException {
+        while (count == 0 && !closed) {
+            wait();
+        }
+        List<Task<?>> batch = new ArrayList<>(count);
+        while (count > 0) {
+            batch.add(ring[head]);
+            ring[head] = null;
+            head = (head + 1) % ring.length;
+            count--;
+        }
+        // Callers may be waiting for room
+        notifyAll();
+        return batch;
+    }
+}
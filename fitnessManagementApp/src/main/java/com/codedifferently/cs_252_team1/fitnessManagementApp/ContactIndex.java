@@ -0,0 +1,73 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+/**
+ * Immutable hash index from a normalized contact value, such as an email
+ * address or phone number, to the IDs of the members that have it. Kept as
+ * part of each {@link MemberTable} version.
+ *
+ * Values are keyed by their hash, so two different values can share a bucket;
+ * a lookup checks each ID in the bucket against the value stored for it and
+ * only returns IDs whose value is equal to the one asked for.
+ */
+final class ContactIndex {
+    static final ContactIndex EMPTY = new ContactIndex(PersistentIntMap.empty(), PersistentIntMap.empty());
+
+    private final PersistentIntMap<String> values;
+    private final PersistentIntMap<PersistentIntMap<Integer>> buckets;
+
+    private ContactIndex(PersistentIntMap<String> values, PersistentIntMap<PersistentIntMap<Integer>> buckets) {
+        this.values = values;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Index a member's value, replacing the value indexed for the ID before
+     * @param value Normalized value; an empty value is not indexed
+     */
+    ContactIndex put(int id, String value) {
+        String previous = values.get(id);
+        if (value.equals(previous)) {
+            return this;
+        }
+        ContactIndex index = previous != null ? remove(id) : this;
+        if (value.isEmpty()) {
+            return index;
+        }
+        PersistentIntMap<Integer> bucket = index.buckets.get(value.hashCode());
+        bucket = (bucket != null ? bucket : PersistentIntMap.<Integer>empty()).put(id, id);
+        return new ContactIndex(index.values.put(id, value), index.buckets.put(value.hashCode(), bucket));
+    }
+
+    ContactIndex remove(int id) {
+        String previous = values.get(id);
+        if (previous == null) {
+            return this;
+        }
+        PersistentIntMap<Integer> remaining = buckets.get(previous.hashCode()).remove(id);
+        return new ContactIndex(values.remove(id), remaining.isEmpty()
+            ? buckets.remove(previous.hashCode())
+            : buckets.put(previous.hashCode(), remaining));
+    }
+
+    /**
+     * @param value Normalized value
+     * @param exceptId ID to ignore, or 0 to consider every member
+     * @return Lowest ID indexed with the value, or 0 if there is none
+     */
+    int first(String value, int exceptId) {
+        if (value.isEmpty()) {
+            return 0;
+        }
+        PersistentIntMap<Integer> bucket = buckets.get(value.hashCode());
+        if (bucket == null) {
+            return 0;
+        }
+        // Buckets iterate in ID order and almost always hold a single ID
+        for (int candidate : bucket.values()) {
+            if (candidate != exceptId && value.equals(values.get(candidate))) {
+                return candidate;
+            }
+        }
+        return 0;
+    }
+}
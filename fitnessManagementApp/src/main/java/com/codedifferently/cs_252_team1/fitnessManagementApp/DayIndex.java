@@ -0,0 +1,102 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable index from a date to the IDs of the members with that date, kept
+ * in date order as part of each {@link MemberTable} version.
+ *
+ * Dates are keyed by their epoch day with the sign bit flipped, so that the
+ * unsigned key order of {@link PersistentIntMap} is date order for dates on
+ * either side of 1970. A range of dates is answered by walking only the days
+ * in the range; members without a date are not indexed.
+ */
+final class DayIndex {
+    static final DayIndex EMPTY = new DayIndex(PersistentIntMap.empty(), PersistentIntMap.empty());
+
+    private final PersistentIntMap<Integer> days;
+    private final PersistentIntMap<PersistentIntMap<Integer>> buckets;
+
+    private DayIndex(PersistentIntMap<Integer> days, PersistentIntMap<PersistentIntMap<Integer>> buckets) {
+        this.days = days;
+        this.buckets = buckets;
+    }
+
+    // Days beyond the int range only occur as open-ended query bounds
+    private static int key(LocalDate date) {
+        long day = Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, date.toEpochDay()));
+        return (int) day ^ Integer.MIN_VALUE;
+    }
+
+    /**
+     * Index a member's date, replacing the date indexed for the ID before
+     * @param date The member's date, or null to leave the member out
+     */
+    DayIndex put(int id, LocalDate date) {
+        Integer previous = days.get(id);
+        if (date != null && previous != null && previous == key(date)) {
+            return this;
+        }
+        DayIndex index = previous != null ? remove(id) : this;
+        if (date == null) {
+            return index;
+        }
+        int day = key(date);
+        PersistentIntMap<Integer> bucket = index.buckets.get(day);
+        bucket = (bucket != null ? bucket : PersistentIntMap.<Integer>empty()).put(id, id);
+        return new DayIndex(index.days.put(id, day), index.buckets.put(day, bucket));
+    }
+
+    DayIndex remove(int id) {
+        Integer previous = days.get(id);
+        if (previous == null) {
+            return this;
+        }
+        PersistentIntMap<Integer> remaining = buckets.get(previous).remove(id);
+        return new DayIndex(days.remove(id), remaining.isEmpty()
+            ? buckets.remove(previous)
+            : buckets.put(previous, remaining));
+    }
+
+    /**
+     * @return Whether the member's indexed date lies in the range
+     */
+    boolean contains(int id, LocalDate from, LocalDate to) {
+        Integer day = days.get(id);
+        return day != null
+            && Integer.compareUnsigned(day, lowKey(from)) >= 0
+            && Integer.compareUnsigned(day, highKey(to)) <= 0;
+    }
+
+    /**
+     * @param from First date, inclusive, or null for no lower bound
+     * @param to Last date, inclusive, or null for no upper bound
+     * @return IDs of the members whose date is in the range, by date and then by ID
+     */
+    List<Integer> between(LocalDate from, LocalDate to) {
+        List<Integer> result = new ArrayList<>();
+        buckets.forEachInRange(lowKey(from), highKey(to), bucket -> result.addAll(bucket.values()));
+        return result;
+    }
+
+    /**
+     * @return Number of members whose date is in the range, reading one
+     * count per distinct day
+     * @see #between(LocalDate, LocalDate)
+     */
+    int countBetween(LocalDate from, LocalDate to) {
+        int[] count = new int[1];
+        buckets.forEachInRange(lowKey(from), highKey(to), bucket -> count[0] += bucket.size());
+        return count[0];
+    }
+
+    private static int lowKey(LocalDate from) {
+        return from != null ? key(from) : 0;
+    }
+
+    private static int highKey(LocalDate to) {
+        return to != null ? key(to) : -1;
+    }
+}
@@ -48,6 +48,20 @@ public class Employee implements Serializable {
         setHireDate(hireDate);
         this.workStatus = workStatus != null ? workStatus : WorkStatus.ACTIVE;
     }
+
+    // Copy constructor, used to change an employee without readers seeing a half-applied change
+    public Employee(Employee other) {
+        this.employeeId = other.employeeId;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.email = other.email;
+        this.phoneNumber = other.phoneNumber;
+        this.hireDate = other.hireDate;
+        this.salary = other.salary;
+        this.department = other.department;
+        this.position = other.position;
+        this.workStatus = other.workStatus;
+    }
     
     // Getters and Setters with validation
     public int getEmployeeId() {
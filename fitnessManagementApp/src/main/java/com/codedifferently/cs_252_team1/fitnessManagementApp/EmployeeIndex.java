@@ -0,0 +1,147 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Immutable index grouping employees by one text field, such as the
+ * department, ignoring case. Kept as part of each {@link EmployeeTable}
+ * version.
+ *
+ * Keys are case-folded and interned, so every employee in "Training" and
+ * "TRAINING" shares one group and one key string. Each group keeps its
+ * employees by ID, and the payroll total in cents, so a group's size and
+ * payroll are read without visiting its employees. Groups are found by the
+ * hash of their key; the few keys that share a hash share a bucket.
+ * Employees without a value, such as those without a department, are not
+ * indexed, and looking up a null or blank value finds nobody.
+ */
+final class EmployeeIndex {
+    private final Function<Employee, String> field;
+    private final PersistentIntMap<List<Group>> buckets;
+
+    private record Group(String key, PersistentIntMap<Employee> employees, long payrollCents) {
+    }
+
+    private EmployeeIndex(Function<Employee, String> field, PersistentIntMap<List<Group>> buckets) {
+        this.field = field;
+        this.buckets = buckets;
+    }
+
+    /**
+     * @param field The text to group by
+     * @return An empty index on the field
+     */
+    static EmployeeIndex on(Function<Employee, String> field) {
+        return new EmployeeIndex(field, PersistentIntMap.empty());
+    }
+
+    /**
+     * @return The key of a value, or null for a null or blank value
+     */
+    static String fold(String value) {
+        return value == null || value.isBlank() ? null : value.toLowerCase(Locale.ROOT).intern();
+    }
+
+    private static long cents(Employee employee) {
+        return Math.round(employee.getSalary() * 100);
+    }
+
+    /**
+     * Add an employee, or refresh it when its group already holds the ID
+     */
+    EmployeeIndex add(Employee employee) {
+        String key = fold(field.apply(employee));
+        if (key == null) {
+            return this;
+        }
+        Group group = group(key);
+        PersistentIntMap<Employee> employees = group != null ? group.employees() : PersistentIntMap.empty();
+        Employee previous = employees.get(employee.getEmployeeId());
+        long payrollCents = (group != null ? group.payrollCents() : 0)
+            + cents(employee) - (previous != null ? cents(previous) : 0);
+        return with(key, new Group(key, employees.put(employee.getEmployeeId(), employee), payrollCents));
+    }
+
+    EmployeeIndex remove(Employee employee) {
+        String key = fold(field.apply(employee));
+        if (key == null) {
+            return this;
+        }
+        Group group = group(key);
+        Employee stored = group != null ? group.employees().get(employee.getEmployeeId()) : null;
+        if (stored == null) {
+            return this;
+        }
+        PersistentIntMap<Employee> remaining = group.employees().remove(employee.getEmployeeId());
+        return with(key, remaining.isEmpty() ? null
+            : new Group(key, remaining, group.payrollCents() - cents(stored)));
+    }
+
+    /**
+     * Move an employee to the group of its new value, or refresh it in place
+     * when the value is unchanged
+     */
+    EmployeeIndex replace(Employee previous, Employee employee) {
+        EmployeeIndex index = this;
+        if (!Objects.equals(fold(field.apply(previous)), fold(field.apply(employee)))) {
+            index = remove(previous);
+        }
+        return index.add(employee);
+    }
+
+    private Group group(String key) {
+        if (key == null) {
+            return null;
+        }
+        List<Group> bucket = buckets.get(key.hashCode());
+        if (bucket != null) {
+            for (Group group : bucket) {
+                if (group.key().equals(key)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    // The next version with the key's group replaced, or dropped when null
+    private EmployeeIndex with(String key, Group group) {
+        List<Group> bucket = buckets.get(key.hashCode());
+        List<Group> groups = new ArrayList<>(bucket != null ? bucket.size() + 1 : 1);
+        if (bucket != null) {
+            for (Group other : bucket) {
+                if (!other.key().equals(key)) {
+                    groups.add(other);
+                }
+            }
+        }
+        if (group != null) {
+            groups.add(group);
+        }
+        return new EmployeeIndex(field, groups.isEmpty()
+            ? buckets.remove(key.hashCode())
+            : buckets.put(key.hashCode(), List.copyOf(groups)));
+    }
+
+    /**
+     * @return The employees whose value equals the given one ignoring case, in ID order
+     */
+    List<Employee> find(String value) {
+        Group group = group(fold(value));
+        return group != null ? new ArrayList<>(group.employees().values()) : new ArrayList<>();
+    }
+
+    int count(String value) {
+        Group group = group(fold(value));
+        return group != null ? group.employees().size() : 0;
+    }
+
+    double payroll(String value) {
+        Group group = group(fold(value));
+        return group != null ? group.payrollCents() / 100.0 : 0;
+    }
+}
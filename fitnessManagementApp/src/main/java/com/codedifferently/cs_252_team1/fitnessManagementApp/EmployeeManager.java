@@ -1,140 +1,474 @@
 package com.codedifferently.cs_252_team1.fitnessManagementApp;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.codedifferently.cs_252_team1.fitnessManagementApp.config.PersistenceProperties;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.BackgroundPersister;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.Checkpointer;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.EmployeeStore;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.FsyncPolicy;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.InMemoryEmployeeStore;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.JdbcEmployeeStore;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.JournalEmployeeStore;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.SerializedEmployeeStore;
+
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 
+// The employees and their indexes are kept in an immutable EmployeeTable,
+// like the members in MembershipManagement: a change builds the next version,
+// sharing every untouched branch with the previous one, and publishes it
+// through an atomic reference. Readers take the current version without
+// locking, so the map and the department, position, salary and hire date
+// indexes they read always agree, and a long read never holds up a writer.
+// A change locks only the employee's stripe and publishes a changed copy, so
+// readers never see an employee with some fields updated and others not.
+// Callers are only handed copies of the published employees, so changing a
+// returned Employee cannot change a version or put it out of step with its
+// indexes.
+// With the write queue enabled, changes are applied in order by one writer
+// thread instead, and each change has an Async variant that returns a future.
 @Service
 public class EmployeeManager {
-    private Map<Integer, Employee> employeeMap;
-    private AtomicInteger idCounter;
-    private static final String DATA_FILE = "fitness_employees.dat";
+    private final AtomicReference<EmployeeTable> employees;
+    private final AtomicInteger idCounter;
+    private final StripedLocks locks = new StripedLocks(64);
+    private final EmployeeStore store;
+    private final PersistenceProperties.LoadingMode loading;
+    // Null unless changes go through the single writer thread
+    private final CommandQueue writeQueue;
+    // Only false between loadData() and the first access
+    private volatile boolean loaded = true;
+
+    @FunctionalInterface
+    private interface StoreWrite {
+        long write() throws IOException;
+    }
+
+    // A change applied under its lock, returning its result and store ticket
+    @FunctionalInterface
+    private interface Mutation<T> {
+        Applied<T> apply() throws EmployeeNotFoundException;
+    }
+
+    private record Applied<T>(T result, long ticket) {
+    }
 
+    // Keep the employees in memory only; nothing is read from or written to disk
     public EmployeeManager() {
-        this.employeeMap = new HashMap<>();
+        this(new InMemoryEmployeeStore(), PersistenceProperties.LoadingMode.LAZY);
+    }
+
+    @Autowired
+    public EmployeeManager(PersistenceProperties properties, Checkpointer checkpointer,
+                           BackgroundPersister persister) {
+        this(createStore(properties, checkpointer, persister), properties.getLoading(),
+            properties.getWriteQueue());
+    }
+
+    // Run on top of any employee store, for example to compare stores;
+    // validation and ID allocation stay here
+    public EmployeeManager(EmployeeStore store, PersistenceProperties.LoadingMode loading) {
+        this(store, loading, new PersistenceProperties.WriteQueue());
+    }
+
+    public EmployeeManager(EmployeeStore store, PersistenceProperties.LoadingMode loading,
+                           PersistenceProperties.WriteQueue writeQueue) {
+        this.employees = new AtomicReference<>(EmployeeTable.EMPTY);
         this.idCounter = new AtomicInteger(1); // Start IDs from 1
+        this.store = store;
+        this.loading = loading;
+        this.writeQueue = writeQueue.isEnabled()
+            ? new CommandQueue("fitness-employee-writer", writeQueue.getCapacity(),
+                () -> commitChange(store.lastTicket()))
+            : null;
+    }
+
+    private static EmployeeStore createStore(PersistenceProperties properties, Checkpointer checkpointer,
+                                             BackgroundPersister persister) {
+        Path dataPath = properties.getDataPath();
+        FsyncPolicy fsyncPolicy = properties.getFsync().toPolicy();
+        return switch (properties.getEmployeeStore()) {
+            case SERIALIZED -> new SerializedEmployeeStore(dataPath, fsyncPolicy, checkpointer);
+            case JDBC -> new JdbcEmployeeStore(properties.getJdbc().toPool(dataPath), fsyncPolicy,
+                properties.getJdbc().getBatchSize(), checkpointer);
+            case MEMORY -> new InMemoryEmployeeStore();
+            case JOURNAL -> new JournalEmployeeStore(dataPath, fsyncPolicy, checkpointer,
+                properties.getWriteBehind().isEnabled() ? persister : null);
+        };
     }
     
+    // Defer loading until the first access (lazy), or start it right away on
+    // a background thread so it runs alongside the members (eager)
     @PostConstruct
-    private void loadData() {
-        try {
-            File file = new File(DATA_FILE);
-            if (file.exists()) {
-                try (FileInputStream fis = new FileInputStream(file);
-                     ObjectInputStream ois = new ObjectInputStream(fis)) {
-                    @SuppressWarnings("unchecked")
-                    Map<Integer, Employee> loadedEmployees = (Map<Integer, Employee>) ois.readObject();
-                    this.employeeMap = loadedEmployees;
-                    
-                    // Update idCounter to be higher than any existing ID
-                    int maxId = employeeMap.keySet().stream()
-                        .mapToInt(Integer::intValue)
-                        .max()
-                        .orElse(0);
-                    this.idCounter = new AtomicInteger(maxId + 1);
-                }
+    void loadData() {
+        loaded = false;
+        if (loading == PersistenceProperties.LoadingMode.EAGER) {
+            Thread loader = new Thread(this::ensureLoaded, "fitness-employee-loader");
+            loader.setDaemon(true);
+            loader.start();
+        }
+    }
+
+    // Load the employees from the store on first use. The store keeps the
+    // next free ID; the one pass over the loaded employees builds the
+    // department and position groups and the salary and hire date order.
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
             }
-        } catch (Exception e) {
-            System.err.println("Warning: Could not load employee data: " + e.getMessage());
-            this.employeeMap = new HashMap<>();
-            this.idCounter = new AtomicInteger(1);
+            try {
+                Map<Integer, Employee> loadedEmployees = new HashMap<>();
+                idCounter.set(store.open(loadedEmployees, this::copyEmployees));
+                employees.set(EmployeeTable.of(loadedEmployees.values()));
+            } catch (Exception e) {
+                System.err.println("Warning: Could not load employee data: " + e.getMessage());
+                employees.set(EmployeeTable.EMPTY);
+                idCounter.set(1);
+            }
+            loaded = true;
         }
     }
     
+    // Apply queued changes, write any buffered changes, take a final
+    // checkpoint and close the store
     @PreDestroy
-    private void saveData() {
-        try {
-            try (FileOutputStream fos = new FileOutputStream(DATA_FILE);
-                 ObjectOutputStream oos = new ObjectOutputStream(fos)) {
-                oos.writeObject(employeeMap);
+    void saveData() {
+        if (writeQueue != null) {
+            writeQueue.close();
+        }
+        synchronized (this) {
+            if (!loaded) {
+                // Never opened, so there is nothing to write
+                loaded = true;
+                return;
             }
+        }
+        try {
+            store.close();
         } catch (Exception e) {
             System.err.println("Warning: Could not save employee data: " + e.getMessage());
         }
     }
-    
-    private void persistData() {
-        saveData(); // Save immediately after any modification
+
+    // Bring the store's files up to date
+    void checkpoint() throws IOException {
+        store.checkpoint();
+    }
+
+    // Version of the most recent change, to pass to awaitDurable
+    public long getVersion() {
+        return store.lastTicket();
+    }
+
+    // Wait until every change up to the given version is on disk
+    public void awaitDurable(long version) throws IOException {
+        store.awaitDurable(version);
+    }
+
+    // Wait until every change made so far is on disk
+    public void flush() throws IOException {
+        awaitDurable(getVersion());
+    }
+
+    // The current version is already a consistent copy. Synchronized so a
+    // background checkpoint that starts while the employees are still loading
+    // waits for them instead of writing an empty snapshot.
+    private synchronized Collection<Employee> copyEmployees() {
+        return employees.get().values();
+    }
+
+    // The current version of the employees and their indexes
+    private EmployeeTable current() {
+        ensureLoaded();
+        return employees.get();
+    }
+
+    // Copies of published employees for a caller, who may change them freely
+    private static List<Employee> copies(Collection<Employee> published) {
+        List<Employee> result = new ArrayList<>(published.size());
+        for (Employee employee : published) {
+            result.add(new Employee(employee));
+        }
+        return result;
+    }
+
+    // Hand a single change to the store while holding the employee's lock,
+    // returning the ticket to commit once the lock is released. If the store
+    // cannot take the change, undo puts the employees back as they were and
+    // the call fails with an UncheckedIOException.
+    private long persistChange(StoreWrite write, Runnable undo) {
+        try {
+            return write.write();
+        } catch (IOException e) {
+            undo.run();
+            throw new UncheckedIOException("Could not save employee change", e);
+        }
+    }
+
+    // Wait for the change to be as durable as the fsync policy asks; done
+    // outside the lock so concurrent changes share one disk flush. Fails with
+    // an UncheckedIOException if the store could not make it durable; the
+    // change stays applied but may not survive a crash.
+    private void commitChange(long ticket) {
+        try {
+            store.commit(ticket);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not sync employee change", e);
+        }
+    }
+
+    // Apply a change on the calling thread, or queue it for the writer
+    // thread when writes are queued; the future completes once the change is
+    // as durable as the fsync policy asks, or fails if the store could not
+    // get it there
+    private <T> CompletableFuture<T> submit(Mutation<T> mutation) {
+        ensureLoaded();
+        if (writeQueue != null) {
+            return writeQueue.submit(() -> mutation.apply().result());
+        }
+        try {
+            Applied<T> applied = mutation.apply();
+            commitChange(applied.ticket());
+            return CompletableFuture.completedFuture(applied.result());
+        } catch (EmployeeNotFoundException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     // Add a new employee
     public Employee addEmployee(String firstName, String lastName, String email, 
                                 String phoneNumber, String department, String position, 
                                 double salary, LocalDate hireDate, WorkStatus workStatus) {
-        int newId = idCounter.getAndIncrement();
-        Employee newEmployee = new Employee(newId, firstName, lastName, email, phoneNumber, 
-                                            department, position, salary, hireDate, workStatus);
-        employeeMap.put(newId, newEmployee);
-        
-        // Persist data immediately
-        persistData();
-        
-        return newEmployee;
+        return CommandQueue.await(addEmployeeAsync(firstName, lastName, email, phoneNumber,
+            department, position, salary, hireDate, workStatus), RuntimeException.class);
+    }
+
+    // Add a new employee without waiting for the change
+    public CompletableFuture<Employee> addEmployeeAsync(String firstName, String lastName, String email,
+                                                        String phoneNumber, String department, String position,
+                                                        double salary, LocalDate hireDate, WorkStatus workStatus) {
+        return submit(() -> {
+            int newId = idCounter.getAndIncrement();
+            ReentrantLock lock = locks.lockFor(newId);
+            lock.lock();
+            try {
+                Employee employee = new Employee(newId, firstName, lastName, email, phoneNumber, 
+                                                 department, position, salary, hireDate, workStatus);
+                employees.updateAndGet(current -> current.put(employee));
+                
+                // Persist data immediately
+                return new Applied<>(new Employee(employee), persistChange(() -> store.employeeAdded(employee),
+                    () -> employees.updateAndGet(current -> current.remove(newId))));
+            } finally {
+                lock.unlock();
+            }
+        });
     }
 
     // Retrieve an employee by ID
     public Employee getEmployeeById(int employeeId) throws EmployeeNotFoundException {
-        Employee employee = employeeMap.get(employeeId);
+        Employee employee = current().get(employeeId);
         if (employee == null) {
             throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found.");
         }
-        return employee;
+        return new Employee(employee);
     }
 
     // Update an existing employee
     public Employee updateEmployee(int employeeId, String firstName, String lastName, String email, 
                                   String phoneNumber, String department, String position, 
                                   double salary, LocalDate hireDate, WorkStatus workStatus) throws EmployeeNotFoundException {
-        Employee existingEmployee = employeeMap.get(employeeId);
-        if (existingEmployee == null) {
-            throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found.");
-        }
-        existingEmployee.setFirstName(firstName);
-        existingEmployee.setLastName(lastName);
-        existingEmployee.setEmail(email);
-        existingEmployee.setPhoneNumber(phoneNumber);
-        existingEmployee.setDepartment(department);
-        existingEmployee.setPosition(position);
-        existingEmployee.setSalary(salary);
-        existingEmployee.setHireDate(hireDate);
-        existingEmployee.setWorkStatus(workStatus);
-        return existingEmployee;
+        return CommandQueue.await(updateEmployeeAsync(employeeId, firstName, lastName, email, phoneNumber,
+            department, position, salary, hireDate, workStatus), EmployeeNotFoundException.class);
+    }
+
+    // Update an existing employee without waiting for the change
+    public CompletableFuture<Employee> updateEmployeeAsync(int employeeId, String firstName, String lastName,
+                                                           String email, String phoneNumber, String department,
+                                                           String position, double salary, LocalDate hireDate,
+                                                           WorkStatus workStatus) {
+        return submit(() -> {
+            ReentrantLock lock = locks.lockFor(employeeId);
+            lock.lock();
+            try {
+                Employee stored = employees.get().get(employeeId);
+                if (stored == null) {
+                    throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found.");
+                }
+                Employee employee = new Employee(stored);
+                employee.setFirstName(firstName);
+                employee.setLastName(lastName);
+                employee.setEmail(email);
+                employee.setPhoneNumber(phoneNumber);
+                employee.setDepartment(department);
+                employee.setPosition(position);
+                employee.setSalary(salary);
+                employee.setHireDate(hireDate);
+                employee.setWorkStatus(workStatus);
+                employees.updateAndGet(current -> current.put(employee));
+                return new Applied<>(new Employee(employee), persistChange(() -> store.employeeUpdated(employee),
+                    () -> employees.updateAndGet(current -> current.put(stored))));
+            } finally {
+                lock.unlock();
+            }
+        });
     }
 
     // Delete an employee by ID
     public Employee deleteEmployee(int employeeId) throws EmployeeNotFoundException {
-        Employee removedEmployee = employeeMap.remove(employeeId);
-        if (removedEmployee == null) {
-            throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found.");
-        }
-        return removedEmployee;
+        return CommandQueue.await(deleteEmployeeAsync(employeeId), EmployeeNotFoundException.class);
+    }
+
+    // Delete an employee by ID without waiting for the change
+    public CompletableFuture<Employee> deleteEmployeeAsync(int employeeId) {
+        return submit(() -> {
+            ReentrantLock lock = locks.lockFor(employeeId);
+            lock.lock();
+            try {
+                Employee removedEmployee = employees.get().get(employeeId);
+                if (removedEmployee == null) {
+                    throw new EmployeeNotFoundException("Employee with ID " + employeeId + " not found.");
+                }
+                employees.updateAndGet(current -> current.remove(employeeId));
+                return new Applied<>(new Employee(removedEmployee), persistChange(() -> store.employeeRemoved(employeeId),
+                    () -> employees.updateAndGet(current -> current.put(removedEmployee))));
+            } finally {
+                lock.unlock();
+            }
+        });
     }
 
     // List all employees
     public List<Employee> listAllEmployees() {
-        return new ArrayList<>(employeeMap.values());
+        return copies(current().values());
     }
 
-    // Find employees by department
+    // One page of employees in ID order, starting after the given ID, that
+    // match the filter (null for every employee). Only the employees read
+    // for the page are visited; pass the page's nextAfter to get the next.
+    // The filter is given the stored employees and must not change them.
+    public Page<Employee> pageEmployees(int afterId, int limit, Predicate<Employee> filter) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        Page<Employee> page = current().page(afterId, limit, filter);
+        return new Page<>(copies(page.items()), page.nextAfter(), page.hasMore());
+    }
+
+    // Find employees by department, ignoring case, in ID order. A store with
+    // its own department index, such as the database, answers the query;
+    // otherwise it is read from the department index of the current table.
     public List<Employee> findEmployeesByDepartment(String department) {
-        return employeeMap.values().stream()
-                .filter(emp -> emp.getDepartment().equalsIgnoreCase(department))
-                .collect(Collectors.toList());
+        if (department == null || department.isBlank()) {
+            // Employees without a department are in none
+            return new ArrayList<>();
+        }
+        ensureLoaded();
+        List<Employee> indexed = findByDepartmentInStore(department);
+        return copies(indexed != null ? indexed : current().byDepartment().find(department));
+    }
+
+    // Let the store answer from its own index. The employees still come from
+    // the current table and are checked again in case they changed after the
+    // query ran. Null if the store has no such index.
+    private List<Employee> findByDepartmentInStore(String department) {
+        List<Integer> ids;
+        try {
+            ids = store.findIdsByDepartment(department);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not query employee store: " + e.getMessage());
+            return null;
+        }
+        if (ids == null) {
+            return null;
+        }
+        EmployeeTable table = current();
+        List<Employee> result = new ArrayList<>(ids.size());
+        for (int id : ids.stream().sorted().toList()) {
+            Employee employee = table.get(id);
+            if (employee != null && employee.getDepartment() != null
+                    && employee.getDepartment().equalsIgnoreCase(department)) {
+                result.add(employee);
+            }
+        }
+        return result;
     }
-}
 
+    // Find employees by position, ignoring case, in ID order
+    public List<Employee> findEmployeesByPosition(String position) {
+        return copies(current().byPosition().find(position));
+    }
+
+    // Number of employees in a department, ignoring case
+    public int getEmployeeCountByDepartment(String department) {
+        return current().byDepartment().count(department);
+    }
+
+    // Number of employees in a position, ignoring case
+    public int getEmployeeCountByPosition(String position) {
+        return current().byPosition().count(position);
+    }
+
+    // Sum of the salaries in a department, ignoring case, to the cent
+    public double getPayrollByDepartment(String department) {
+        return current().byDepartment().payroll(department);
+    }
 
+    // Employees paid between the two salaries, inclusive, lowest paid first
+    // and then in ID order
+    public List<Employee> findEmployeesBySalaryRange(double minSalary, double maxSalary) {
+        return copies(current().bySalary().between(minSalary, maxSalary));
+    }
+
+    // The highest paid employees, at most the given number, highest first
+    public List<Employee> getTopPaidEmployees(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        return copies(current().bySalary().highest(count));
+    }
+
+    // Employees hired between the two dates, inclusive, earliest first; a
+    // null date leaves that end open, so (today - 90 days, null) is the
+    // employees hired in the last 90 days
+    public List<Employee> findEmployeesHiredBetween(LocalDate from, LocalDate to) {
+        return copies(current().byHireDate().between(from, to));
+    }
+
+    // Employees with exactly the given whole years of service on a date, as
+    // getYearsOfService counts them, earliest hired first
+    public List<Employee> findEmployeesWithYearsOfService(int years, LocalDate on) {
+        if (years < 0) {
+            throw new IllegalArgumentException("Years cannot be negative");
+        }
+        return copies(current().byHireDate().between(on.minusYears(years + 1L).plusDays(1), on.minusYears(years)));
+    }
+
+    // Employees whose service anniversary falls on the date, longest serving
+    // first; someone hired on 29 February has the anniversary on 28 February
+    // in other years
+    public List<Employee> getServiceAnniversaries(LocalDate on) {
+        return copies(current().serviceAnniversaries(on));
+    }
+}
@@ -0,0 +1,160 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable index keeping employees sorted by one field, such as the salary
+ * or the hire date, so ranges and the highest values are read from the
+ * sorted entries instead of a pass over every employee. Kept as part of each
+ * {@link EmployeeTable} version.
+ *
+ * Each value is turned into a long whose unsigned order is the value's
+ * order. Entries are kept under the upper half of that long, then the lower
+ * half, then the employee ID, each level a {@link PersistentIntMap}, so
+ * employees with equal values each keep their own entry and come out in ID
+ * order. Employees without a value are not indexed.
+ */
+final class EmployeeRangeIndex<K> {
+    private final Function<Employee, K> field;
+    private final ToLongFunction<K> order;
+    private final PersistentIntMap<Block> blocks;
+
+    // The entries whose order keys share their upper half
+    private record Block(int high, PersistentIntMap<PersistentIntMap<Employee>> byLow) {
+    }
+
+    private EmployeeRangeIndex(Function<Employee, K> field, ToLongFunction<K> order, PersistentIntMap<Block> blocks) {
+        this.field = field;
+        this.order = order;
+        this.blocks = blocks;
+    }
+
+    /**
+     * @param field The value to sort by
+     * @param order Turns a value into a long whose unsigned order is the value's order
+     * @return An empty index on the field
+     */
+    static <K> EmployeeRangeIndex<K> on(Function<Employee, K> field, ToLongFunction<K> order) {
+        return new EmployeeRangeIndex<>(field, order, PersistentIntMap.empty());
+    }
+
+    /**
+     * Order key of a number such as a salary. Positive numbers get the sign
+     * bit set and negative ones have every bit flipped, so larger numbers get
+     * larger unsigned keys.
+     */
+    static long numberOrder(Double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Order key of a date: its epoch day with the sign bit flipped
+     */
+    static long dateOrder(LocalDate date) {
+        return date.toEpochDay() ^ Long.MIN_VALUE;
+    }
+
+    EmployeeRangeIndex<K> add(Employee employee) {
+        K value = field.apply(employee);
+        if (value == null) {
+            return this;
+        }
+        long key = order.applyAsLong(value);
+        int high = (int) (key >>> 32);
+        Block block = blocks.get(high);
+        PersistentIntMap<PersistentIntMap<Employee>> byLow = block != null ? block.byLow() : PersistentIntMap.empty();
+        PersistentIntMap<Employee> ids = byLow.get((int) key);
+        ids = (ids != null ? ids : PersistentIntMap.<Employee>empty()).put(employee.getEmployeeId(), employee);
+        return new EmployeeRangeIndex<>(field, order, blocks.put(high, new Block(high, byLow.put((int) key, ids))));
+    }
+
+    EmployeeRangeIndex<K> remove(Employee employee) {
+        K value = field.apply(employee);
+        if (value == null) {
+            return this;
+        }
+        long key = order.applyAsLong(value);
+        int high = (int) (key >>> 32);
+        Block block = blocks.get(high);
+        PersistentIntMap<Employee> ids = block != null ? block.byLow().get((int) key) : null;
+        if (ids == null || !ids.containsKey(employee.getEmployeeId())) {
+            return this;
+        }
+        ids = ids.remove(employee.getEmployeeId());
+        PersistentIntMap<PersistentIntMap<Employee>> byLow = ids.isEmpty()
+            ? block.byLow().remove((int) key)
+            : block.byLow().put((int) key, ids);
+        return new EmployeeRangeIndex<>(field, order, byLow.isEmpty()
+            ? blocks.remove(high)
+            : blocks.put(high, new Block(high, byLow)));
+    }
+
+    /**
+     * Move an employee to the entry for its new value, or refresh it in place
+     * when the value is unchanged
+     */
+    EmployeeRangeIndex<K> replace(Employee previous, Employee employee) {
+        return remove(previous).add(employee);
+    }
+
+    /**
+     * @param from Lowest value, inclusive, or null for no lower bound
+     * @param to Highest value, inclusive, or null for no upper bound
+     * @return The employees with values in the range, by value and then by ID
+     */
+    List<Employee> between(K from, K to) {
+        List<Employee> result = new ArrayList<>();
+        visit(from != null ? order.applyAsLong(from) : 0, to != null ? order.applyAsLong(to) : -1, false,
+            result::add);
+        return result;
+    }
+
+    /**
+     * @return At most {@code limit} employees with the highest values, highest
+     * first, reading only those entries
+     */
+    List<Employee> highest(int limit) {
+        List<Employee> result = new ArrayList<>(Math.min(limit, 1024));
+        visit(0, -1, true, employee -> {
+            if (result.size() == limit) {
+                return false;
+            }
+            result.add(employee);
+            return true;
+        });
+        return result;
+    }
+
+    /**
+     * @return The lowest value indexed, or null if no employee has one
+     */
+    K lowest() {
+        List<Employee> first = new ArrayList<>(1);
+        visit(0, -1, false, employee -> !first.add(employee));
+        return first.isEmpty() ? null : field.apply(first.get(0));
+    }
+
+    // Walk the entries with order keys between the two, compared unsigned,
+    // until the visitor returns false
+    private void visit(long from, long to, boolean descending, Predicate<Employee> visitor) {
+        if (Long.compareUnsigned(from, to) > 0) {
+            return;
+        }
+        int fromHigh = (int) (from >>> 32);
+        int toHigh = (int) (to >>> 32);
+        walk(blocks, fromHigh, toHigh, descending, block -> walk(block.byLow(),
+            block.high() == fromHigh ? (int) from : 0, block.high() == toHigh ? (int) to : -1, descending,
+            ids -> walk(ids, 0, -1, descending, visitor)));
+    }
+
+    private static <V> boolean walk(PersistentIntMap<V> map, int from, int to, boolean descending,
+                                    Predicate<? super V> visitor) {
+        return descending ? map.visitRangeDescending(from, to, visitor) : map.visitRange(from, to, visitor);
+    }
+}
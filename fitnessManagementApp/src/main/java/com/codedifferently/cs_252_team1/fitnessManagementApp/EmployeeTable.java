@@ -0,0 +1,154 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * One published version of the employees together with their indexes. Like
+ * {@link MemberTable}, a table is never modified: {@link #put} and
+ * {@link #remove} return the next version, so a reader sees the employees
+ * and every index as of the same moment.
+ *
+ * Employees are grouped by department and by position, ignoring case, so a
+ * department's employees, head count and payroll are read from its group.
+ * Salaries and hire dates are kept sorted as well, so pay bands, recent
+ * hires, the highest paid and service anniversaries are read from those
+ * ranges.
+ */
+final class EmployeeTable {
+    static final EmployeeTable EMPTY = new EmployeeTable(PersistentIntMap.empty(),
+        EmployeeIndex.on(Employee::getDepartment), EmployeeIndex.on(Employee::getPosition),
+        EmployeeRangeIndex.on(Employee::getSalary, EmployeeRangeIndex::numberOrder),
+        EmployeeRangeIndex.on(Employee::getHireDate, EmployeeRangeIndex::dateOrder));
+
+    private final PersistentIntMap<Employee> byId;
+    private final EmployeeIndex byDepartment;
+    private final EmployeeIndex byPosition;
+    private final EmployeeRangeIndex<Double> bySalary;
+    private final EmployeeRangeIndex<LocalDate> byHireDate;
+
+    private EmployeeTable(PersistentIntMap<Employee> byId, EmployeeIndex byDepartment, EmployeeIndex byPosition,
+                          EmployeeRangeIndex<Double> bySalary, EmployeeRangeIndex<LocalDate> byHireDate) {
+        this.byId = byId;
+        this.byDepartment = byDepartment;
+        this.byPosition = byPosition;
+        this.bySalary = bySalary;
+        this.byHireDate = byHireDate;
+    }
+
+    static EmployeeTable of(Collection<Employee> employees) {
+        EmployeeTable table = EMPTY;
+        for (Employee employee : employees) {
+            table = table.put(employee);
+        }
+        return table;
+    }
+
+    Employee get(int employeeId) {
+        return byId.get(employeeId);
+    }
+
+    /**
+     * @return Every employee, in ID order
+     */
+    Collection<Employee> values() {
+        return byId.values();
+    }
+
+    /**
+     * Add an employee, or replace the employee with the same ID
+     */
+    EmployeeTable put(Employee employee) {
+        Employee previous = byId.get(employee.getEmployeeId());
+        if (previous == null) {
+            return new EmployeeTable(byId.put(employee.getEmployeeId(), employee), byDepartment.add(employee),
+                byPosition.add(employee), bySalary.add(employee), byHireDate.add(employee));
+        }
+        return new EmployeeTable(byId.put(employee.getEmployeeId(), employee),
+            byDepartment.replace(previous, employee), byPosition.replace(previous, employee),
+            bySalary.replace(previous, employee), byHireDate.replace(previous, employee));
+    }
+
+    EmployeeTable remove(int employeeId) {
+        Employee previous = byId.get(employeeId);
+        if (previous == null) {
+            return this;
+        }
+        return new EmployeeTable(byId.remove(employeeId), byDepartment.remove(previous),
+            byPosition.remove(previous), bySalary.remove(previous), byHireDate.remove(previous));
+    }
+
+    /**
+     * @param afterId Only employees with a higher ID are returned
+     * @param limit Most employees to return
+     * @param filter Filter the employees must match, or null for every employee
+     * @return The next employees in ID order, walking only the part of the
+     * map after {@code afterId}
+     */
+    Page<Employee> page(int afterId, int limit, Predicate<Employee> filter) {
+        List<Employee> items = new ArrayList<>();
+        // One extra employee tells whether there is another page
+        byId.visitRange(afterId < 0 ? 0 : afterId + 1, Integer.MAX_VALUE, employee -> {
+            if (filter == null || filter.test(employee)) {
+                items.add(employee);
+            }
+            return items.size() <= limit;
+        });
+        boolean hasMore = items.size() > limit;
+        if (hasMore) {
+            items.remove(limit);
+        }
+        int nextAfter = items.isEmpty() ? afterId : items.get(items.size() - 1).getEmployeeId();
+        return new Page<>(items, nextAfter, hasMore);
+    }
+
+    EmployeeIndex byDepartment() {
+        return byDepartment;
+    }
+
+    EmployeeIndex byPosition() {
+        return byPosition;
+    }
+
+    EmployeeRangeIndex<Double> bySalary() {
+        return bySalary;
+    }
+
+    EmployeeRangeIndex<LocalDate> byHireDate() {
+        return byHireDate;
+    }
+
+    /**
+     * @param on Day to look for anniversaries on
+     * @return The employees whose service anniversary falls on the day,
+     * longest serving first. Each year back is one lookup of the hire dates
+     * that reach a whole year on that date; someone hired on 29 February has
+     * the anniversary on 28 February in other years.
+     */
+    List<Employee> serviceAnniversaries(LocalDate on) {
+        LocalDate earliest = byHireDate.lowest();
+        List<Employee> result = new ArrayList<>();
+        if (earliest == null) {
+            return result;
+        }
+        List<List<Employee>> byYears = new ArrayList<>();
+        for (int years = 1; !on.minusYears(years).plusDays(1).isBefore(earliest); years++) {
+            // The day after covers 29 February when the date is 28 February
+            LocalDate hired = on.minusYears(years);
+            List<Employee> hiredThen = new ArrayList<>();
+            for (Employee employee : byHireDate.between(hired, hired.plusDays(1))) {
+                if (employee.getHireDate().plusYears(years).equals(on)) {
+                    hiredThen.add(employee);
+                }
+            }
+            byYears.add(hiredThen);
+        }
+        for (int i = byYears.size() - 1; i >= 0; i--) {
+            result.addAll(byYears.get(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,317 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable index for finding members by misspelt names, kept as part of each
+ * {@link MemberTable} version.
+ *
+ * A member's full name is lower-cased and split into words. Every distinct
+ * word is a node of a BK-tree, where each child hangs under its edit distance
+ * from the parent; by the triangle inequality, the words within {@code k} of
+ * a search word can only be under children whose distance is within
+ * {@code k} of the parent's own distance, so a search visits a small part of
+ * the tree instead of every name. Each word maps to the IDs of the members
+ * whose name has it. Postings are keyed by the word's hash and each holds
+ * its word, so a hash shared by two words costs a string comparison per word
+ * rather than a check of every member.
+ *
+ * Adding a word copies only the path from the root to its new node. A word
+ * stays in the tree when the last member with it goes, finding no members
+ * until someone has it again; once such dead words outnumber the live ones,
+ * and there are at least {@value #REBUILD_MIN_DEAD} of them, the tree is
+ * rebuilt from the live words so searches stop visiting names long gone.
+ */
+final class FuzzyNameIndex {
+    static final int REBUILD_MIN_DEAD = 64;
+
+    static final FuzzyNameIndex EMPTY = new FuzzyNameIndex(PersistentIntMap.empty(), PersistentIntMap.empty(), 0,
+        null, 0);
+
+    private final PersistentIntMap<String[]> words;
+    // Postings of the words with each hash, nearly always just one
+    private final PersistentIntMap<Posting[]> postings;
+    // Words with at least one member
+    private final int liveWords;
+    private final Node root;
+    // Words in the tree, live or dead
+    private final int treeWords;
+
+    private record Node(String word, PersistentIntMap<Node> children) {
+    }
+
+    private record Posting(String word, PersistentIntMap<Integer> ids) {
+    }
+
+    /**
+     * A member found by a search, with the edit distance summed over the
+     * words searched for
+     */
+    record Match(int id, int distance) {
+    }
+
+    private FuzzyNameIndex(PersistentIntMap<String[]> words, PersistentIntMap<Posting[]> postings, int liveWords,
+                           Node root, int treeWords) {
+        this.words = words;
+        this.postings = postings;
+        this.liveWords = liveWords;
+        this.root = root;
+        this.treeWords = treeWords;
+    }
+
+    /**
+     * Working copy of the postings and the tree while one member's words change
+     */
+    private final class Edit {
+        private PersistentIntMap<Posting[]> postings = FuzzyNameIndex.this.postings;
+        private int liveWords = FuzzyNameIndex.this.liveWords;
+        private Node root = FuzzyNameIndex.this.root;
+        private int treeWords = FuzzyNameIndex.this.treeWords;
+
+        void add(int id, String word) {
+            Posting[] bucket = postings.get(word.hashCode());
+            PersistentIntMap<Integer> ids = idsFor(bucket, word);
+            if (ids == null) {
+                // First member with the word; it may still be in the tree from before
+                liveWords++;
+                ids = PersistentIntMap.empty();
+                Node grown = insert(root, word);
+                if (grown != root) {
+                    treeWords++;
+                    root = grown;
+                }
+            } else if (ids.containsKey(id)) {
+                // The word occurs twice in the name
+                return;
+            }
+            postings = postings.put(word.hashCode(), withIds(bucket, word, ids.put(id, id)));
+        }
+
+        void remove(int id, String word) {
+            Posting[] bucket = postings.get(word.hashCode());
+            PersistentIntMap<Integer> ids = idsFor(bucket, word);
+            if (ids == null || !ids.containsKey(id)) {
+                // A word that occurs twice in the name was already removed
+                return;
+            }
+            PersistentIntMap<Integer> remaining = ids.remove(id);
+            if (remaining.isEmpty()) {
+                liveWords--;
+            }
+            Posting[] updated = withIds(bucket, word, remaining);
+            postings = updated == null ? postings.remove(word.hashCode()) : postings.put(word.hashCode(), updated);
+        }
+
+        FuzzyNameIndex build(PersistentIntMap<String[]> words) {
+            int dead = treeWords - liveWords;
+            if (dead >= REBUILD_MIN_DEAD && dead > liveWords) {
+                root = null;
+                for (Posting[] bucket : postings.values()) {
+                    for (Posting posting : bucket) {
+                        root = insert(root, posting.word());
+                    }
+                }
+                treeWords = liveWords;
+            }
+            return new FuzzyNameIndex(words, postings, liveWords, root, treeWords);
+        }
+    }
+
+    static String[] split(String name) {
+        String normalized = name == null ? "" : name.toLowerCase(Locale.ROOT).trim();
+        return normalized.isEmpty() ? new String[0] : normalized.split("\\s+");
+    }
+
+    /**
+     * Most edits allowed by default for a search word: none for one or two
+     * letters, one up to four letters and two for longer words
+     */
+    static int allowedDistance(String word) {
+        return word.length() <= 2 ? 0 : word.length() <= 4 ? 1 : 2;
+    }
+
+    /**
+     * Index a member's name, replacing the name indexed for the ID before
+     */
+    FuzzyNameIndex put(int id, String name) {
+        String[] split = split(name);
+        String[] previous = words.get(id);
+        if (Arrays.equals(split, previous)) {
+            return this;
+        }
+        Edit edit = new Edit();
+        if (previous != null) {
+            for (String word : previous) {
+                edit.remove(id, word);
+            }
+        }
+        for (String word : split) {
+            edit.add(id, word);
+        }
+        return edit.build(words.put(id, split));
+    }
+
+    FuzzyNameIndex remove(int id) {
+        String[] previous = words.get(id);
+        if (previous == null) {
+            return this;
+        }
+        Edit edit = new Edit();
+        for (String word : previous) {
+            edit.remove(id, word);
+        }
+        return edit.build(words.remove(id));
+    }
+
+    /**
+     * @return Number of words in the tree, counting those no member has any more
+     */
+    int treeSize() {
+        return treeWords;
+    }
+
+    /**
+     * Find the members whose name has a word close to each word of the query,
+     * allowing {@link #allowedDistance} edits per word
+     * @return Matches, closest first and then in ID order
+     */
+    List<Match> search(String query) {
+        return search(query, FuzzyNameIndex::allowedDistance);
+    }
+
+    /**
+     * @param maxDistance Most edits allowed for each word of the query
+     * @return Matches, closest first and then in ID order
+     */
+    List<Match> search(String query, int maxDistance) {
+        return search(query, word -> maxDistance);
+    }
+
+    private List<Match> search(String query, ToIntFunction<String> bound) {
+        String[] terms = split(query);
+        if (terms.length == 0 || root == null) {
+            return new ArrayList<>();
+        }
+        // Every word of the query must be matched; start from the word with
+        // the fewest members and keep only the members every word finds
+        List<Map<Integer, Integer>> perTerm = new ArrayList<>(terms.length);
+        for (String term : terms) {
+            Map<Integer, Integer> near = near(term, bound.applyAsInt(term));
+            if (near.isEmpty()) {
+                return new ArrayList<>();
+            }
+            perTerm.add(near);
+        }
+        perTerm.sort(Comparator.comparingInt(Map::size));
+
+        List<Match> matches = new ArrayList<>();
+        candidates:
+        for (Map.Entry<Integer, Integer> candidate : perTerm.get(0).entrySet()) {
+            int distance = candidate.getValue();
+            for (int i = 1; i < perTerm.size(); i++) {
+                Integer other = perTerm.get(i).get(candidate.getKey());
+                if (other == null) {
+                    continue candidates;
+                }
+                distance += other;
+            }
+            matches.add(new Match(candidate.getKey(), distance));
+        }
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparingInt(Match::id));
+        return matches;
+    }
+
+    // The members with a word within the bound of the term, each with the
+    // distance of its closest word
+    private Map<Integer, Integer> near(String term, int bound) {
+        Map<Integer, Integer> found = new HashMap<>();
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(node.word(), term);
+            if (distance <= bound) {
+                PersistentIntMap<Integer> ids = idsFor(postings.get(node.word().hashCode()), node.word());
+                if (ids != null) {
+                    for (int id : ids.values()) {
+                        found.merge(id, distance, Math::min);
+                    }
+                }
+            }
+            node.children().forEachInRange(Math.max(1, distance - bound), distance + bound, pending::push);
+        }
+        return found;
+    }
+
+    private static Node insert(Node node, String word) {
+        if (node == null) {
+            return new Node(word, PersistentIntMap.empty());
+        }
+        int distance = distance(node.word(), word);
+        if (distance == 0) {
+            return node;
+        }
+        Node child = node.children().get(distance);
+        Node updated = insert(child, word);
+        return updated == child ? node : new Node(node.word(), node.children().put(distance, updated));
+    }
+
+    private static PersistentIntMap<Integer> idsFor(Posting[] bucket, String word) {
+        if (bucket != null) {
+            for (Posting posting : bucket) {
+                if (posting.word().equals(word)) {
+                    return posting.ids();
+                }
+            }
+        }
+        return null;
+    }
+
+    // The bucket with the word's IDs replaced, or null if that leaves it empty
+    private static Posting[] withIds(Posting[] bucket, String word, PersistentIntMap<Integer> ids) {
+        List<Posting> updated = new ArrayList<>(bucket != null ? bucket.length + 1 : 1);
+        if (bucket != null) {
+            for (Posting posting : bucket) {
+                if (!posting.word().equals(word)) {
+                    updated.add(posting);
+                }
+            }
+        }
+        if (!ids.isEmpty()) {
+            updated.add(new Posting(word, ids));
+        }
+        return updated.isEmpty() ? null : updated.toArray(new Posting[0]);
+    }
+
+    /**
+     * @return The Levenshtein distance: the fewest single character
+     * insertions, deletions and substitutions that turn one word into the other
+     */
+    static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
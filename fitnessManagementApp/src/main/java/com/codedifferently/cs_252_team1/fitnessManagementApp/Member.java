@@ -51,6 +51,21 @@ public class Member implements Serializable {
         this.paymentStatus = PaymentStatus.UP_TO_DATE;
         this.lastPaymentDate = LocalDate.now();
     }
+
+    // Copy constructor, used to change a member without readers seeing a half-applied change
+    public Member(Member other) {
+        this.memberId = other.memberId;
+        this.firstName = other.firstName;
+        this.lastName = other.lastName;
+        this.email = other.email;
+        this.phoneNumber = other.phoneNumber;
+        this.membershipDate = other.membershipDate;
+        this.membershipStatus = other.membershipStatus;
+        this.membershipType = other.membershipType;
+        this.paymentOption = other.paymentOption;
+        this.paymentStatus = other.paymentStatus;
+        this.lastPaymentDate = other.lastPaymentDate;
+    }
     
     // Getters and Setters with validation
     public int getMemberId() {
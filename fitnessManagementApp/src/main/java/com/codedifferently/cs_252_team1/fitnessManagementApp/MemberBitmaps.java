@@ -0,0 +1,188 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable bitmaps over member IDs, one for every value of
+ * {@link MembershipStatus}, {@link MembershipType}, {@link PaymentOption} and
+ * {@link PaymentStatus}, plus one of every member. Kept as part of each
+ * {@link MemberTable} version.
+ *
+ * A {@link MemberFilter} is evaluated one chunk of IDs at a time: for each
+ * chunk that holds any member, the filter combines the words of the bitmaps it
+ * names with and, or and and-not, and only the set bits of the result are
+ * counted or turned into IDs.
+ */
+final class MemberBitmaps {
+    private static final List<Class<? extends Enum<?>>> ATTRIBUTES =
+        List.of(MembershipStatus.class, MembershipType.class, PaymentOption.class, PaymentStatus.class);
+    private static final int[] OFFSETS = new int[ATTRIBUTES.size()];
+    private static final int SLOTS;
+
+    static {
+        int offset = 0;
+        for (int i = 0; i < ATTRIBUTES.size(); i++) {
+            OFFSETS[i] = offset;
+            offset += ATTRIBUTES.get(i).getEnumConstants().length;
+        }
+        SLOTS = offset;
+    }
+
+    static final MemberBitmaps EMPTY = new MemberBitmaps(PersistentBitmap.EMPTY, emptySlots());
+
+    private final PersistentBitmap all;
+    // One bitmap per attribute value, grouped by attribute in ordinal order;
+    // built for each version and never changed afterwards
+    private final PersistentBitmap[] byValue;
+
+    private MemberBitmaps(PersistentBitmap all, PersistentBitmap[] byValue) {
+        this.all = all;
+        this.byValue = byValue;
+    }
+
+    private static PersistentBitmap[] emptySlots() {
+        PersistentBitmap[] slots = new PersistentBitmap[SLOTS];
+        Arrays.fill(slots, PersistentBitmap.EMPTY);
+        return slots;
+    }
+
+    private static int slot(Enum<?> value) {
+        return OFFSETS[ATTRIBUTES.indexOf(value.getDeclaringClass())] + value.ordinal();
+    }
+
+    private static Enum<?>[] valuesOf(Member member) {
+        return new Enum<?>[] {
+            member.getMembershipStatus(), member.getMembershipType(),
+            member.getPaymentOption(), member.getPaymentStatus()
+        };
+    }
+
+    /**
+     * Add a member, or move a changed member to the bitmaps of its new values
+     * @param previous The member as indexed before, or null if it is new
+     */
+    MemberBitmaps put(Member previous, Member member) {
+        int memberId = member.getMemberId();
+        Enum<?>[] before = previous != null ? valuesOf(previous) : new Enum<?>[ATTRIBUTES.size()];
+        Enum<?>[] after = valuesOf(member);
+        PersistentBitmap[] slots = null;
+        for (int i = 0; i < after.length; i++) {
+            if (before[i] == after[i]) {
+                continue;
+            }
+            if (slots == null) {
+                slots = byValue.clone();
+            }
+            if (before[i] != null) {
+                slots[slot(before[i])] = slots[slot(before[i])].remove(memberId);
+            }
+            if (after[i] != null) {
+                slots[slot(after[i])] = slots[slot(after[i])].add(memberId);
+            }
+        }
+        if (slots == null && previous != null) {
+            return this;
+        }
+        return new MemberBitmaps(all.add(memberId), slots != null ? slots : byValue);
+    }
+
+    MemberBitmaps remove(Member previous) {
+        int memberId = previous.getMemberId();
+        PersistentBitmap[] slots = byValue.clone();
+        for (Enum<?> value : valuesOf(previous)) {
+            if (value != null) {
+                slots[slot(value)] = slots[slot(value)].remove(memberId);
+            }
+        }
+        return new MemberBitmaps(all.remove(memberId), slots);
+    }
+
+    /**
+     * @return Number of members with the value
+     */
+    int cardinality(Enum<?> value) {
+        return byValue[slot(value)].cardinality();
+    }
+
+    boolean contains(Enum<?> value, int memberId) {
+        return byValue[slot(value)].contains(memberId);
+    }
+
+    /**
+     * @return The words of one chunk of the bitmap for a value, or null if empty
+     */
+    long[] words(Enum<?> value, int key) {
+        return byValue[slot(value)].words(key);
+    }
+
+    /**
+     * @return The words of one chunk of the bitmap of every member, or null if empty
+     */
+    long[] allWords(int key) {
+        return all.words(key);
+    }
+
+    int count(MemberFilter filter) {
+        long[] words = new long[PersistentBitmap.WORDS];
+        int count = 0;
+        for (PersistentBitmap.Chunk chunk : all.chunks()) {
+            filter.evaluate(this, chunk.key(), words);
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param afterId Only IDs above this one are returned
+     * @param limit Most IDs to return
+     * @return IDs of the members that match the filter, in ID order,
+     * evaluating only the chunks needed to find them
+     */
+    List<Integer> matching(MemberFilter filter, int afterId, int limit) {
+        long[] words = new long[PersistentBitmap.WORDS];
+        List<Integer> ids = new ArrayList<>(Math.min(limit, 1024));
+        all.chunksFrom((afterId + 1) >>> PersistentBitmap.CHUNK_BITS, chunk -> {
+            filter.evaluate(this, chunk.key(), words);
+            int base = chunk.key() << PersistentBitmap.CHUNK_BITS;
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    int id = base + i * Long.SIZE + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if (id > afterId) {
+                        ids.add(id);
+                        if (ids.size() == limit) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        });
+        return ids;
+    }
+
+    /**
+     * @return IDs of the members that match the filter, in ID order
+     */
+    List<Integer> matching(MemberFilter filter) {
+        long[] words = new long[PersistentBitmap.WORDS];
+        List<Integer> ids = new ArrayList<>();
+        for (PersistentBitmap.Chunk chunk : all.chunks()) {
+            filter.evaluate(this, chunk.key(), words);
+            int base = chunk.key() << PersistentBitmap.CHUNK_BITS;
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    ids.add(base + i * Long.SIZE + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,177 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.Arrays;
+
+/**
+ * A condition on a member's status, membership type, payment option and
+ * payment status, built from single values combined with {@link #and},
+ * {@link #or} and {@link #not}. For example, the active premium members who
+ * pay by credit card and are marked overdue:
+ *
+ * <pre>
+ * MemberFilter.status(MembershipStatus.ACTIVE)
+ *     .and(MemberFilter.type(MembershipType.PREMIUM))
+ *     .and(MemberFilter.paymentOption(PaymentOption.CREDIT_CARD))
+ *     .and(MemberFilter.paymentStatus(PaymentStatus.OVERDUE))
+ * </pre>
+ *
+ * Filters are evaluated by {@link MembershipManagement} on bitmaps of member
+ * IDs, so counting the matches never looks at a Member object. Filters are
+ * immutable and can be reused.
+ */
+public abstract class MemberFilter {
+
+    MemberFilter() {
+    }
+
+    /**
+     * @return A filter that matches every member
+     */
+    public static MemberFilter all() {
+        return new MemberFilter() {
+            @Override
+            void evaluate(MemberBitmaps bitmaps, int key, long[] out) {
+                copy(bitmaps.allWords(key), out);
+            }
+
+            @Override
+            public String toString() {
+                return "ALL";
+            }
+        };
+    }
+
+    public static MemberFilter status(MembershipStatus status) {
+        return value(status);
+    }
+
+    public static MemberFilter type(MembershipType type) {
+        return value(type);
+    }
+
+    public static MemberFilter paymentOption(PaymentOption paymentOption) {
+        return value(paymentOption);
+    }
+
+    /**
+     * Match the payment status a member is marked with. A member whose last
+     * payment is simply old is not marked {@link PaymentStatus#OVERDUE}; see
+     * {@link MembershipManagement#getMembersWithOverduePayments()} for those.
+     */
+    public static MemberFilter paymentStatus(PaymentStatus paymentStatus) {
+        return value(paymentStatus);
+    }
+
+    static MemberFilter value(Enum<?> value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Filter value cannot be null");
+        }
+        return new MemberFilter() {
+            @Override
+            void evaluate(MemberBitmaps bitmaps, int key, long[] out) {
+                copy(bitmaps.words(value, key), out);
+            }
+
+            @Override
+            public String toString() {
+                return value.name();
+            }
+        };
+    }
+
+    /**
+     * @return A filter that matches members matched by both filters
+     */
+    public MemberFilter and(MemberFilter other) {
+        MemberFilter left = this;
+        return new MemberFilter() {
+            @Override
+            void evaluate(MemberBitmaps bitmaps, int key, long[] out) {
+                left.evaluate(bitmaps, key, out);
+                if (isEmpty(out)) {
+                    return;
+                }
+                long[] right = new long[out.length];
+                other.evaluate(bitmaps, key, right);
+                for (int i = 0; i < out.length; i++) {
+                    out[i] &= right[i];
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "(" + left + " AND " + other + ")";
+            }
+        };
+    }
+
+    /**
+     * @return A filter that matches members matched by either filter
+     */
+    public MemberFilter or(MemberFilter other) {
+        MemberFilter left = this;
+        return new MemberFilter() {
+            @Override
+            void evaluate(MemberBitmaps bitmaps, int key, long[] out) {
+                left.evaluate(bitmaps, key, out);
+                long[] right = new long[out.length];
+                other.evaluate(bitmaps, key, right);
+                for (int i = 0; i < out.length; i++) {
+                    out[i] |= right[i];
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "(" + left + " OR " + other + ")";
+            }
+        };
+    }
+
+    /**
+     * @return A filter that matches every member this filter does not match
+     */
+    public MemberFilter not() {
+        MemberFilter inner = this;
+        return new MemberFilter() {
+            @Override
+            void evaluate(MemberBitmaps bitmaps, int key, long[] out) {
+                inner.evaluate(bitmaps, key, out);
+                long[] members = bitmaps.allWords(key);
+                for (int i = 0; i < out.length; i++) {
+                    out[i] = members != null ? members[i] & ~out[i] : 0;
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "NOT " + inner;
+            }
+        };
+    }
+
+    /**
+     * Fill {@code out} with this filter's matches among the member IDs of one
+     * bitmap chunk, one bit per ID
+     * @param key Chunk number
+     * @param out Words of the chunk; every word is overwritten
+     */
+    abstract void evaluate(MemberBitmaps bitmaps, int key, long[] out);
+
+    private static void copy(long[] words, long[] out) {
+        if (words != null) {
+            System.arraycopy(words, 0, out, 0, out.length);
+        } else {
+            Arrays.fill(out, 0);
+        }
+    }
+
+    private static boolean isEmpty(long[] words) {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
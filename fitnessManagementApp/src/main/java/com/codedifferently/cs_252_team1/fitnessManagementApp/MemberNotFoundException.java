@@ -17,4 +17,14 @@ public class MemberNotFoundException extends Exception {
         super("Member with ID " + memberId + " not found");
     }
     
+    /**
+     * Constructs a MemberNotFoundException with a custom message, for lookups
+     * by something other than the ID.
+     * 
+     * @param message the detail message
+     */
+    public MemberNotFoundException(String message) {
+        super(message);
+    }
+    
 }
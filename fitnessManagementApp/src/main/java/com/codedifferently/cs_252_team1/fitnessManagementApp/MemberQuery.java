@@ -0,0 +1,120 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria for finding members, combined with AND. Only the criteria that are
+ * set take part:
+ *
+ * <pre>
+ * MemberQuery query = new MemberQuery()
+ *     .status(MembershipStatus.ACTIVE)
+ *     .nameContains("smith")
+ *     .joinedBetween(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+ * List&lt;Member&gt; found = membershipManagement.query(query);
+ * </pre>
+ *
+ * {@link MembershipManagement#query} plans the query against the member
+ * indexes, and {@link MembershipManagement#explain} describes the plan it
+ * would use.
+ */
+public class MemberQuery {
+    private MembershipStatus status;
+    private MembershipType type;
+    private PaymentOption paymentOption;
+    private PaymentStatus paymentStatus;
+    private String nameTerm;
+    private LocalDate joinedFrom;
+    private LocalDate joinedTo;
+    private Boolean overdue;
+
+    public MemberQuery status(MembershipStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    public MemberQuery type(MembershipType type) {
+        this.type = type;
+        return this;
+    }
+
+    public MemberQuery paymentOption(PaymentOption paymentOption) {
+        this.paymentOption = paymentOption;
+        return this;
+    }
+
+    /**
+     * Match the payment status a member is marked with; see {@link #overdue}
+     * for members whose payment is late by date as well
+     */
+    public MemberQuery paymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+        return this;
+    }
+
+    /**
+     * Match members whose full name contains the term, ignoring case
+     */
+    public MemberQuery nameContains(String term) {
+        this.nameTerm = term == null || term.trim().isEmpty() ? null : term.toLowerCase().trim();
+        return this;
+    }
+
+    /**
+     * Match members who joined between the two dates, inclusive
+     * @param from First date, or null for no lower bound
+     * @param to Last date, or null for no upper bound
+     */
+    public MemberQuery joinedBetween(LocalDate from, LocalDate to) {
+        this.joinedFrom = from;
+        this.joinedTo = to;
+        return this;
+    }
+
+    /**
+     * Match members whose payment is, or is not, overdue today
+     * @see Member#isPaymentOverdue()
+     */
+    public MemberQuery overdue(boolean overdue) {
+        this.overdue = overdue;
+        return this;
+    }
+
+    /**
+     * @return The attribute values asked for, for the bitmap index
+     */
+    List<Enum<?>> values() {
+        List<Enum<?>> values = new ArrayList<>(4);
+        for (Enum<?> value : new Enum<?>[] {status, type, paymentOption, paymentStatus}) {
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    String nameTerm() {
+        return nameTerm;
+    }
+
+    boolean hasJoinedRange() {
+        return joinedFrom != null || joinedTo != null;
+    }
+
+    LocalDate joinedFrom() {
+        return joinedFrom;
+    }
+
+    LocalDate joinedTo() {
+        return joinedTo;
+    }
+
+    /**
+     * @return Whether overdue members are wanted, or null if either will do
+     */
+    Boolean overdue() {
+        return overdue;
+    }
+}
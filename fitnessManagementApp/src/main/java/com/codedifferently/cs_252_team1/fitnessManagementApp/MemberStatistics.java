@@ -0,0 +1,27 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Member counts from one version of the members, as returned by
+ * {@link MembershipManagement#getStatistics()}. Every value of each attribute
+ * has an entry, zero if no member has it, and all counts describe the same
+ * moment, so the per-value counts of an attribute add up to the total.
+ *
+ * @param asOf Day the overdue count was judged on
+ * @param total Number of members
+ * @param byStatus Members per membership status
+ * @param byType Members per membership type
+ * @param byPaymentOption Members per payment option
+ * @param byPaymentStatus Members per marked payment status
+ * @param overdue Members whose payment is overdue on {@code asOf}, as
+ * {@link MembershipManagement#getOverduePaymentCount()} counts them
+ */
+public record MemberStatistics(LocalDate asOf, int total,
+                               Map<MembershipStatus, Integer> byStatus,
+                               Map<MembershipType, Integer> byType,
+                               Map<PaymentOption, Integer> byPaymentOption,
+                               Map<PaymentStatus, Integer> byPaymentStatus,
+                               int overdue) {
+}
@@ -0,0 +1,499 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+/**
+ * One published version of the members together with their indexes. Like
+ * the maps inside it, a table is never modified: {@link #put} and
+ * {@link #remove} return the next version, so a reader sees the members and
+ * every index as of the same moment.
+ *
+ * The status index keeps the members of each {@link MembershipStatus} by ID,
+ * so a status list costs only the size of the result and a count is a field
+ * read. The {@link NameIndex} answers name searches from the pieces of each
+ * member's full name, which contains the first and last names, and the
+ * {@link FuzzyNameIndex} finds names that are spelt slightly differently. The contact
+ * indexes map each normalized email address and phone number to the members
+ * that have it, so a member can be found from either with one hash lookup.
+ *
+ * For payments, members are kept in order of their last payment date, and the
+ * members marked {@link PaymentStatus#OVERDUE} or without a payment date are
+ * kept apart. The members overdue on a day are then the marked ones plus a
+ * range of the oldest payments, without checking every member.
+ *
+ * Members are also kept in order of the date they joined, so cohorts by
+ * joining date and tenure are counted from the days in range.
+ *
+ * {@link MemberBitmaps} hold the IDs of the members with each status,
+ * membership type, payment option and payment status, for filters that
+ * combine them.
+ */
+final class MemberTable {
+    static final MemberTable EMPTY = new MemberTable(PersistentIntMap.empty(), emptyStatusIndex(), NameIndex.EMPTY,
+        ContactIndex.EMPTY, ContactIndex.EMPTY, DayIndex.EMPTY, PersistentIntMap.empty(), MemberBitmaps.EMPTY, DayIndex.EMPTY,
+        FuzzyNameIndex.EMPTY);
+
+    // Payments are due every 30 days, as in Member.isPaymentOverdue()
+    private static final int PAYMENT_PERIOD_DAYS = 30;
+
+    private final PersistentIntMap<Member> byId;
+    // Built for each version and never changed afterwards
+    private final EnumMap<MembershipStatus, PersistentIntMap<Member>> byStatus;
+    private final NameIndex byName;
+    private final ContactIndex byEmail;
+    private final ContactIndex byPhone;
+    private final DayIndex byLastPayment;
+    // Marked overdue, or with no payment date, so overdue whatever the day
+    private final PersistentIntMap<Integer> markedOverdue;
+    private final MemberBitmaps bitmaps;
+    private final DayIndex byJoined;
+    private final FuzzyNameIndex byNameWords;
+    // Counts of this version, built on the first request for a day; a race
+    // only builds the same counts twice
+    private volatile MemberStatistics statistics;
+
+    private MemberTable(PersistentIntMap<Member> byId, EnumMap<MembershipStatus, PersistentIntMap<Member>> byStatus,
+                        NameIndex byName, ContactIndex byEmail, ContactIndex byPhone,
+                        DayIndex byLastPayment, PersistentIntMap<Integer> markedOverdue,
+                        MemberBitmaps bitmaps, DayIndex byJoined, FuzzyNameIndex byNameWords) {
+        this.byId = byId;
+        this.byStatus = byStatus;
+        this.byName = byName;
+        this.byEmail = byEmail;
+        this.byPhone = byPhone;
+        this.byLastPayment = byLastPayment;
+        this.markedOverdue = markedOverdue;
+        this.bitmaps = bitmaps;
+        this.byJoined = byJoined;
+        this.byNameWords = byNameWords;
+    }
+
+    private static EnumMap<MembershipStatus, PersistentIntMap<Member>> emptyStatusIndex() {
+        EnumMap<MembershipStatus, PersistentIntMap<Member>> index = new EnumMap<>(MembershipStatus.class);
+        for (MembershipStatus status : MembershipStatus.values()) {
+            index.put(status, PersistentIntMap.empty());
+        }
+        return index;
+    }
+
+    /**
+     * Email addresses are compared without surrounding spaces and ignoring case
+     * @return The normalized address, or an empty string for none
+     */
+    static String normalizeEmail(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Phone numbers are compared on their digits only, so "(555) 123-4567"
+     * and "555.123.4567" are the same number
+     * @return The digits of the number, or an empty string for none
+     */
+    static String normalizePhone(String phoneNumber) {
+        if (phoneNumber == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(phoneNumber.length());
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    static MemberTable of(Collection<Member> members) {
+        MemberTable table = EMPTY;
+        for (Member member : members) {
+            table = table.put(member);
+        }
+        return table;
+    }
+
+    Member get(int memberId) {
+        return byId.get(memberId);
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    /**
+     * @return Every member, in ID order
+     */
+    Collection<Member> values() {
+        return byId.values();
+    }
+
+    /**
+     * @return The members with the given status, in ID order
+     */
+    Collection<Member> withStatus(MembershipStatus status) {
+        return byStatus.get(status).values();
+    }
+
+    /**
+     * @param today Day to judge overdue payments on
+     * @return The counts of this version, read from the bitmap cardinalities
+     * kept by every change and cached for later calls on the same day
+     */
+    MemberStatistics statistics(LocalDate today) {
+        MemberStatistics cached = statistics;
+        if (cached == null || !cached.asOf().equals(today)) {
+            cached = new MemberStatistics(today, size(), counts(MembershipStatus.class), counts(MembershipType.class),
+                counts(PaymentOption.class), counts(PaymentStatus.class), countOverdueOn(today));
+            statistics = cached;
+        }
+        return cached;
+    }
+
+    private <E extends Enum<E>> Map<E, Integer> counts(Class<E> attribute) {
+        EnumMap<E, Integer> counts = new EnumMap<>(attribute);
+        for (E value : attribute.getEnumConstants()) {
+            counts.put(value, bitmaps.cardinality(value));
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    int countWithStatus(MembershipStatus status) {
+        return byStatus.get(status).size();
+    }
+
+    /**
+     * @param term Lower-cased, non-empty search term
+     * @return The members whose full name contains the term, in ID order
+     */
+    List<Member> findByName(String term) {
+        List<Member> result = new ArrayList<>();
+        for (int memberId : byName.find(term)) {
+            result.add(byId.get(memberId));
+        }
+        return result;
+    }
+
+    /**
+     * @param email Normalized email address
+     * @param exceptId ID to ignore, or 0 to consider every member
+     * @return The member with the lowest ID that has the address, or null
+     */
+    Member findByEmail(String email, int exceptId) {
+        int memberId = byEmail.first(email, exceptId);
+        return memberId != 0 ? byId.get(memberId) : null;
+    }
+
+    /**
+     * @param phoneNumber Normalized phone number
+     * @param exceptId ID to ignore, or 0 to consider every member
+     * @return The member with the lowest ID that has the number, or null
+     */
+    Member findByPhone(String phoneNumber, int exceptId) {
+        int memberId = byPhone.first(phoneNumber, exceptId);
+        return memberId != 0 ? byId.get(memberId) : null;
+    }
+
+    /**
+     * @param today Day to check payments on
+     * @return The members whose payment is overdue on the day, in ID order
+     * @see Member#isPaymentOverdue()
+     */
+    List<Member> overdueOn(LocalDate today) {
+        return membersOf(overdueIdsOn(today));
+    }
+
+    private List<Integer> overdueIdsOn(LocalDate today) {
+        LocalDate lastLatePayment = today.minusDays(PAYMENT_PERIOD_DAYS + 1);
+        List<Integer> ids = byLastPayment.between(null, lastLatePayment);
+        for (int memberId : markedOverdue.values()) {
+            if (!byLastPayment.contains(memberId, null, lastLatePayment)) {
+                ids.add(memberId);
+            }
+        }
+        ids.sort(null);
+        return ids;
+    }
+
+    private boolean isOverdueOn(int memberId, LocalDate today) {
+        return markedOverdue.containsKey(memberId)
+            || byLastPayment.contains(memberId, null, today.minusDays(PAYMENT_PERIOD_DAYS + 1));
+    }
+
+    private List<Member> membersOf(List<Integer> ids) {
+        List<Member> result = new ArrayList<>(ids.size());
+        for (int memberId : ids) {
+            result.add(byId.get(memberId));
+        }
+        return result;
+    }
+
+    /**
+     * @param today Day to check payments on
+     * @return Number of members whose payment is overdue on the day
+     */
+    int countOverdueOn(LocalDate today) {
+        LocalDate lastLatePayment = today.minusDays(PAYMENT_PERIOD_DAYS + 1);
+        int count = byLastPayment.countBetween(null, lastLatePayment);
+        for (int memberId : markedOverdue.values()) {
+            if (!byLastPayment.contains(memberId, null, lastLatePayment)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param query Name as typed, possibly misspelt
+     * @param maxDistance Most edits allowed for each word of the query, or
+     * -1 for the default of {@link FuzzyNameIndex#allowedDistance}
+     * @return The members with a name close to the query, closest first and
+     * then in ID order
+     */
+    List<Member> findByNameFuzzy(String query, int maxDistance) {
+        List<FuzzyNameIndex.Match> matches = maxDistance < 0
+            ? byNameWords.search(query)
+            : byNameWords.search(query, maxDistance);
+        List<Member> result = new ArrayList<>(matches.size());
+        for (FuzzyNameIndex.Match match : matches) {
+            result.add(byId.get(match.id()));
+        }
+        return result;
+    }
+
+    /**
+     * @param from First joining date, inclusive, or null for no lower bound
+     * @param to Last joining date, inclusive, or null for no upper bound
+     * @return The members who joined in the range, by joining date and then by ID
+     */
+    List<Member> joinedBetween(LocalDate from, LocalDate to) {
+        return membersOf(byJoined.between(from, to));
+    }
+
+    int countJoinedBetween(LocalDate from, LocalDate to) {
+        return byJoined.countBetween(from, to);
+    }
+
+    /**
+     * Count members by whole years of membership on a day, as
+     * {@link Member#getYearsOfMembership()} counts them. Each year is one
+     * range of joining dates, so the cost follows the number of distinct
+     * joining days rather than the number of members.
+     * @param today Day to measure tenure on
+     * @return Number of members for each whole number of years, from 0 up to
+     * the longest tenure; members joining after the day are left out
+     */
+    int[] tenureHistogram(LocalDate today) {
+        int remaining = byJoined.countBetween(null, today);
+        List<Integer> counts = new ArrayList<>();
+        for (int years = 0; remaining > 0; years++) {
+            int count = byJoined.countBetween(today.minusYears(years + 1).plusDays(1), today.minusYears(years));
+            counts.add(count);
+            remaining -= count;
+        }
+        int[] histogram = new int[counts.size()];
+        for (int years = 0; years < histogram.length; years++) {
+            histogram[years] = counts.get(years);
+        }
+        return histogram;
+    }
+
+    int countMatching(MemberFilter filter) {
+        return bitmaps.count(filter);
+    }
+
+    /**
+     * @return The members that match the filter, in ID order
+     */
+    List<Member> findMatching(MemberFilter filter) {
+        return membersOf(bitmaps.matching(filter));
+    }
+
+    /**
+     * @param afterId Only members with a higher ID are returned
+     * @param limit Most members to return
+     * @param filter Filter the members must match, or null for every member
+     * @return The next members in ID order, walking only the part of the
+     * index after {@code afterId}
+     */
+    Page<Member> page(int afterId, int limit, MemberFilter filter) {
+        // One extra member tells whether there is another page
+        List<Member> items = new ArrayList<>(Math.min(limit, size()) + 1);
+        if (filter == null) {
+            byId.visitRange(afterId + 1, Integer.MAX_VALUE, member -> {
+                items.add(member);
+                return items.size() <= limit;
+            });
+        } else {
+            for (int memberId : bitmaps.matching(filter, afterId, limit == Integer.MAX_VALUE ? limit : limit + 1)) {
+                items.add(byId.get(memberId));
+            }
+        }
+        boolean hasMore = items.size() > limit;
+        if (hasMore) {
+            items.remove(limit);
+        }
+        int nextAfter = items.isEmpty() ? afterId : items.get(items.size() - 1).getMemberId();
+        return new Page<>(items, nextAfter, hasMore);
+    }
+
+    /**
+     * Plan a query on this version. Every indexed criterion offers an access
+     * path with a bound on the candidates it can return: the smallest bitmap
+     * of the values asked for, the shortest name posting list, or the exact
+     * number of overdue members or of members who joined in the date range.
+     * The path with the lowest bound produces the candidates, the other
+     * indexed criteria are checked on each candidate's ID, and only criteria
+     * without an index look at the member. With no indexed criterion the plan
+     * scans every member.
+     * @param today Day to judge overdue payments on
+     */
+    QueryPlan plan(MemberQuery query, LocalDate today) {
+        List<AccessPath> paths = new ArrayList<>();
+
+        List<Enum<?>> values = query.values();
+        if (!values.isEmpty()) {
+            MemberFilter filter = null;
+            int estimate = size();
+            for (Enum<?> value : values) {
+                filter = filter == null ? MemberFilter.value(value) : filter.and(MemberFilter.value(value));
+                estimate = Math.min(estimate, bitmaps.cardinality(value));
+            }
+            MemberFilter combined = filter;
+            paths.add(new AccessPath("bitmap index on " + values, estimate,
+                () -> bitmaps.matching(combined),
+                memberId -> values.stream().allMatch(value -> bitmaps.contains(value, memberId))));
+        }
+
+        String term = query.nameTerm();
+        if (term != null) {
+            paths.add(new AccessPath("name index for \"" + term + "\"", byName.estimate(term),
+                () -> byName.find(term), memberId -> byName.matches(memberId, term)));
+        }
+
+        if (query.hasJoinedRange()) {
+            LocalDate from = query.joinedFrom();
+            LocalDate to = query.joinedTo();
+            paths.add(new AccessPath("joining date index from " + (from != null ? from : "the first member")
+                    + " to " + (to != null ? to : "the last member"),
+                byJoined.countBetween(from, to),
+                () -> {
+                    List<Integer> ids = byJoined.between(from, to);
+                    ids.sort(null);
+                    return ids;
+                },
+                memberId -> byJoined.contains(memberId, from, to)));
+        }
+
+        if (Boolean.TRUE.equals(query.overdue())) {
+            paths.add(new AccessPath("payment index for members overdue on " + today, countOverdueOn(today),
+                () -> overdueIdsOn(today), memberId -> isOverdueOn(memberId, today)));
+        }
+
+        AccessPath driver = null;
+        for (AccessPath path : paths) {
+            if (driver == null || path.estimate() < driver.estimate()) {
+                driver = path;
+            }
+        }
+        QueryPlan plan = driver != null
+            ? new QueryPlan(driver.description(), driver.estimate(), size(), driver.candidates())
+            : new QueryPlan("scan of every member", size(), size(), this::allIds);
+        for (AccessPath path : paths) {
+            if (path != driver) {
+                plan.addCheck(path.description(), path.check());
+            }
+        }
+
+        if (Boolean.FALSE.equals(query.overdue())) {
+            plan.addCheck("payment index for members not overdue on " + today,
+                memberId -> !isOverdueOn(memberId, today));
+        }
+        return plan;
+    }
+
+    private List<Integer> allIds() {
+        List<Integer> ids = new ArrayList<>(size());
+        for (Member member : byId.values()) {
+            ids.add(member.getMemberId());
+        }
+        return ids;
+    }
+
+    // One indexed criterion: how to list its candidates and how to check an ID
+    private record AccessPath(String description, int estimate, Supplier<List<Integer>> candidates,
+                              IntPredicate check) {
+    }
+
+    private static boolean markedOverdue(Member member) {
+        return member.getPaymentStatus() == PaymentStatus.OVERDUE || member.getLastPaymentDate() == null;
+    }
+
+    /**
+     * Add a member, or replace the member with the same ID
+     */
+    MemberTable put(Member member) {
+        int memberId = member.getMemberId();
+        Member previous = byId.get(memberId);
+        EnumMap<MembershipStatus, PersistentIntMap<Member>> statusIndex = new EnumMap<>(byStatus);
+        if (previous != null && previous.getMembershipStatus() != member.getMembershipStatus()) {
+            statusIndex.computeIfPresent(previous.getMembershipStatus(), (status, ids) -> ids.remove(memberId));
+        }
+        statusIndex.computeIfPresent(member.getMembershipStatus(), (status, ids) -> ids.put(memberId, member));
+        NameIndex nameIndex = byName;
+        FuzzyNameIndex wordIndex = byNameWords;
+        if (previous == null || !Objects.equals(previous.getFirstName(), member.getFirstName())
+                || !Objects.equals(previous.getLastName(), member.getLastName())) {
+            nameIndex = byName.put(memberId, member.getFullName());
+            wordIndex = byNameWords.put(memberId, member.getFullName());
+        }
+        ContactIndex emailIndex = byEmail;
+        if (previous == null || !Objects.equals(previous.getEmail(), member.getEmail())) {
+            emailIndex = byEmail.put(memberId, normalizeEmail(member.getEmail()));
+        }
+        ContactIndex phoneIndex = byPhone;
+        if (previous == null || !Objects.equals(previous.getPhoneNumber(), member.getPhoneNumber())) {
+            phoneIndex = byPhone.put(memberId, normalizePhone(member.getPhoneNumber()));
+        }
+        DayIndex joinedIndex = byJoined;
+        if (previous == null || !Objects.equals(previous.getMembershipDate(), member.getMembershipDate())) {
+            joinedIndex = byJoined.put(memberId, member.getMembershipDate());
+        }
+        DayIndex paymentIndex = byLastPayment;
+        if (previous == null || !Objects.equals(previous.getLastPaymentDate(), member.getLastPaymentDate())) {
+            paymentIndex = byLastPayment.put(memberId, member.getLastPaymentDate());
+        }
+        PersistentIntMap<Integer> overdue = markedOverdue;
+        if (markedOverdue(member) != markedOverdue.containsKey(memberId)) {
+            overdue = markedOverdue(member) ? markedOverdue.put(memberId, memberId) : markedOverdue.remove(memberId);
+        }
+        return new MemberTable(byId.put(memberId, member), statusIndex, nameIndex, emailIndex, phoneIndex,
+            paymentIndex, overdue, bitmaps.put(previous, member), joinedIndex,
+            wordIndex);
+    }
+
+    MemberTable remove(int memberId) {
+        Member previous = byId.get(memberId);
+        if (previous == null) {
+            return this;
+        }
+        EnumMap<MembershipStatus, PersistentIntMap<Member>> statusIndex = new EnumMap<>(byStatus);
+        statusIndex.computeIfPresent(previous.getMembershipStatus(), (status, ids) -> ids.remove(memberId));
+        return new MemberTable(byId.remove(memberId), statusIndex, byName.remove(memberId),
+            byEmail.remove(memberId), byPhone.remove(memberId), byLastPayment.remove(memberId),
+            markedOverdue.remove(memberId), bitmaps.remove(previous), byJoined.remove(memberId),
+            byNameWords.remove(memberId));
+    }
+}
@@ -1,18 +1,35 @@
 package com.codedifferently.cs_252_team1.fitnessManagementApp;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.codedifferently.cs_252_team1.fitnessManagementApp.config.PersistenceProperties;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.BackgroundPersister;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.Checkpointer;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.FsyncPolicy;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.InMemoryMemberStore;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.JdbcMemberStore;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.JournalMemberStore;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.MappedMemberStore;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.MemberStore;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.SerializedMemberStore;
+
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 
@@ -23,57 +40,389 @@ import jakarta.annotation.PreDestroy;
  * This class satisfies the user story:
  * "As an administrator, I want to add, update, or remove members so that 
  * I can keep internal records accurate and up to date."
+ * 
+ * The manager is a singleton shared by every web request. The members and
+ * their indexes are kept in an immutable {@link MemberTable}; a change builds
+ * the next version, sharing all untouched branches with the previous one, and
+ * publishes it through an atomic reference. Readers take the current version
+ * and work on it without locking, so lists and reports are a consistent view of one moment and never
+ * hold up writers. A change locks only its member's stripe, so changes to the
+ * same member are atomic and reach the store in order while changes to
+ * different members run in parallel. A change never modifies a published
+ * Member: it applies the new values to a copy and publishes the copy. For
+ * the same reason callers are only ever handed copies of the published
+ * members, so changing a returned Member changes nothing in the manager.
+ * Member IDs come from an atomic counter.
+ *
+ * Members can be looked up by email address or phone number through hash
+ * indexes in the table. With unique contact details required, a change that
+ * would give a member the email or phone number of another member is
+ * rejected; the check is made against the very version the change replaces,
+ * so two concurrent changes cannot both claim the same address.
+ *
+ * With the write queue enabled, changes are not applied by the calling
+ * thread: they are queued for one writer thread that applies them in order
+ * and commits each batch with one flush. Every change has an {@code Async}
+ * variant that returns a future instead of waiting.
  */
 @Service
 public class MembershipManagement {
-    private Map<Integer, Member> members;
-    private int nextMemberId;
-    private static final String DATA_FILE = "fitness_members.dat";
+    private final AtomicReference<MemberTable> members;
+    // Upper half counts clears, lower half is the next member ID, so an ID
+    // handed out before a clear can be recognized and thrown away
+    private final AtomicLong idAllocator;
+    private final StripedLocks locks = new StripedLocks(64);
+    private final MemberStore store;
+    private final PersistenceProperties.LoadingMode loading;
+    // Null unless changes go through the single writer thread
+    private final CommandQueue writeQueue;
+    // Only false between loadData() and the first access
+    private volatile boolean loaded = true;
+    private volatile boolean uniqueContactRequired;
+    
+    @FunctionalInterface
+    private interface StoreWrite {
+        long write(Member member) throws IOException;
+    }
+    
+    @FunctionalInterface
+    private interface MemberChange {
+        void apply(Member member);
+    }
+    
+    // A change applied under its lock, returning its result and store ticket
+    @FunctionalInterface
+    private interface Mutation<T> {
+        Applied<T> apply() throws MemberNotFoundException;
+    }
+    
+    private record Applied<T>(T result, long ticket) {
+    }
     
+    /**
+     * Create a manager that keeps its members in memory only; nothing is read
+     * from or written to disk
+     */
     public MembershipManagement() {
-        this.members = new HashMap<>();
-        this.nextMemberId = 1;
+        this(new InMemoryMemberStore(), PersistenceProperties.LoadingMode.LAZY);
     }
     
+    /**
+     * Create a manager that keeps its data in the configured directory and store
+     * @param properties Persistence settings
+     * @param checkpointer Background checkpointer, or null to only snapshot on shutdown; required
+     * for the interval fsync policy
+     * @param persister Background persister used when write-behind is enabled, or null
+     */
+    @Autowired
+    public MembershipManagement(PersistenceProperties properties, Checkpointer checkpointer,
+                                BackgroundPersister persister) {
+        this(createStore(properties, checkpointer, persister), properties.getLoading(),
+            properties.getWriteQueue());
+        this.uniqueContactRequired = properties.isUniqueMemberContact();
+    }
+    
+    /**
+     * Create a manager on top of any member store, for example to compare stores
+     * @param store Store that keeps the members; validation stays in the manager
+     * @param loading Whether to load the members on first access or at startup
+     */
+    public MembershipManagement(MemberStore store, PersistenceProperties.LoadingMode loading) {
+        this(store, loading, new PersistenceProperties.WriteQueue());
+    }
+    
+    /**
+     * Create a manager on top of any member store
+     * @param store Store that keeps the members; validation stays in the manager
+     * @param loading Whether to load the members on first access or at startup
+     * @param writeQueue Whether changes go through a single writer thread
+     */
+    public MembershipManagement(MemberStore store, PersistenceProperties.LoadingMode loading,
+                                PersistenceProperties.WriteQueue writeQueue) {
+        this.members = new AtomicReference<>(MemberTable.EMPTY);
+        this.idAllocator = new AtomicLong(1);
+        this.store = store;
+        this.loading = loading;
+        this.writeQueue = writeQueue.isEnabled()
+            ? new CommandQueue("fitness-member-writer", writeQueue.getCapacity(),
+                () -> commitChange(store.lastTicket()))
+            : null;
+    }
+    
+    /**
+     * Choose whether a member's email address and phone number must not
+     * belong to another member. Members stored before this is turned on are
+     * left as they are, even if they share details.
+     * @param required True to reject adds and updates that would duplicate them
+     */
+    public void setUniqueContactRequired(boolean required) {
+        this.uniqueContactRequired = required;
+    }
+    
+    public boolean isUniqueContactRequired() {
+        return uniqueContactRequired;
+    }
+    
+    private static MemberStore createStore(PersistenceProperties properties, Checkpointer checkpointer,
+                                           BackgroundPersister persister) {
+        Path dataPath = properties.getDataPath();
+        FsyncPolicy fsyncPolicy = properties.getFsync().toPolicy();
+        return switch (properties.getMemberStore()) {
+            // Journal data from an earlier run is imported the first time
+            case MAPPED -> new MappedMemberStore(dataPath, fsyncPolicy,
+                new JournalMemberStore(dataPath, FsyncPolicy.osManaged(), null, null), checkpointer);
+            case SERIALIZED -> new SerializedMemberStore(dataPath, fsyncPolicy, checkpointer);
+            case JDBC -> new JdbcMemberStore(properties.getJdbc().toPool(dataPath), fsyncPolicy,
+                properties.getJdbc().getBatchSize(), checkpointer);
+            case MEMORY -> new InMemoryMemberStore();
+            case JOURNAL -> new JournalMemberStore(dataPath, fsyncPolicy, checkpointer,
+                properties.getWriteBehind().isEnabled() ? persister : null);
+        };
+    }
+    
+    /**
+     * Arrange for the members to be loaded from the configured store. In lazy
+     * mode nothing is read until the first method that needs the members, so
+     * commands that only touch employees never pay for it; in eager mode a
+     * background thread starts loading right away, alongside the employees.
+     */
     @PostConstruct
-    private void loadData() {
-        try {
-            File file = new File(DATA_FILE);
-            if (file.exists()) {
-                try (FileInputStream fis = new FileInputStream(file);
-                     ObjectInputStream ois = new ObjectInputStream(fis)) {
-                    @SuppressWarnings("unchecked")
-                    Map<Integer, Member> loadedMembers = (Map<Integer, Member>) ois.readObject();
-                    this.members = loadedMembers;
-                    
-                    // Update nextMemberId to be higher than any existing ID
-                    this.nextMemberId = members.keySet().stream()
-                        .mapToInt(Integer::intValue)
-                        .max()
-                        .orElse(0) + 1;
-                }
+    void loadData() {
+        loaded = false;
+        if (loading == PersistenceProperties.LoadingMode.EAGER) {
+            Thread loader = new Thread(this::ensureLoaded, "fitness-member-loader");
+            loader.setDaemon(true);
+            loader.start();
+        }
+    }
+    
+    /**
+     * Load the members on first use. The next member ID comes from the store,
+     * so no pass over the loaded members is needed.
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
             }
-        } catch (Exception e) {
-            System.err.println("Warning: Could not load member data: " + e.getMessage());
-            this.members = new HashMap<>();
-            this.nextMemberId = 1;
+            try {
+                Map<Integer, Member> loadedMembers = new HashMap<>();
+                idAllocator.set(store.open(loadedMembers, this::copyMembers));
+                members.set(MemberTable.of(loadedMembers.values()));
+            } catch (Exception e) {
+                System.err.println("Warning: Could not load member data: " + e.getMessage());
+                members.set(MemberTable.EMPTY);
+                idAllocator.set(1);
+            }
+            loaded = true;
         }
     }
     
+    /**
+     * Apply any queued changes, write any buffered changes, take a final
+     * checkpoint and close the store
+     */
     @PreDestroy
-    private void saveData() {
-        try {
-            try (FileOutputStream fos = new FileOutputStream(DATA_FILE);
-                 ObjectOutputStream oos = new ObjectOutputStream(fos)) {
-                oos.writeObject(members);
+    void saveData() {
+        if (writeQueue != null) {
+            writeQueue.close();
+        }
+        synchronized (this) {
+            if (!loaded) {
+                // Never opened, so there is nothing to write
+                loaded = true;
+                return;
             }
+        }
+        try {
+            store.close();
         } catch (Exception e) {
             System.err.println("Warning: Could not save member data: " + e.getMessage());
         }
     }
     
-    private void persistData() {
-        saveData(); // Save immediately after any modification
+    /**
+     * Bring the store's files up to date. Writers are not blocked; a change
+     * made while the members are copied is also in the log tail.
+     * @throws IOException if the data could not be written
+     */
+    void checkpoint() throws IOException {
+        store.checkpoint();
+    }
+    
+    /**
+     * @return Version of the most recent change, to pass to {@link #awaitDurable}
+     */
+    public long getVersion() {
+        return store.lastTicket();
+    }
+    
+    /**
+     * Wait until every change up to the given version is on disk, whatever
+     * the fsync policy and write-behind settings
+     * @param version Version returned by {@link #getVersion()}
+     * @throws IOException if the changes could not be written
+     */
+    public void awaitDurable(long version) throws IOException {
+        store.awaitDurable(version);
+    }
+    
+    /**
+     * Wait until every change made so far is on disk
+     * @throws IOException if the changes could not be written
+     */
+    public void flush() throws IOException {
+        awaitDurable(getVersion());
+    }
+    
+    // The current version is already a consistent copy. Synchronized so a
+    // background checkpoint that starts while the members are still loading
+    // waits for them instead of writing an empty snapshot.
+    private synchronized Collection<Member> copyMembers() {
+        return members.get().values();
+    }
+    
+    /**
+     * Hand a single change to the store while holding the member's lock, so
+     * changes to a member reach the store in the order they were made. Only
+     * the changed member is written, so the cost does not grow with the
+     * number of members. If the store cannot take the change, it is undone
+     * in memory as well and the call fails.
+     * @param undo Restores the members as they were before the change
+     * @return Ticket to pass to {@link #commitChange} once the lock is released
+     * @throws UncheckedIOException if the store could not write the change
+     */
+    private long persistChange(StoreWrite write, Member member, Runnable undo) {
+        try {
+            return write.write(member);
+        } catch (IOException e) {
+            undo.run();
+            throw new UncheckedIOException("Could not save member change", e);
+        }
+    }
+    
+    /**
+     * Wait until a change is as durable as the fsync policy asks. Called
+     * outside the lock so that concurrent changes can share one disk flush.
+     * @throws UncheckedIOException if the store could not make it durable; the
+     * change stays applied but may not survive a crash
+     */
+    private void commitChange(long ticket) {
+        try {
+            store.commit(ticket);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not sync member change", e);
+        }
+    }
+    
+    /**
+     * Apply a change on the calling thread, or queue it for the writer thread
+     * when writes are queued. Either way the future completes once the change
+     * is as durable as the fsync policy asks, or fails with an
+     * {@link UncheckedIOException} if the store could not get it there; in
+     * direct mode it is already complete when this returns.
+     */
+    private <T> CompletableFuture<T> submit(Mutation<T> mutation) {
+        ensureLoaded();
+        if (writeQueue != null) {
+            return writeQueue.submit(() -> mutation.apply().result());
+        }
+        try {
+            Applied<T> applied = mutation.apply();
+            commitChange(applied.ticket());
+            return CompletableFuture.completedFuture(applied.result());
+        } catch (MemberNotFoundException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    // Wait for a submitted change, throwing what the change threw
+    private static <T> T await(CompletableFuture<T> future) throws MemberNotFoundException {
+        return CommandQueue.await(future, MemberNotFoundException.class);
+    }
+    
+    /**
+     * Copy members on their way to a caller. Published members are shared by
+     * every version and index that holds them, so a caller must never get
+     * one it could change.
+     */
+    private static List<Member> copies(Collection<Member> published) {
+        List<Member> result = new ArrayList<>(published.size());
+        for (Member member : published) {
+            result.add(new Member(member));
+        }
+        return result;
+    }
+    
+    /**
+     * Change one member under its stripe lock. The change is applied to a
+     * copy, which replaces the stored member once it is complete; if the
+     * change throws, the stored member is untouched.
+     * @return The changed member and its store ticket
+     */
+    private Applied<Member> changeMember(int memberId, MemberChange change, StoreWrite write) throws MemberNotFoundException {
+        ReentrantLock lock = locks.lockFor(memberId);
+        lock.lock();
+        try {
+            Member member = members.get().get(memberId);
+            if (member == null) {
+                throw new MemberNotFoundException(memberId);
+            }
+            Member copy = new Member(member);
+            change.apply(copy);
+            String newEmail = Objects.equals(member.getEmail(), copy.getEmail()) ? null : copy.getEmail();
+            String newPhone = Objects.equals(member.getPhoneNumber(), copy.getPhoneNumber()) ? null : copy.getPhoneNumber();
+            members.updateAndGet(current -> {
+                requireUniqueContact(current, memberId, newEmail, newPhone);
+                return current.put(copy);
+            });
+            return new Applied<>(new Member(copy), persistChange(write, copy,
+                () -> members.updateAndGet(current -> current.put(member))));
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * When unique contact details are required, make sure no other member
+     * has the given email address or phone number
+     * @param email Email address being given to the member, or null if unchanged
+     * @param phoneNumber Phone number being given to the member, or null if unchanged
+     * @throws IllegalArgumentException if another member already has either
+     */
+    private void requireUniqueContact(MemberTable table, int memberId, String email, String phoneNumber) {
+        if (!uniqueContactRequired) {
+            return;
+        }
+        if (email != null && table.findByEmail(MemberTable.normalizeEmail(email), memberId) != null) {
+            throw new IllegalArgumentException("A member with email " + email.trim() + " already exists");
+        }
+        if (phoneNumber != null && table.findByPhone(MemberTable.normalizePhone(phoneNumber), memberId) != null) {
+            throw new IllegalArgumentException("A member with phone number " + phoneNumber.trim() + " already exists");
+        }
+    }
+    
+    /**
+     * Remove one member under its stripe lock
+     * @return The removed member and its store ticket
+     */
+    private Applied<Member> remove(int memberId) throws MemberNotFoundException {
+        ReentrantLock lock = locks.lockFor(memberId);
+        lock.lock();
+        try {
+            Member removedMember = members.get().get(memberId);
+            if (removedMember == null) {
+                throw new MemberNotFoundException(memberId);
+            }
+            members.updateAndGet(current -> current.remove(memberId));
+            return new Applied<>(new Member(removedMember), persistChange(removed -> store.memberRemoved(memberId), removedMember,
+                () -> members.updateAndGet(current -> current.put(removedMember))));
+        } finally {
+            lock.unlock();
+        }
     }
     
     /**
@@ -86,12 +435,25 @@ public class MembershipManagement {
      * @param paymentOption Payment method (CASH, CREDIT_CARD, etc.)
      * @param membershipStatus Initial status (ACTIVE, INACTIVE)
      * @return The newly created Member object
-     * @throws IllegalArgumentException if required fields are invalid
+     * @throws IllegalArgumentException if required fields are invalid, or if
+     * unique contact details are required and another member has the email or phone number
      */
     public Member addMember(String firstName, String lastName, String email, 
                            String phoneNumber, MembershipType membershipType,
                            PaymentOption paymentOption, MembershipStatus membershipStatus) {
-        
+        return CommandQueue.await(addMemberAsync(firstName, lastName, email, phoneNumber,
+            membershipType, paymentOption, membershipStatus), RuntimeException.class);
+    }
+    
+    /**
+     * Add a new member without waiting for the change to be applied
+     * @return Future for the newly created Member object
+     * @throws IllegalArgumentException if required fields are invalid
+     * @see #addMember(String, String, String, String, MembershipType, PaymentOption, MembershipStatus)
+     */
+    public CompletableFuture<Member> addMemberAsync(String firstName, String lastName, String email,
+                                                    String phoneNumber, MembershipType membershipType,
+                                                    PaymentOption paymentOption, MembershipStatus membershipStatus) {
         // Validate required fields
         if (firstName == null || firstName.trim().isEmpty()) {
             throw new IllegalArgumentException("First name is required");
@@ -104,26 +466,48 @@ public class MembershipManagement {
             throw new IllegalArgumentException("Either email or phone number must be provided");
         }
         
-        // Create new member with auto-generated ID
-        Member newMember = new Member(
-            nextMemberId++,
-            firstName,
-            lastName,
-            email != null ? email : "",
-            phoneNumber != null ? phoneNumber : "",
-            LocalDate.now(),
-            membershipStatus != null ? membershipStatus : MembershipStatus.ACTIVE,
-            membershipType != null ? membershipType : MembershipType.BASIC,
-            paymentOption != null ? paymentOption : PaymentOption.CASH
-        );
-        
-        // Add to members collection
-        members.put(newMember.getMemberId(), newMember);
-        
-        // Persist data immediately
-        persistData();
-        
-        return newMember;
+        return submit(() -> {
+            // Checked again when the member is published; checking first
+            // avoids using up an ID on a member that will be rejected
+            requireUniqueContact(members.get(), 0, email, phoneNumber);
+            while (true) {
+                long allocation = idAllocator.getAndIncrement();
+                int memberId = (int) allocation;
+                ReentrantLock lock = locks.lockFor(memberId);
+                lock.lock();
+                try {
+                    if ((idAllocator.get() >>> 32) != (allocation >>> 32)) {
+                        // The members were cleared after this ID was handed out
+                        continue;
+                    }
+                    
+                    // Create new member with auto-generated ID
+                    Member newMember = new Member(
+                        memberId,
+                        firstName,
+                        lastName,
+                        email != null ? email : "",
+                        phoneNumber != null ? phoneNumber : "",
+                        LocalDate.now(),
+                        membershipStatus != null ? membershipStatus : MembershipStatus.ACTIVE,
+                        membershipType != null ? membershipType : MembershipType.BASIC,
+                        paymentOption != null ? paymentOption : PaymentOption.CASH
+                    );
+                    
+                    // Add to members collection
+                    members.updateAndGet(current -> {
+                        requireUniqueContact(current, 0, email, phoneNumber);
+                        return current.put(newMember);
+                    });
+                    
+                    // Persist data immediately
+                    return new Applied<>(new Member(newMember), persistChange(store::memberAdded, newMember,
+                        () -> members.updateAndGet(current -> current.remove(memberId))));
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
     }
     
     /**
@@ -164,36 +548,43 @@ public class MembershipManagement {
     public Member updateMember(int memberId, String firstName, String lastName, 
                               String email, String phoneNumber, MembershipType membershipType,
                               PaymentOption paymentOption, MembershipStatus membershipStatus) throws MemberNotFoundException {
-        
-        Member member = members.get(memberId);
-        if (member == null) {
-            throw new MemberNotFoundException(memberId);
-        }
-        
-        // Update fields if new values are provided
-        if (firstName != null && !firstName.trim().isEmpty()) {
-            member.setFirstName(firstName);
-        }
-        if (lastName != null && !lastName.trim().isEmpty()) {
-            member.setLastName(lastName);
-        }
-        if (email != null) {
-            member.setEmail(email);
-        }
-        if (phoneNumber != null) {
-            member.setPhoneNumber(phoneNumber);
-        }
-        if (membershipType != null) {
-            member.setMembershipType(membershipType);
-        }
-        if (paymentOption != null) {
-            member.setPaymentOption(paymentOption);
-        }
-        if (membershipStatus != null) {
-            member.setMembershipStatus(membershipStatus);
-        }
-        
-        return member;
+        return await(updateMemberAsync(memberId, firstName, lastName, email, phoneNumber,
+            membershipType, paymentOption, membershipStatus));
+    }
+    
+    /**
+     * Update an existing member's details without waiting for the change
+     * @return Future for the updated Member object; fails with
+     * MemberNotFoundException if member with given ID is not found
+     * @see #updateMember(int, String, String, String, String, MembershipType, PaymentOption, MembershipStatus)
+     */
+    public CompletableFuture<Member> updateMemberAsync(int memberId, String firstName, String lastName,
+                                                       String email, String phoneNumber, MembershipType membershipType,
+                                                       PaymentOption paymentOption, MembershipStatus membershipStatus) {
+        return submit(() -> changeMember(memberId, member -> {
+            // Update fields if new values are provided
+            if (firstName != null && !firstName.trim().isEmpty()) {
+                member.setFirstName(firstName);
+            }
+            if (lastName != null && !lastName.trim().isEmpty()) {
+                member.setLastName(lastName);
+            }
+            if (email != null) {
+                member.setEmail(email);
+            }
+            if (phoneNumber != null) {
+                member.setPhoneNumber(phoneNumber);
+            }
+            if (membershipType != null) {
+                member.setMembershipType(membershipType);
+            }
+            if (paymentOption != null) {
+                member.setPaymentOption(paymentOption);
+            }
+            if (membershipStatus != null) {
+                member.setMembershipStatus(membershipStatus);
+            }
+        }, store::memberUpdated));
     }
     
     /**
@@ -203,11 +594,16 @@ public class MembershipManagement {
      * @throws MemberNotFoundException if member with given ID is not found
      */
     public Member removeMember(int memberId) throws MemberNotFoundException {
-        Member removedMember = members.remove(memberId);
-        if (removedMember == null) {
-            throw new MemberNotFoundException(memberId);
-        }
-        return removedMember;
+        return await(removeMemberAsync(memberId));
+    }
+    
+    /**
+     * Remove a member without waiting for the change
+     * @param memberId ID of the member to remove
+     * @return Future for the removed Member object
+     */
+    public CompletableFuture<Member> removeMemberAsync(int memberId) {
+        return submit(() -> remove(memberId));
     }
     
     /**
@@ -217,11 +613,45 @@ public class MembershipManagement {
      * @throws MemberNotFoundException if member with given ID is not found
      */
     public Member findMemberById(int memberId) throws MemberNotFoundException {
-        Member member = members.get(memberId);
+        ensureLoaded();
+        Member member = members.get().get(memberId);
         if (member == null) {
             throw new MemberNotFoundException(memberId);
         }
-        return member;
+        return new Member(member);
+    }
+    
+    /**
+     * Find a member by email address, ignoring case and surrounding spaces
+     * @param email Email address to look up
+     * @return The member with the address; the one with the lowest ID if
+     * several members share it
+     * @throws MemberNotFoundException if no member has the address
+     */
+    public Member findMemberByEmail(String email) throws MemberNotFoundException {
+        ensureLoaded();
+        Member member = members.get().findByEmail(MemberTable.normalizeEmail(email), 0);
+        if (member == null) {
+            throw new MemberNotFoundException("Member with email " + email + " not found");
+        }
+        return new Member(member);
+    }
+    
+    /**
+     * Find a member by phone number, comparing only the digits so any
+     * formatting of the number matches
+     * @param phoneNumber Phone number to look up
+     * @return The member with the number; the one with the lowest ID if
+     * several members share it
+     * @throws MemberNotFoundException if no member has the number
+     */
+    public Member findMemberByPhone(String phoneNumber) throws MemberNotFoundException {
+        ensureLoaded();
+        Member member = members.get().findByPhone(MemberTable.normalizePhone(phoneNumber), 0);
+        if (member == null) {
+            throw new MemberNotFoundException("Member with phone number " + phoneNumber + " not found");
+        }
+        return new Member(member);
     }
     
     /**
@@ -230,21 +660,50 @@ public class MembershipManagement {
      * @return List of members matching the search criteria
      */
     public List<Member> findMembersByName(String name) {
-        List<Member> results = new ArrayList<>();
+        ensureLoaded();
         if (name == null || name.trim().isEmpty()) {
-            return results;
+            return new ArrayList<>();
         }
         
+        // The full name contains the first and last names, so the name index
+        // covers matches on either as well as on the two together
         String searchTerm = name.toLowerCase().trim();
-        for (Member member : members.values()) {
-            if (member.getFirstName().toLowerCase().contains(searchTerm) ||
-                member.getLastName().toLowerCase().contains(searchTerm) ||
-                member.getFullName().toLowerCase().contains(searchTerm)) {
-                results.add(member);
-            }
+        return copies(members.get().findByName(searchTerm));
+    }
+    
+    /**
+     * Find members by a name that may be misspelt, such as "Jon Smtih" for
+     * John Smith. Each word of the name must be within a few edits of a word
+     * of the member's name: none for one or two letters, one up to four
+     * letters and two for longer words. Words may be given in any order.
+     * @param name Name or partial name to search for
+     * @return Matching members, closest spelling first and then in ID order
+     */
+    public List<Member> findMembersByNameFuzzy(String name) {
+        ensureLoaded();
+        if (name == null || name.trim().isEmpty()) {
+            return new ArrayList<>();
         }
-        
-        return results;
+        return copies(members.get().findByNameFuzzy(name, -1));
+    }
+    
+    /**
+     * Find members by a name that may be misspelt, allowing the same number
+     * of edits for every word
+     * @param name Name or partial name to search for
+     * @param maxDistance Most single character insertions, deletions and
+     * substitutions allowed for each word
+     * @return Matching members, closest spelling first and then in ID order
+     */
+    public List<Member> findMembersByNameFuzzy(String name, int maxDistance) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("Distance cannot be negative");
+        }
+        ensureLoaded();
+        if (name == null || name.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return copies(members.get().findByNameFuzzy(name, maxDistance));
     }
     
     /**
@@ -252,7 +711,28 @@ public class MembershipManagement {
      * @return List of all members
      */
     public List<Member> getAllMembers() {
-        return new ArrayList<>(members.values());
+        ensureLoaded();
+        return copies(members.get().values());
+    }
+    
+    /**
+     * Get one page of members in ID order without copying the others. Pages
+     * are read from the published version of the members, so a page is never
+     * torn by a concurrent change.
+     * @param afterId Return members with a higher ID; 0 for the first page,
+     * then the previous page's {@link Page#nextAfter()}
+     * @param limit Most members on the page
+     * @param filter Filter the members must match, or null for every member
+     * @return The page of members
+     * @throws IllegalArgumentException if limit is less than 1
+     */
+    public Page<Member> pageMembers(int afterId, int limit, MemberFilter filter) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        ensureLoaded();
+        Page<Member> page = members.get().page(Math.max(afterId, 0), limit, filter);
+        return new Page<>(copies(page.items()), page.nextAfter(), page.hasMore());
     }
     
     /**
@@ -260,13 +740,7 @@ public class MembershipManagement {
      * @return List of active members
      */
     public List<Member> getActiveMembers() {
-        List<Member> activeMembers = new ArrayList<>();
-        for (Member member : members.values()) {
-            if (member.getMembershipStatus() == MembershipStatus.ACTIVE) {
-                activeMembers.add(member);
-            }
-        }
-        return activeMembers;
+        return getMembersByStatus(MembershipStatus.ACTIVE);
     }
     
     /**
@@ -274,13 +748,116 @@ public class MembershipManagement {
      * @return List of inactive members
      */
     public List<Member> getInactiveMembers() {
-        List<Member> inactiveMembers = new ArrayList<>();
-        for (Member member : members.values()) {
-            if (member.getMembershipStatus() == MembershipStatus.INACTIVE) {
-                inactiveMembers.add(member);
+        return getMembersByStatus(MembershipStatus.INACTIVE);
+    }
+    
+    /**
+     * Get all expired members
+     * @return List of expired members
+     */
+    public List<Member> getExpiredMembers() {
+        return getMembersByStatus(MembershipStatus.EXPIRED);
+    }
+    
+    /**
+     * Get all members with the given status. A store with its own status
+     * index, such as the database, answers the query; otherwise it is read
+     * from the status index of the published members.
+     * @param status Membership status to look for
+     * @return List of matching members, in ID order
+     */
+    public List<Member> getMembersByStatus(MembershipStatus status) {
+        ensureLoaded();
+        List<Member> indexed = findByStatusInStore(status);
+        if (indexed != null) {
+            return indexed;
+        }
+        return copies(members.get().withStatus(status));
+    }
+    
+    /**
+     * Let the store answer a status query from its own index. The members
+     * still come from the published version and are checked again, in case
+     * they changed after the query ran.
+     * @return Matching members in ID order, or null if the store has no such index
+     */
+    private List<Member> findByStatusInStore(MembershipStatus status) {
+        List<Integer> ids;
+        try {
+            ids = store.findIdsByStatus(status);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not query member store: " + e.getMessage());
+            return null;
+        }
+        if (ids == null) {
+            return null;
+        }
+        MemberTable table = members.get();
+        List<Member> result = new ArrayList<>(ids.size());
+        for (int id : ids.stream().sorted().toList()) {
+            Member member = table.get(id);
+            if (member != null && member.getMembershipStatus() == status) {
+                result.add(new Member(member));
             }
         }
-        return inactiveMembers;
+        return result;
+    }
+    
+    /**
+     * Get the number of members with the given status without listing them
+     * @param status Membership status to count
+     * @return Number of matching members
+     */
+    public int getMemberCountByStatus(MembershipStatus status) {
+        ensureLoaded();
+        return members.get().countWithStatus(status);
+    }
+    
+    /**
+     * Count the members that match a filter, such as active premium members
+     * paying by credit card. The filter is evaluated on bitmaps of member
+     * IDs, so no member is looked at.
+     * @param filter Combination of statuses, types and payment details
+     * @return Number of matching members
+     */
+    public int countMembers(MemberFilter filter) {
+        ensureLoaded();
+        return members.get().countMatching(filter);
+    }
+    
+    /**
+     * Get the members that match a filter
+     * @param filter Combination of statuses, types and payment details
+     * @return List of matching members, in ID order
+     */
+    public List<Member> findMembers(MemberFilter filter) {
+        ensureLoaded();
+        return copies(members.get().findMatching(filter));
+    }
+    
+    /**
+     * Find the members that meet every criterion of a query. The query is
+     * answered from the most selective index that covers one of its
+     * criteria; see {@link #explain(MemberQuery)}.
+     * @param query Criteria to match
+     * @return List of matching members, in ID order
+     */
+    public List<Member> query(MemberQuery query) {
+        ensureLoaded();
+        MemberTable table = members.get();
+        return copies(table.plan(query, LocalDate.now()).execute(table));
+    }
+    
+    /**
+     * Describe how {@link #query(MemberQuery)} would answer a query right now:
+     * which index produces the candidates, which other indexes are checked
+     * and which criteria are checked on each member
+     * @param query Criteria to match
+     * @return One line per step of the plan
+     */
+    public String explain(MemberQuery query) {
+        ensureLoaded();
+        return members.get().plan(query, LocalDate.now()).explain();
     }
     
     /**
@@ -288,7 +865,21 @@ public class MembershipManagement {
      * @return Total count of members
      */
     public int getTotalMemberCount() {
-        return members.size();
+        ensureLoaded();
+        return members.get().size();
+    }
+    
+    /**
+     * Get the member counts by status, membership type, payment option and
+     * payment status, with the total and the overdue count. The counts are
+     * kept up to date by every change and the snapshot is built once per
+     * version of the members, so polling it between changes reads a cached
+     * object.
+     * @return Counts that all describe the same moment
+     */
+    public MemberStatistics getStatistics() {
+        ensureLoaded();
+        return members.get().statistics(LocalDate.now());
     }
     
     /**
@@ -298,12 +889,16 @@ public class MembershipManagement {
      * @throws MemberNotFoundException if member with given ID is not found
      */
     public Member activateMember(int memberId) throws MemberNotFoundException {
-        Member member = members.get(memberId);
-        if (member == null) {
-            throw new MemberNotFoundException(memberId);
-        }
-        member.activate();
-        return member;
+        return await(activateMemberAsync(memberId));
+    }
+    
+    /**
+     * Activate a member's membership without waiting for the change
+     * @param memberId ID of the member to activate
+     * @return Future for the activated Member object
+     */
+    public CompletableFuture<Member> activateMemberAsync(int memberId) {
+        return submit(() -> changeMember(memberId, Member::activate, store::statusChanged));
     }
 
     /**
@@ -313,13 +908,7 @@ public class MembershipManagement {
  * @throws MemberNotFoundException if the member with the given ID is not found
  */
 public Member deleteMember(int memberId) throws MemberNotFoundException {
-    Member memberToDelete = members.get(memberId);
-    if (memberToDelete == null) {
-        throw new MemberNotFoundException(memberId);
-    }
-    
-    members.remove(memberId);
-    return memberToDelete;
+    return await(submit(() -> remove(memberId)));
 }
 
     
@@ -330,32 +919,53 @@ public Member deleteMember(int memberId) throws MemberNotFoundException {
      * @throws MemberNotFoundException if member with given ID is not found
      */
     public Member deactivateMember(int memberId) throws MemberNotFoundException {
-        Member member = members.get(memberId);
-        if (member == null) {
-            throw new MemberNotFoundException(memberId);
-        }
-        member.deactivate();
-        return member;
+        return await(deactivateMemberAsync(memberId));
+    }
+    
+    /**
+     * Deactivate a member's membership without waiting for the change
+     * @param memberId ID of the member to deactivate
+     * @return Future for the deactivated Member object
+     */
+    public CompletableFuture<Member> deactivateMemberAsync(int memberId) {
+        return submit(() -> changeMember(memberId, Member::deactivate, store::statusChanged));
     }
 
    
     public java.util.List<Member> listAllMembers() {
-        return new java.util.ArrayList<>(members.values());
+        ensureLoaded();
+        return copies(members.get().values());
     }
     /**
      * Check if the system contains any members
      * @return True if there are no members, false otherwise
      */
     public boolean isEmpty() {
-        return members.isEmpty();
+        ensureLoaded();
+        return members.get().isEmpty();
     }
     
     /**
      * Clear all members from the system (use with caution)
      */
     public void clearAllMembers() {
-        members.clear();
-        nextMemberId = 1;
+        CommandQueue.await(submit(() -> {
+            locks.lockAll();
+            try {
+                MemberTable cleared = members.getAndSet(MemberTable.EMPTY);
+                long allocation = idAllocator.get();
+                // Start a new generation at ID 1
+                idAllocator.set(((allocation >>> 32) + 1) << 32 | 1);
+                return new Applied<>(null, persistChange(none -> store.membersCleared(), null, () -> {
+                    members.set(cleared);
+                    // Back to the old next ID, but in yet another generation, so an
+                    // ID handed out while the members were cleared is still thrown away
+                    idAllocator.set(((idAllocator.get() >>> 32) + 1) << 32 | (allocation & 0xFFFFFFFFL));
+                }));
+            } finally {
+                locks.unlockAll();
+            }
+        }), RuntimeException.class);
     }
     
     
@@ -365,13 +975,10 @@ public Member deleteMember(int memberId) throws MemberNotFoundException {
      * @return List of members who have overdue payments
      */
     public List<Member> getMembersWithOverduePayments() {
-        List<Member> overdueMembers = new ArrayList<>();
-        for (Member member : members.values()) {
-            if (member.isPaymentOverdue()) {
-                overdueMembers.add(member);
-            }
-        }
-        return overdueMembers;
+        ensureLoaded();
+        // Read from the payment index: the members marked overdue plus those
+        // whose last payment is older than the billing period
+        return copies(members.get().overdueOn(LocalDate.now()));
     }
     
     /**
@@ -381,12 +988,17 @@ public Member deleteMember(int memberId) throws MemberNotFoundException {
      * @throws MemberNotFoundException if member with given ID is not found
      */
     public Member recordMemberPayment(int memberId) throws MemberNotFoundException {
-        Member member = members.get(memberId);
-        if (member == null) {
-            throw new MemberNotFoundException(memberId);
-        }
-        member.recordPayment();
-        return member;
+        return await(recordMemberPaymentAsync(memberId));
+    }
+    
+    /**
+     * Record a payment without waiting for the change. Submitting a run of
+     * payments before waiting lets queued writes share one disk flush.
+     * @param memberId ID of the member making the payment
+     * @return Future for the Member object with updated payment
+     */
+    public CompletableFuture<Member> recordMemberPaymentAsync(int memberId) {
+        return submit(() -> changeMember(memberId, Member::recordPayment, store::paymentChanged));
     }
     
     /**
@@ -396,12 +1008,16 @@ public Member deleteMember(int memberId) throws MemberNotFoundException {
      * @throws MemberNotFoundException if member with given ID is not found
      */
     public Member markMemberPaymentOverdue(int memberId) throws MemberNotFoundException {
-        Member member = members.get(memberId);
-        if (member == null) {
-            throw new MemberNotFoundException(memberId);
-        }
-        member.markPaymentOverdue();
-        return member;
+        return await(markMemberPaymentOverdueAsync(memberId));
+    }
+    
+    /**
+     * Mark a member's payment as overdue without waiting for the change
+     * @param memberId ID of the member whose payment is overdue
+     * @return Future for the Member object with updated payment status
+     */
+    public CompletableFuture<Member> markMemberPaymentOverdueAsync(int memberId) {
+        return submit(() -> changeMember(memberId, Member::markPaymentOverdue, store::paymentChanged));
     }
     
     /**
@@ -409,12 +1025,58 @@ public Member deleteMember(int memberId) throws MemberNotFoundException {
      * @return Number of members with overdue payments
      */
     public int getOverduePaymentCount() {
-        int count = 0;
-        for (Member member : members.values()) {
-            if (member.isPaymentOverdue()) {
-                count++;
-            }
+        ensureLoaded();
+        return members.get().countOverdueOn(LocalDate.now());
+    }
+    
+    /**
+     * Get the members who joined between two dates, read from the joining
+     * date index
+     * @param from First joining date, inclusive, or null for no lower bound
+     * @param to Last joining date, inclusive, or null for no upper bound
+     * @return Members in the range, ordered by joining date and then by ID
+     */
+    public List<Member> getMembersJoinedBetween(LocalDate from, LocalDate to) {
+        ensureLoaded();
+        return copies(members.get().joinedBetween(from, to));
+    }
+    
+    /**
+     * Count the members who joined between two dates without reading them
+     * @param from First joining date, inclusive, or null for no lower bound
+     * @param to Last joining date, inclusive, or null for no upper bound
+     * @return Number of members in the range
+     */
+    public int countMembersJoinedBetween(LocalDate from, LocalDate to) {
+        ensureLoaded();
+        return members.get().countJoinedBetween(from, to);
+    }
+    
+    /**
+     * Get the members with at least the given whole years of membership
+     * @param years Minimum years of membership
+     * @return Members who joined on or before that many years ago, ordered by joining date
+     */
+    public List<Member> getMembersWithTenureOfAtLeast(int years) {
+        if (years < 0) {
+            throw new IllegalArgumentException("Years cannot be negative");
+        }
+        return getMembersJoinedBetween(null, LocalDate.now().minusYears(years));
+    }
+    
+    /**
+     * Count members by whole years of membership, as
+     * {@link Member#getYearsOfMembership()} counts them, from the joining date index
+     * @return Number of members for each year of tenure, from 0 up to the
+     * longest tenure, including years with no members
+     */
+    public Map<Integer, Integer> getTenureHistogram() {
+        ensureLoaded();
+        int[] counts = members.get().tenureHistogram(LocalDate.now());
+        Map<Integer, Integer> histogram = new TreeMap<>();
+        for (int years = 0; years < counts.length; years++) {
+            histogram.put(years, counts[years]);
         }
-        return count;
+        return histogram;
     }
 }
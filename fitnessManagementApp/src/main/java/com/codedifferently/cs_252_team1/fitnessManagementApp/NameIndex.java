@@ -0,0 +1,158 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable n-gram index over lower-cased member names, kept as part of each
+ * {@link MemberTable} version.
+ *
+ * Every one, two and three character piece of a name is mapped to the IDs of
+ * the members whose name contains it. A search for a term of up to three
+ * characters reads one posting list; a longer term reads the lists for each
+ * of its three character pieces and walks the shortest one, checking the
+ * others. Pieces are keyed by a hash, so two pieces can share a list; every
+ * candidate is therefore checked against the stored name before it is
+ * returned, which also rules out pieces that are present but not adjacent.
+ */
+final class NameIndex {
+    static final NameIndex EMPTY = new NameIndex(PersistentIntMap.empty(), PersistentIntMap.empty());
+
+    private static final int GRAM = 3;
+
+    private final PersistentIntMap<String> names;
+    private final PersistentIntMap<PersistentIntMap<Integer>> postings;
+
+    private NameIndex(PersistentIntMap<String> names, PersistentIntMap<PersistentIntMap<Integer>> postings) {
+        this.names = names;
+        this.postings = postings;
+    }
+
+    /**
+     * Index a member's name, replacing the name indexed for the ID before
+     * @param name Name to search in; lower-cased here
+     */
+    NameIndex put(int id, String name) {
+        String normalized = name.toLowerCase();
+        String previous = names.get(id);
+        if (normalized.equals(previous)) {
+            return this;
+        }
+        PersistentIntMap<PersistentIntMap<Integer>> updated = postings;
+        if (previous != null) {
+            updated = removeGrams(updated, id, previous);
+        }
+        Integer boxedId = id;
+        for (int length = 1; length <= GRAM; length++) {
+            for (int start = 0; start + length <= normalized.length(); start++) {
+                int code = gramCode(normalized, start, length);
+                PersistentIntMap<Integer> ids = updated.get(code);
+                updated = updated.put(code, (ids != null ? ids : PersistentIntMap.<Integer>empty()).put(id, boxedId));
+            }
+        }
+        return new NameIndex(names.put(id, normalized), updated);
+    }
+
+    NameIndex remove(int id) {
+        String previous = names.get(id);
+        if (previous == null) {
+            return this;
+        }
+        return new NameIndex(names.remove(id), removeGrams(postings, id, previous));
+    }
+
+    /**
+     * @param term Lower-cased, non-empty search term
+     * @return IDs of the members whose name contains the term, in ID order
+     */
+    List<Integer> find(String term) {
+        List<PersistentIntMap<Integer>> lists = new ArrayList<>();
+        if (term.length() <= GRAM) {
+            lists.add(postings.get(gramCode(term, 0, term.length())));
+        } else {
+            for (int start = 0; start + GRAM <= term.length(); start++) {
+                lists.add(postings.get(gramCode(term, start, GRAM)));
+            }
+        }
+
+        PersistentIntMap<Integer> shortest = null;
+        for (PersistentIntMap<Integer> ids : lists) {
+            if (ids == null) {
+                // Some piece of the term is in no name at all
+                return List.of();
+            }
+            if (shortest == null || ids.size() < shortest.size()) {
+                shortest = ids;
+            }
+        }
+
+        List<Integer> result = new ArrayList<>();
+        for (Integer id : shortest.values()) {
+            if (inAll(lists, id) && names.get(id).contains(term)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param term Lower-cased, non-empty search term
+     * @return Most IDs {@link #find} can return for the term: the length of
+     * its shortest posting list
+     */
+    int estimate(String term) {
+        if (term.length() <= GRAM) {
+            PersistentIntMap<Integer> ids = postings.get(gramCode(term, 0, term.length()));
+            return ids != null ? ids.size() : 0;
+        }
+        int shortest = Integer.MAX_VALUE;
+        for (int start = 0; start + GRAM <= term.length(); start++) {
+            PersistentIntMap<Integer> ids = postings.get(gramCode(term, start, GRAM));
+            shortest = Math.min(shortest, ids != null ? ids.size() : 0);
+        }
+        return shortest;
+    }
+
+    /**
+     * @param term Lower-cased, non-empty search term
+     * @return Whether the name indexed for the ID contains the term
+     */
+    boolean matches(int id, String term) {
+        String name = names.get(id);
+        return name != null && name.contains(term);
+    }
+
+    private static boolean inAll(List<PersistentIntMap<Integer>> lists, int id) {
+        for (PersistentIntMap<Integer> ids : lists) {
+            if (!ids.containsKey(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static PersistentIntMap<PersistentIntMap<Integer>> removeGrams(
+            PersistentIntMap<PersistentIntMap<Integer>> postings, int id, String name) {
+        for (int length = 1; length <= GRAM; length++) {
+            for (int start = 0; start + length <= name.length(); start++) {
+                int code = gramCode(name, start, length);
+                PersistentIntMap<Integer> ids = postings.get(code);
+                if (ids == null || !ids.containsKey(id)) {
+                    // A piece that occurs twice in the name was already removed
+                    continue;
+                }
+                PersistentIntMap<Integer> remaining = ids.remove(id);
+                postings = remaining.isEmpty() ? postings.remove(code) : postings.put(code, remaining);
+            }
+        }
+        return postings;
+    }
+
+    private static int gramCode(String text, int start, int length) {
+        int code = length;
+        for (int i = start; i < start + length; i++) {
+            code = code * 65599 + text.charAt(i);
+        }
+        return code;
+    }
+}
@@ -0,0 +1,17 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.List;
+
+/**
+ * One page of a listing in ID order. To read the next page, pass
+ * {@code nextAfter} as the {@code afterId} of the next call; it stays valid
+ * however the records change in between, since it names a position in ID
+ * order rather than an offset.
+ *
+ * @param items The records on this page
+ * @param nextAfter ID of the last record on this page, or the {@code afterId}
+ * asked for if the page is empty
+ * @param hasMore Whether any matching record comes after this page
+ */
+public record Page<T>(List<T> items, int nextAfter, boolean hasMore) {
+}
@@ -0,0 +1,101 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * Immutable set of non-negative int IDs, stored as a bitmap split into chunks
+ * of 1024 bits. Only chunks with at least one bit set are kept, in a
+ * {@link PersistentIntMap} keyed by chunk number, so sparse or clustered IDs
+ * take little room and a change copies one chunk of sixteen words plus the
+ * trie nodes above it.
+ *
+ * Set operations work a chunk at a time on whole 64-bit words; the words of a
+ * chunk must never be modified once the chunk is published.
+ */
+final class PersistentBitmap {
+    static final int CHUNK_BITS = 10;
+    static final int WORDS = (1 << CHUNK_BITS) / Long.SIZE;
+
+    static final PersistentBitmap EMPTY = new PersistentBitmap(PersistentIntMap.empty(), 0);
+
+    private final PersistentIntMap<Chunk> chunks;
+    private final int cardinality;
+
+    /**
+     * The IDs from {@code key << CHUNK_BITS} up to the next chunk
+     */
+    record Chunk(int key, long[] words) {
+    }
+
+    private PersistentBitmap(PersistentIntMap<Chunk> chunks, int cardinality) {
+        this.chunks = chunks;
+        this.cardinality = cardinality;
+    }
+
+    boolean contains(int id) {
+        Chunk chunk = chunks.get(id >>> CHUNK_BITS);
+        return chunk != null && (chunk.words()[wordOf(id)] & bitOf(id)) != 0;
+    }
+
+    PersistentBitmap add(int id) {
+        if (contains(id)) {
+            return this;
+        }
+        int key = id >>> CHUNK_BITS;
+        Chunk chunk = chunks.get(key);
+        long[] words = chunk != null ? chunk.words().clone() : new long[WORDS];
+        words[wordOf(id)] |= bitOf(id);
+        return new PersistentBitmap(chunks.put(key, new Chunk(key, words)), cardinality + 1);
+    }
+
+    PersistentBitmap remove(int id) {
+        if (!contains(id)) {
+            return this;
+        }
+        int key = id >>> CHUNK_BITS;
+        long[] words = chunks.get(key).words().clone();
+        words[wordOf(id)] &= ~bitOf(id);
+        for (long word : words) {
+            if (word != 0) {
+                return new PersistentBitmap(chunks.put(key, new Chunk(key, words)), cardinality - 1);
+            }
+        }
+        return new PersistentBitmap(chunks.remove(key), cardinality - 1);
+    }
+
+    int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * @return The words of a chunk, or null if no ID in it is set
+     */
+    long[] words(int key) {
+        Chunk chunk = chunks.get(key);
+        return chunk != null ? chunk.words() : null;
+    }
+
+    /**
+     * @return The non-empty chunks, in key order
+     */
+    Collection<Chunk> chunks() {
+        return chunks.values();
+    }
+
+    /**
+     * Visit the non-empty chunks from the given chunk on, in key order,
+     * until the visitor returns false
+     */
+    void chunksFrom(int key, Predicate<Chunk> visitor) {
+        chunks.visitRange(key, Integer.MAX_VALUE, visitor);
+    }
+
+    private static int wordOf(int id) {
+        return (id >>> 6) & (WORDS - 1);
+    }
+
+    private static long bitOf(int id) {
+        return 1L << id;
+    }
+}
@@ -0,0 +1,306 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Immutable map from int keys to values, stored as a 32-way trie over the
+ * key bits. {@link #put} and {@link #remove} return a new map that shares
+ * every untouched branch with the old one, so a change copies at most seven
+ * small nodes instead of the whole map. A reader holding a map keeps seeing
+ * exactly that version, however many changes are published after it.
+ *
+ * Values are iterated in ascending key order, comparing keys as unsigned
+ * ints, which is plain ascending order for keys that are not negative. Null
+ * values are not allowed.
+ */
+final class PersistentIntMap<V> {
+    private static final int BITS = 5;
+    private static final int TOP_SHIFT = 30;
+    private static final int LEVELS = TOP_SHIFT / BITS + 1;
+
+    private static final Node EMPTY_NODE = new Node(0, new Object[0]);
+    private static final PersistentIntMap<?> EMPTY = new PersistentIntMap<>(EMPTY_NODE, 0);
+
+    private final Node root;
+    private final int size;
+
+    // Bitmap of the occupied branches; slots holds them in bit order. On the
+    // last level the slots are the values themselves.
+    private static final class Node {
+        final int bitmap;
+        final Object[] slots;
+
+        Node(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+    }
+
+    private PersistentIntMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> PersistentIntMap<V> empty() {
+        return (PersistentIntMap<V>) EMPTY;
+    }
+
+    static <V> PersistentIntMap<V> copyOf(Map<Integer, V> map) {
+        PersistentIntMap<V> result = empty();
+        for (Map.Entry<Integer, V> entry : map.entrySet()) {
+            result = result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        Node node = root;
+        for (int shift = TOP_SHIFT; ; shift -= BITS) {
+            int bit = bitFor(key, shift);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = node.slots[indexOf(node, bit)];
+            if (shift == 0) {
+                return (V) slot;
+            }
+            node = (Node) slot;
+        }
+    }
+
+    boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    PersistentIntMap<V> put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        int newSize = containsKey(key) ? size : size + 1;
+        return new PersistentIntMap<>(put(root, TOP_SHIFT, key, value), newSize);
+    }
+
+    PersistentIntMap<V> remove(int key) {
+        if (!containsKey(key)) {
+            return this;
+        }
+        Node newRoot = remove(root, TOP_SHIFT, key);
+        return new PersistentIntMap<>(newRoot != null ? newRoot : EMPTY_NODE, size - 1);
+    }
+
+    /**
+     * @return Read-only view of the values in this version
+     */
+    Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new ValueIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Visit the values whose keys lie between the two keys, in key order.
+     * Only the branches that overlap the range are walked. Keys are compared
+     * as unsigned ints.
+     * @param fromKey Lowest key to visit
+     * @param toKey Highest key to visit
+     */
+    void forEachInRange(int fromKey, int toKey, Consumer<? super V> action) {
+        visitRange(fromKey, toKey, value -> {
+            action.accept(value);
+            return true;
+        });
+    }
+
+    /**
+     * Like {@link #forEachInRange}, stopping as soon as the visitor returns false
+     * @return False if the visitor stopped the walk
+     */
+    boolean visitRange(int fromKey, int toKey, Predicate<? super V> visitor) {
+        return Integer.compareUnsigned(fromKey, toKey) > 0
+            || visitRange(root, TOP_SHIFT, 0, fromKey, toKey, visitor);
+    }
+
+    /**
+     * Like {@link #visitRange}, visiting the values from the highest key down
+     * @return False if the visitor stopped the walk
+     */
+    boolean visitRangeDescending(int fromKey, int toKey, Predicate<? super V> visitor) {
+        return Integer.compareUnsigned(fromKey, toKey) > 0
+            || visitRangeDescending(root, TOP_SHIFT, 0, fromKey, toKey, visitor);
+    }
+
+    // Returns false once the visitor has asked to stop
+    @SuppressWarnings("unchecked")
+    private static <V> boolean visitRange(Node node, int shift, int prefix, int fromKey, int toKey,
+                                          Predicate<? super V> visitor) {
+        int index = 0;
+        for (int branch = 0; branch < 32; branch++) {
+            if ((node.bitmap & (1 << branch)) == 0) {
+                continue;
+            }
+            Object slot = node.slots[index++];
+            int low = prefix | branch << shift;
+            int high = shift == 0 ? low : low | ((1 << shift) - 1);
+            if (Integer.compareUnsigned(high, fromKey) < 0) {
+                continue;
+            }
+            if (Integer.compareUnsigned(low, toKey) > 0) {
+                return true;
+            }
+            boolean more = shift == 0
+                ? visitor.test((V) slot)
+                : visitRange((Node) slot, shift - BITS, low, fromKey, toKey, visitor);
+            if (!more) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> boolean visitRangeDescending(Node node, int shift, int prefix, int fromKey, int toKey,
+                                                    Predicate<? super V> visitor) {
+        int index = node.slots.length;
+        for (int branch = 31; branch >= 0; branch--) {
+            if ((node.bitmap & (1 << branch)) == 0) {
+                continue;
+            }
+            Object slot = node.slots[--index];
+            int low = prefix | branch << shift;
+            int high = shift == 0 ? low : low | ((1 << shift) - 1);
+            if (Integer.compareUnsigned(low, toKey) > 0) {
+                continue;
+            }
+            if (Integer.compareUnsigned(high, fromKey) < 0) {
+                return true;
+            }
+            boolean more = shift == 0
+                ? visitor.test((V) slot)
+                : visitRangeDescending((Node) slot, shift - BITS, low, fromKey, toKey, visitor);
+            if (!more) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int bitFor(int key, int shift) {
+        return 1 << ((key >>> shift) & 31);
+    }
+
+    private static int indexOf(Node node, int bit) {
+        return Integer.bitCount(node.bitmap & (bit - 1));
+    }
+
+    private static Node put(Node node, int shift, int key, Object value) {
+        int bit = bitFor(key, shift);
+        int index = indexOf(node, bit);
+        boolean present = (node.bitmap & bit) != 0;
+        Object child = shift == 0
+            ? value
+            : put(present ? (Node) node.slots[index] : EMPTY_NODE, shift - BITS, key, value);
+
+        if (present) {
+            Object[] slots = node.slots.clone();
+            slots[index] = child;
+            return new Node(node.bitmap, slots);
+        }
+        Object[] slots = new Object[node.slots.length + 1];
+        System.arraycopy(node.slots, 0, slots, 0, index);
+        slots[index] = child;
+        System.arraycopy(node.slots, index, slots, index + 1, node.slots.length - index);
+        return new Node(node.bitmap | bit, slots);
+    }
+
+    // Only called for keys that are present; returns null once a node is empty
+    private static Node remove(Node node, int shift, int key) {
+        int bit = bitFor(key, shift);
+        int index = indexOf(node, bit);
+        Node child = shift == 0 ? null : remove((Node) node.slots[index], shift - BITS, key);
+
+        if (child != null) {
+            Object[] slots = node.slots.clone();
+            slots[index] = child;
+            return new Node(node.bitmap, slots);
+        }
+        if (node.slots.length == 1) {
+            return null;
+        }
+        Object[] slots = new Object[node.slots.length - 1];
+        System.arraycopy(node.slots, 0, slots, 0, index);
+        System.arraycopy(node.slots, index + 1, slots, index, slots.length - index);
+        return new Node(node.bitmap & ~bit, slots);
+    }
+
+    // Depth-first walk with one (node, position) pair per level
+    private static final class ValueIterator<V> implements Iterator<V> {
+        private final Node[] nodes = new Node[LEVELS];
+        private final int[] positions = new int[LEVELS];
+        private int depth;
+
+        ValueIterator(Node root) {
+            nodes[0] = root;
+            depth = 0;
+            advance();
+        }
+
+        // Move down to the next value, or set depth to -1 at the end
+        private void advance() {
+            while (depth >= 0) {
+                if (positions[depth] == nodes[depth].slots.length) {
+                    depth--;
+                    if (depth >= 0) {
+                        positions[depth]++;
+                    }
+                } else if (depth == LEVELS - 1) {
+                    return;
+                } else {
+                    nodes[depth + 1] = (Node) nodes[depth].slots[positions[depth]];
+                    positions[depth + 1] = 0;
+                    depth++;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth >= 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (depth < 0) {
+                throw new NoSuchElementException();
+            }
+            V value = (V) nodes[depth].slots[positions[depth]];
+            positions[depth]++;
+            advance();
+            return value;
+        }
+    }
+}
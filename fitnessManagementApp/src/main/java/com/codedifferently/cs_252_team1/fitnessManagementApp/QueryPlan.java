@@ -0,0 +1,91 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * How a {@link MemberQuery} is answered from one {@link MemberTable} version:
+ * the access path that produces candidate IDs, the checks made against other
+ * indexes for each candidate, and the residual conditions that have no index
+ * and are checked on the member itself. Built by {@link MemberTable#plan}.
+ */
+final class QueryPlan {
+    private final String access;
+    private final int estimate;
+    private final int total;
+    private final Supplier<List<Integer>> candidates;
+    private final List<String> checkDescriptions = new ArrayList<>();
+    private final List<IntPredicate> checks = new ArrayList<>();
+    private final List<String> residualDescriptions = new ArrayList<>();
+    private final List<Predicate<Member>> residuals = new ArrayList<>();
+
+    /**
+     * @param access Description of the access path
+     * @param estimate Most candidates the access path can return
+     * @param total Number of members in the table
+     * @param candidates Candidate IDs, in ID order
+     */
+    QueryPlan(String access, int estimate, int total, Supplier<List<Integer>> candidates) {
+        this.access = access;
+        this.estimate = estimate;
+        this.total = total;
+        this.candidates = candidates;
+    }
+
+    void addCheck(String description, IntPredicate check) {
+        checkDescriptions.add(description);
+        checks.add(check);
+    }
+
+    void addResidual(String description, Predicate<Member> residual) {
+        residualDescriptions.add(description);
+        residuals.add(residual);
+    }
+
+    /**
+     * @return The matching members, in ID order
+     */
+    List<Member> execute(MemberTable table) {
+        List<Member> result = new ArrayList<>();
+        candidates:
+        for (int memberId : candidates.get()) {
+            for (IntPredicate check : checks) {
+                if (!check.test(memberId)) {
+                    continue candidates;
+                }
+            }
+            Member member = table.get(memberId);
+            for (Predicate<Member> residual : residuals) {
+                if (!residual.test(member)) {
+                    continue candidates;
+                }
+            }
+            result.add(member);
+        }
+        return result;
+    }
+
+    /**
+     * @return One line per step, in the order the steps run
+     */
+    String explain() {
+        StringBuilder plan = new StringBuilder();
+        plan.append("Access: ").append(access)
+            .append(" (at most ").append(estimate).append(" of ").append(total).append(" members)");
+        for (String check : checkDescriptions) {
+            plan.append(System.lineSeparator()).append("Index check: ").append(check);
+        }
+        for (String residual : residualDescriptions) {
+            plan.append(System.lineSeparator()).append("Filter: ").append(residual);
+        }
+        return plan.toString();
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+}
@@ -0,0 +1,43 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared out by record ID. Changes to the same record
+ * always take the same lock and run one at a time; changes to records on
+ * different stripes run in parallel. Operations that touch every record take
+ * all the stripes, always in the same order.
+ */
+final class StripedLocks {
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    /**
+     * @param stripes Number of locks, rounded up to a power of two
+     */
+    StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    ReentrantLock lockFor(int id) {
+        // Spread the high bits in so IDs far apart still use different stripes
+        return locks[(id ^ (id >>> 16)) & mask];
+    }
+
+    void lockAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    void unlockAll() {
+        for (int i = locks.length - 1; i >= 0; i--) {
+            locks[i].unlock();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Component;
 import com.codedifferently.cs_252_team1.fitnessManagementApp.Employee;
 import com.codedifferently.cs_252_team1.fitnessManagementApp.EmployeeManager;
 import com.codedifferently.cs_252_team1.fitnessManagementApp.EmployeeNotFoundException;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Page;
 import com.codedifferently.cs_252_team1.fitnessManagementApp.WorkStatus;
 
 import picocli.CommandLine.Command;
@@ -188,29 +189,61 @@ public class EmployeeCommand implements Runnable {
         @Autowired
         public EmployeeManager employeeManager;
 
+        @Option(names = {"-n", "--limit"}, description = "Show at most this many employees")
+        public Integer limit;
+
+        @Option(names = {"-a", "--after"}, description = "Start after this employee ID, as printed by the previous page")
+        public int afterId;
+
         public void setEmployeeManager(EmployeeManager employeeManager) {
             this.employeeManager = employeeManager;
         }
 
         @Override
         public void run() {
+            if (limit != null || afterId > 0) {
+                printPage();
+                return;
+            }
             var employees = employeeManager.listAllEmployees();
             if (employees.isEmpty()) {
                 System.out.println("📝 No employees found");
             } else {
                 System.out.println("👥 All Employees:");
                 System.out.println("═".repeat(80));
-                employees.forEach(employee -> {
-                    System.out.printf("ID: %d | Name: %s %s | Dept: %s | Position: %s | Status: %s%n",
-                        employee.getEmployeeId(),
-                        employee.getFirstName(),
-                        employee.getLastName(),
-                        employee.getDepartment(),
-                        employee.getPosition(),
-                        employee.getWorkStatus());
-                });
+                employees.forEach(ListEmployeesCommand::printRow);
             }
         }
+
+        // Print one page, reading only the employees on it
+        private void printPage() {
+            try {
+                Page<Employee> page = employeeManager.pageEmployees(afterId,
+                    limit != null ? limit : Integer.MAX_VALUE, null);
+                if (page.items().isEmpty()) {
+                    System.out.println("📝 No employees found");
+                    return;
+                }
+                System.out.println("👥 Employees:");
+                System.out.println("═".repeat(80));
+                page.items().forEach(ListEmployeesCommand::printRow);
+                if (page.hasMore()) {
+                    System.out.printf("➡️  More employees: use --after %d%n", page.nextAfter());
+                }
+            } catch (Exception e) {
+                System.err.printf("❌ Error listing employees: %s%n", e.getMessage());
+            }
+        }
+
+        private static void printRow(Employee employee) {
+            System.out.printf("ID: %d | Name: %s %s | Dept: %s | Position: %s | Status: %s%n",
+                employee.getEmployeeId(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getDepartment(),
+                employee.getPosition(),
+                employee.getWorkStatus());
+        }
     }
 
     @Component
@@ -8,6 +8,7 @@ import com.codedifferently.cs_252_team1.fitnessManagementApp.MemberNotFoundExcep
 import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipManagement;
 import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipStatus;
 import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipType;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Page;
 import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentOption;
 
 import picocli.CommandLine.Command;
@@ -21,13 +22,14 @@ import picocli.CommandLine.Parameters;
              MemberCommand.UpdateMemberCommand.class,
              MemberCommand.RemoveMemberCommand.class,
              MemberCommand.ListMembersCommand.class,
-             MemberCommand.GetMemberCommand.class
+             MemberCommand.GetMemberCommand.class,
+             MemberCommand.FindMemberCommand.class
          })
 public class MemberCommand implements Runnable {
 
     @Override
     public void run() {
-        System.out.println("Use a subcommand: add, update, remove, list, get");
+        System.out.println("Use a subcommand: add, update, remove, list, get, find");
     }
 
     @Component
@@ -161,28 +163,60 @@ public class MemberCommand implements Runnable {
         @Autowired
         public MembershipManagement membershipManagement;
 
+        @Option(names = {"-n", "--limit"}, description = "Show at most this many members")
+        public Integer limit;
+
+        @Option(names = {"-a", "--after"}, description = "Start after this member ID, as printed by the previous page")
+        public int afterId;
+
         public void setMembershipManagement(MembershipManagement membershipManagement) {
             this.membershipManagement = membershipManagement;
         }
 
         @Override
         public void run() {
+            if (limit != null || afterId > 0) {
+                printPage();
+                return;
+            }
             var members = membershipManagement.listAllMembers();
             if (members.isEmpty()) {
                 System.out.println("📝 No members found");
             } else {
                 System.out.println("👥 All Members:");
                 System.out.println("═".repeat(80));
-                members.forEach(member -> {
-                    System.out.printf("ID: %d | Name: %s %s | Email: %s | Type: %s%n",
-                        member.getMemberId(),
-                        member.getFirstName(),
-                        member.getLastName(),
-                        member.getEmail(),
-                        member.getMembershipType());
-                });
+                members.forEach(ListMembersCommand::printRow);
+            }
+        }
+
+        // Print one page, reading only the members on it
+        private void printPage() {
+            try {
+                Page<Member> page = membershipManagement.pageMembers(afterId,
+                    limit != null ? limit : Integer.MAX_VALUE, null);
+                if (page.items().isEmpty()) {
+                    System.out.println("📝 No members found");
+                    return;
+                }
+                System.out.println("👥 Members:");
+                System.out.println("═".repeat(80));
+                page.items().forEach(ListMembersCommand::printRow);
+                if (page.hasMore()) {
+                    System.out.printf("➡️  More members: use --after %d%n", page.nextAfter());
+                }
+            } catch (Exception e) {
+                System.err.printf("❌ Error listing members: %s%n", e.getMessage());
             }
         }
+
+        private static void printRow(Member member) {
+            System.out.printf("ID: %d | Name: %s %s | Email: %s | Type: %s%n",
+                member.getMemberId(),
+                member.getFirstName(),
+                member.getLastName(),
+                member.getEmail(),
+                member.getMembershipType());
+        }
     }
 
     @Component
@@ -202,19 +236,7 @@ public class MemberCommand implements Runnable {
         @Override
         public void run() {
             try {
-                Member member = membershipManagement.findMemberById(memberId);
-                System.out.println("👤 Member Details:");
-                System.out.println("═".repeat(50));
-                System.out.printf("ID: %d%n", member.getMemberId());
-                System.out.printf("Name: %s %s%n", member.getFirstName(), member.getLastName());
-                System.out.printf("Email: %s%n", member.getEmail());
-                System.out.printf("Phone: %s%n", member.getPhoneNumber());
-                System.out.printf("Membership Type: %s%n", member.getMembershipType());
-                System.out.printf("Payment Option: %s%n", member.getPaymentOption());
-                System.out.printf("Status: %s%n", member.getMembershipStatus());
-                if (member.getMembershipDate() != null) {
-                    System.out.printf("Membership Date: %s%n", member.getMembershipDate());
-                }
+                printDetails(membershipManagement.findMemberById(memberId));
             } catch (MemberNotFoundException e) {
                 System.err.printf("❌ Member not found: %s%n", e.getMessage());
             } catch (Exception e) {
@@ -222,5 +244,54 @@ public class MemberCommand implements Runnable {
             }
         }
     }
-}
 
+    @Component
+    @Command(name = "find", description = "Find a member by email or phone number")
+    public static class FindMemberCommand implements Runnable {
+        
+        @Autowired
+        public MembershipManagement membershipManagement;
+
+        @Option(names = {"-e", "--email"}, description = "Member email")
+        public String email;
+
+        @Option(names = {"-p", "--phone"}, description = "Member phone, in any format")
+        public String phone;
+
+        public void setMembershipManagement(MembershipManagement membershipManagement) {
+            this.membershipManagement = membershipManagement;
+        }
+
+        @Override
+        public void run() {
+            if ((email == null) == (phone == null)) {
+                System.err.println("❌ Give either --email or --phone");
+                return;
+            }
+            try {
+                printDetails(email != null
+                    ? membershipManagement.findMemberByEmail(email)
+                    : membershipManagement.findMemberByPhone(phone));
+            } catch (MemberNotFoundException e) {
+                System.err.printf("❌ Member not found: %s%n", e.getMessage());
+            } catch (Exception e) {
+                System.err.printf("❌ Error finding member: %s%n", e.getMessage());
+            }
+        }
+    }
+
+    static void printDetails(Member member) {
+        System.out.println("👤 Member Details:");
+        System.out.println("═".repeat(50));
+        System.out.printf("ID: %d%n", member.getMemberId());
+        System.out.printf("Name: %s %s%n", member.getFirstName(), member.getLastName());
+        System.out.printf("Email: %s%n", member.getEmail());
+        System.out.printf("Phone: %s%n", member.getPhoneNumber());
+        System.out.printf("Membership Type: %s%n", member.getMembershipType());
+        System.out.printf("Payment Option: %s%n", member.getPaymentOption());
+        System.out.printf("Status: %s%n", member.getMembershipStatus());
+        if (member.getMembershipDate() != null) {
+            System.out.printf("Membership Date: %s%n", member.getMembershipDate());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.BackgroundPersister;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.Checkpointer;
+
+@Configuration
+@EnableConfigurationProperties(PersistenceProperties.class)
+public class PersistenceConfiguration {
+
+    @Bean
+    public Checkpointer checkpointer(PersistenceProperties properties) {
+        PersistenceProperties.Compaction compaction = properties.getCompaction();
+        return new Checkpointer(compaction.toPolicy(), compaction.getCheckInterval());
+    }
+
+    @Bean
+    public BackgroundPersister backgroundPersister(PersistenceProperties properties) {
+        return new BackgroundPersister(properties.getWriteBehind().getLinger());
+    }
+}
@@ -0,0 +1,309 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.CompactionPolicy;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.ConnectionPool;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.FsyncPolicy;
+
+/**
+ * Settings for where member and employee data is stored, when changes are
+ * forced to disk and how often the mutation logs are compacted into snapshots. Bound from the
+ * {@code fitness.persistence.*} keys in application.properties.
+ */
+@ConfigurationProperties(prefix = "fitness.persistence")
+public class PersistenceProperties {
+    private String dataDirectory = ".";
+    private MemberStoreType memberStore = MemberStoreType.JOURNAL;
+    private EmployeeStoreType employeeStore = EmployeeStoreType.JOURNAL;
+    private LoadingMode loading = LoadingMode.LAZY;
+    private boolean uniqueMemberContact = false;
+    private final Fsync fsync = new Fsync();
+    private final WriteBehind writeBehind = new WriteBehind();
+    private final WriteQueue writeQueue = new WriteQueue();
+    private final Jdbc jdbc = new Jdbc();
+    private final Compaction compaction = new Compaction();
+
+    public String getDataDirectory() {
+        return dataDirectory;
+    }
+
+    public void setDataDirectory(String dataDirectory) {
+        this.dataDirectory = dataDirectory;
+    }
+
+    public Path getDataPath() {
+        return Path.of(dataDirectory);
+    }
+
+    public MemberStoreType getMemberStore() {
+        return memberStore;
+    }
+
+    public void setMemberStore(MemberStoreType memberStore) {
+        this.memberStore = memberStore;
+    }
+
+    public EmployeeStoreType getEmployeeStore() {
+        return employeeStore;
+    }
+
+    public void setEmployeeStore(EmployeeStoreType employeeStore) {
+        this.employeeStore = employeeStore;
+    }
+
+    public LoadingMode getLoading() {
+        return loading;
+    }
+
+    public void setLoading(LoadingMode loading) {
+        this.loading = loading;
+    }
+
+    /**
+     * Whether the member email and phone indexes are unique, so no two members
+     * share an email address or phone number. Off unless configured.
+     */
+    public boolean isUniqueMemberContact() {
+        return uniqueMemberContact;
+    }
+
+    public void setUniqueMemberContact(boolean uniqueMemberContact) {
+        this.uniqueMemberContact = uniqueMemberContact;
+    }
+
+    public Fsync getFsync() {
+        return fsync;
+    }
+
+    public WriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+
+    public WriteQueue getWriteQueue() {
+        return writeQueue;
+    }
+
+    public Jdbc getJdbc() {
+        return jdbc;
+    }
+
+    public Compaction getCompaction() {
+        return compaction;
+    }
+
+    /**
+     * How member data is kept on disk: a snapshot plus mutation log, a
+     * memory-mapped slot file updated in place, one Java-serialized file
+     * rewritten as a whole, tables in an embedded database, or not at all.
+     */
+    public enum MemberStoreType {
+        JOURNAL,
+        MAPPED,
+        SERIALIZED,
+        JDBC,
+        MEMORY
+    }
+
+    /**
+     * How employee data is kept on disk; see {@link MemberStoreType}.
+     */
+    public enum EmployeeStoreType {
+        JOURNAL,
+        SERIALIZED,
+        JDBC,
+        MEMORY
+    }
+
+    /**
+     * When the stores are read: on first access, or right at startup on a
+     * background thread per store so members and employees load in parallel.
+     */
+    public enum LoadingMode {
+        LAZY,
+        EAGER
+    }
+
+    public static class Fsync {
+        private FsyncPolicy.Mode policy = FsyncPolicy.Mode.BATCH;
+        private Duration interval = Duration.ofMillis(100);
+
+        public FsyncPolicy.Mode getPolicy() {
+            return policy;
+        }
+
+        public void setPolicy(FsyncPolicy.Mode policy) {
+            this.policy = policy;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public FsyncPolicy toPolicy() {
+            return new FsyncPolicy(policy, interval);
+        }
+    }
+
+    /**
+     * Hand log writes to a background thread so callers do not wait for the
+     * disk. Off unless configured, so that a manager built directly writes
+     * every change before the call returns.
+     */
+    public static class WriteBehind {
+        private boolean enabled = false;
+        private Duration linger = Duration.ofMillis(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getLinger() {
+            return linger;
+        }
+
+        public void setLinger(Duration linger) {
+            this.linger = linger;
+        }
+    }
+
+    /**
+     * Apply member and employee changes on one writer thread per manager
+     * instead of the calling threads. Changes wait in a buffer of at most
+     * {@code capacity} entries, and each batch taken from it is committed
+     * with one flush. Off unless configured.
+     */
+    public static class WriteQueue {
+        private boolean enabled = false;
+        private int capacity = 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    /**
+     * Embedded database used by the JDBC stores. Without a URL the database
+     * is an H2 file named {@code fitness} in the data directory.
+     */
+    public static class Jdbc {
+        private String url = "";
+        private String username = "sa";
+        private String password = "";
+        private int poolSize = 4;
+        private int batchSize = 500;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public ConnectionPool toPool(Path dataPath) {
+            String resolvedUrl = url == null || url.isBlank()
+                ? "jdbc:h2:file:" + dataPath.toAbsolutePath().resolve("fitness")
+                : url;
+            return new ConnectionPool(resolvedUrl, username, password, poolSize);
+        }
+    }
+
+    public static class Compaction {
+        private long maxLogBytes = 16 * 1024 * 1024;
+        private long maxLogRecords = 50_000;
+        private Duration maxInterval = Duration.ofMinutes(10);
+        private Duration checkInterval = Duration.ofSeconds(30);
+
+        public long getMaxLogBytes() {
+            return maxLogBytes;
+        }
+
+        public void setMaxLogBytes(long maxLogBytes) {
+            this.maxLogBytes = maxLogBytes;
+        }
+
+        public long getMaxLogRecords() {
+            return maxLogRecords;
+        }
+
+        public void setMaxLogRecords(long maxLogRecords) {
+            this.maxLogRecords = maxLogRecords;
+        }
+
+        public Duration getMaxInterval() {
+            return maxInterval;
+        }
+
+        public void setMaxInterval(Duration maxInterval) {
+            this.maxInterval = maxInterval;
+        }
+
+        public Duration getCheckInterval() {
+            return checkInterval;
+        }
+
+        public void setCheckInterval(Duration checkInterval) {
+            this.checkInterval = checkInterval;
+        }
+
+        public CompactionPolicy toPolicy() {
+            return new CompactionPolicy(maxLogBytes, maxLogRecords, maxInterval);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Single background thread that writes buffered log records for every
+ * write-behind {@link MutationLog}.
+ *
+ * Appending to such a log only buffers the record and marks the log dirty.
+ * The persister wakes up, waits {@code linger} for more changes to pile up,
+ * and then writes each dirty log's buffer with one write call, forcing it
+ * afterwards if the log's {@link FsyncPolicy} is {@code BATCH}. A burst of
+ * changes therefore turns into a handful of writes. Under {@code BATCH} the
+ * log's commit waits for that force, so a change is still on disk when it is
+ * acknowledged; callers that need a change on disk under the other policies
+ * use the log's {@code sync}, which writes and forces at once.
+ */
+public class BackgroundPersister implements Closeable {
+    private final Duration linger;
+    private final Set<MutationLog> dirty = new LinkedHashSet<>();
+    private Thread thread;
+    private boolean closed;
+
+    /**
+     * @param linger How long to wait after the first change of a batch
+     * before writing it; zero writes as soon as the thread wakes up
+     */
+    public BackgroundPersister(Duration linger) {
+        if (linger == null || linger.isNegative()) {
+            throw new IllegalArgumentException("Linger must not be negative");
+        }
+        this.linger = linger;
+    }
+
+    /**
+     * @return How long the thread waits for more changes before writing
+     */
+    public Duration getLinger() {
+        return linger;
+    }
+
+    /**
+     * Note that a log has buffered records. The thread is started on first use.
+     */
+    synchronized void markDirty(MutationLog log) {
+        if (closed) {
+            // The log writes its buffer itself when it is closed
+            return;
+        }
+        boolean wasIdle = dirty.isEmpty();
+        dirty.add(log);
+        if (thread == null) {
+            thread = new Thread(this::run, "fitness-persister");
+            thread.setDaemon(true);
+            thread.start();
+        } else if (wasIdle) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Write every buffered record now, on the calling thread.
+     */
+    public void drain() {
+        for (MutationLog log : takeDirty()) {
+            persist(log);
+        }
+    }
+
+    /**
+     * Stop the thread after writing whatever is still buffered.
+     */
+    @Override
+    public void close() {
+        Thread running;
+        synchronized (this) {
+            closed = true;
+            running = thread;
+            notifyAll();
+        }
+        if (running != null) {
+            try {
+                running.join(30_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        drain();
+    }
+
+    private void run() {
+        while (true) {
+            synchronized (this) {
+                while (dirty.isEmpty() && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (dirty.isEmpty()) {
+                    return;
+                }
+            }
+            if (!linger.isZero()) {
+                try {
+                    Thread.sleep(linger.toMillis(), linger.toNanosPart() % 1_000_000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            for (MutationLog log : takeDirty()) {
+                persist(log);
+            }
+        }
+    }
+
+    private synchronized List<MutationLog> takeDirty() {
+        List<MutationLog> batch = new ArrayList<>(dirty);
+        dirty.clear();
+        return batch;
+    }
+
+    private void persist(MutationLog log) {
+        try {
+            log.persistPending();
+        } catch (IOException e) {
+            // The records stay buffered and are retried with the next change
+            System.err.println("Warning: Background write of " + log.getFile() + " failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background thread that periodically checks each registered journal against
+ * the {@link CompactionPolicy} and, when a threshold is reached, asks its
+ * owner to write a snapshot and truncate the log behind it. This keeps
+ * restart time bounded no matter how much history accumulates.
+ *
+ * Stores with an {@link FsyncPolicy.Mode#INTERVAL} fsync policy have their
+ * changes forced to disk on that interval from the same thread: registered
+ * journals automatically, and any other store through {@link #syncEvery}.
+ * A store that cannot be given a checkpointer rejects that policy, since
+ * nothing would run its forces.
+ */
+public class Checkpointer implements Closeable {
+
+    /**
+     * Writes a snapshot of the store that owns a journal and truncates the
+     * journal behind it.
+     */
+    @FunctionalInterface
+    public interface CheckpointAction {
+        void checkpoint() throws IOException;
+    }
+
+    /**
+     * Forces the changes a store has acknowledged so far to disk.
+     */
+    @FunctionalInterface
+    public interface SyncAction {
+        void sync() throws IOException;
+    }
+
+    private static class Registration {
+        private final CheckpointAction action;
+        private volatile Instant lastCheckpoint;
+
+        Registration(CheckpointAction action, Instant lastCheckpoint) {
+            this.action = action;
+            this.lastCheckpoint = lastCheckpoint;
+        }
+    }
+
+    private final CompactionPolicy policy;
+    private final Duration checkInterval;
+    private final Clock clock;
+    private final Map<Journal, Registration> registrations = new ConcurrentHashMap<>();
+    private final Map<Object, ScheduledFuture<?>> syncTasks = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public Checkpointer(CompactionPolicy policy, Duration checkInterval) {
+        this(policy, checkInterval, Clock.systemUTC());
+    }
+
+    Checkpointer(CompactionPolicy policy, Duration checkInterval, Clock clock) {
+        this.policy = policy;
+        this.checkInterval = checkInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Start watching a journal. The background thread is started on the
+     * first registration.
+     * @param journal Journal whose size is checked against the policy
+     * @param action Called when a checkpoint is due
+     */
+    public synchronized void register(Journal journal, CheckpointAction action) {
+        registrations.put(journal, new Registration(action, clock.instant()));
+        startScheduler();
+        syncEvery(journal, journal.getFile().toString(), journal.getFsyncPolicy(), journal::sync);
+    }
+
+    /**
+     * Stop watching a journal, typically because its owner is shutting down
+     * and takes a final checkpoint itself.
+     */
+    public synchronized void unregister(Journal journal) {
+        registrations.remove(journal);
+        cancelSync(journal);
+    }
+
+    /**
+     * Force a store's changes to disk every fsync interval. Does nothing
+     * unless the policy is {@link FsyncPolicy.Mode#INTERVAL}.
+     * @param owner Store the forces belong to, passed to {@link #cancelSync}
+     * @param name What is forced, for warnings
+     * @param fsyncPolicy The store's fsync policy
+     * @param action Forces the store
+     */
+    public synchronized void syncEvery(Object owner, String name, FsyncPolicy fsyncPolicy, SyncAction action) {
+        if (fsyncPolicy.mode() != FsyncPolicy.Mode.INTERVAL) {
+            return;
+        }
+        startScheduler();
+        long millis = Math.max(1, fsyncPolicy.interval().toMillis());
+        ScheduledFuture<?> previous = syncTasks.put(owner, scheduler.scheduleAtFixedRate(() -> sync(name, action),
+            millis, millis, TimeUnit.MILLISECONDS));
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * Stop the forces started by {@link #syncEvery}, typically because the
+     * store is closing and forces its changes itself.
+     */
+    public synchronized void cancelSync(Object owner) {
+        ScheduledFuture<?> task = syncTasks.remove(owner);
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Reject the {@link FsyncPolicy.Mode#INTERVAL} policy for a store built
+     * without a checkpointer, as nothing would force its changes.
+     * @throws IllegalArgumentException if the policy needs a checkpointer and there is none
+     */
+    static void requireForInterval(FsyncPolicy fsyncPolicy, Checkpointer checkpointer) {
+        if (fsyncPolicy.mode() == FsyncPolicy.Mode.INTERVAL && checkpointer == null) {
+            throw new IllegalArgumentException("Fsync policy interval needs a checkpointer to force changes");
+        }
+    }
+
+    private void startScheduler() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fitness-checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = checkInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::runDueCheckpoints, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    private static void sync(String name, SyncAction action) {
+        try {
+            action.sync();
+        } catch (Exception e) {
+            System.err.println("Warning: Sync of " + name + " failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Run the checkpoint of every journal that has reached a threshold.
+     */
+    void runDueCheckpoints() {
+        for (Map.Entry<Journal, Registration> entry : registrations.entrySet()) {
+            Journal journal = entry.getKey();
+            Registration registration = entry.getValue();
+            Duration elapsed = Duration.between(registration.lastCheckpoint, clock.instant());
+            if (!policy.isCheckpointDue(journal.sizeInBytes(), journal.recordCount(), elapsed)) {
+                continue;
+            }
+            try {
+                registration.action.checkpoint();
+                registration.lastCheckpoint = clock.instant();
+            } catch (Exception e) {
+                System.err.println("Warning: Checkpoint of " + journal.getFile() + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            scheduler = null;
+        }
+        registrations.clear();
+        syncTasks.clear();
+    }
+}
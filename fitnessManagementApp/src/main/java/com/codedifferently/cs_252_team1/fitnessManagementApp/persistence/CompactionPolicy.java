@@ -0,0 +1,58 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.time.Duration;
+
+/**
+ * Decides when a journal has grown enough to be folded into a new snapshot.
+ * A checkpoint is due when any one threshold is reached and the log holds at
+ * least one record.
+ */
+public class CompactionPolicy {
+    private final long maxLogBytes;
+    private final long maxLogRecords;
+    private final Duration maxInterval;
+
+    /**
+     * @param maxLogBytes Log size that triggers a checkpoint
+     * @param maxLogRecords Record count that triggers a checkpoint
+     * @param maxInterval Longest time a non-empty log may go without a checkpoint
+     */
+    public CompactionPolicy(long maxLogBytes, long maxLogRecords, Duration maxInterval) {
+        if (maxLogBytes <= 0 || maxLogRecords <= 0) {
+            throw new IllegalArgumentException("Compaction thresholds must be positive");
+        }
+        if (maxInterval == null || maxInterval.isNegative() || maxInterval.isZero()) {
+            throw new IllegalArgumentException("Compaction interval must be positive");
+        }
+        this.maxLogBytes = maxLogBytes;
+        this.maxLogRecords = maxLogRecords;
+        this.maxInterval = maxInterval;
+    }
+
+    public long getMaxLogBytes() {
+        return maxLogBytes;
+    }
+
+    public long getMaxLogRecords() {
+        return maxLogRecords;
+    }
+
+    public Duration getMaxInterval() {
+        return maxInterval;
+    }
+
+    /**
+     * @param logBytes Current log size in bytes
+     * @param logRecords Current number of records in the log
+     * @param sinceLastCheckpoint Time since the previous checkpoint
+     * @return true if a checkpoint should be taken now
+     */
+    public boolean isCheckpointDue(long logBytes, long logRecords, Duration sinceLastCheckpoint) {
+        if (logRecords == 0) {
+            return false;
+        }
+        return logBytes >= maxLogBytes
+            || logRecords >= maxLogRecords
+            || sinceLastCheckpoint.compareTo(maxInterval) >= 0;
+    }
+}
@@ -0,0 +1,124 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Small fixed-size pool of JDBC connections for the embedded database.
+ *
+ * Connections are opened on demand up to the pool size and kept open once
+ * returned, so each store pays for connecting only once. Callers beyond the
+ * pool size wait for a connection to come back.
+ */
+public class ConnectionPool implements Closeable {
+
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Semaphore permits;
+    private final Deque<Connection> idle = new ArrayDeque<>();
+    private boolean closed;
+
+    /**
+     * @param url JDBC URL of the database
+     * @param username Database user
+     * @param password Database password
+     * @param size Largest number of connections open at once
+     */
+    public ConnectionPool(String url, String username, String password, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.permits = new Semaphore(size, true);
+    }
+
+    /**
+     * Run some work on a pooled connection and return the connection afterwards.
+     * The work must leave the connection in auto-commit mode.
+     */
+    public <T> T withConnection(SqlWork<T> work) throws SQLException {
+        Connection connection = acquire();
+        try {
+            return work.run(connection);
+        } finally {
+            release(connection);
+        }
+    }
+
+    private Connection acquire() throws SQLException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+        try {
+            Connection connection;
+            synchronized (this) {
+                if (closed) {
+                    throw new SQLException("Connection pool is closed");
+                }
+                connection = idle.pollFirst();
+            }
+            if (connection == null || connection.isClosed()) {
+                connection = DriverManager.getConnection(url, username, password);
+            }
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(Connection connection) {
+        boolean keep;
+        synchronized (this) {
+            keep = !closed;
+            if (keep) {
+                idle.addFirst(connection);
+            }
+        }
+        if (!keep) {
+            closeQuietly(connection);
+        }
+        permits.release();
+    }
+
+    /**
+     * Close the idle connections. Connections still in use are closed when
+     * they are returned.
+     */
+    @Override
+    public void close() {
+        Deque<Connection> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayDeque<>(idle);
+            idle.clear();
+        }
+        for (Connection connection : toClose) {
+            closeQuietly(connection);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Warning: Could not close database connection: " + e.getMessage());
+        }
+    }
+}
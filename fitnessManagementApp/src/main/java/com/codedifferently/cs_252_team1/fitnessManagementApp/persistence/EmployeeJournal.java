@@ -0,0 +1,89 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Employee;
+
+/**
+ * Records employee changes in a {@link MutationLog} and rebuilds the
+ * employee map from them on startup. Like {@link MemberJournal}, records
+ * carry resulting values so replay is idempotent.
+ */
+public class EmployeeJournal extends Journal {
+
+    enum Operation {
+        ADD,
+        UPDATE,
+        REMOVE
+    }
+
+    public EmployeeJournal(Path logFile) {
+        this(logFile, FsyncPolicy.everyBatch());
+    }
+
+    public EmployeeJournal(Path logFile, FsyncPolicy fsyncPolicy) {
+        this(logFile, fsyncPolicy, null);
+    }
+
+    public EmployeeJournal(Path logFile, FsyncPolicy fsyncPolicy, BackgroundPersister persister) {
+        super(logFile, fsyncPolicy, persister);
+    }
+
+    public long recordAdd(Employee employee) throws IOException {
+        return append(Operation.ADD.ordinal(), out -> RecordCodec.writeEmployee(out, employee));
+    }
+
+    public long recordUpdate(Employee employee) throws IOException {
+        return append(Operation.UPDATE.ordinal(), out -> RecordCodec.writeEmployee(out, employee));
+    }
+
+    public long recordRemove(int employeeId) throws IOException {
+        return append(Operation.REMOVE.ordinal(), out -> RecordCodec.writeVarInt(out, employeeId));
+    }
+
+    /**
+     * Apply every logged operation, oldest first, to the given map.
+     * @param employees Map already holding the snapshot contents
+     * @return Number of operations replayed
+     * @throws IOException if the log could not be read
+     */
+    public long replay(Map<Integer, Employee> employees) throws IOException {
+        return replayRecords((operation, in) -> apply(employees, Operation.values()[operation], in));
+    }
+
+    /**
+     * Apply every logged operation and carry the next free employee ID forward.
+     * @param employees Map already holding the snapshot contents
+     * @param nextEmployeeId Next free ID according to the snapshot
+     * @return Next free ID after the logged operations
+     * @throws IOException if the log could not be read
+     */
+    public int replay(Map<Integer, Employee> employees, int nextEmployeeId) throws IOException {
+        int[] nextId = {nextEmployeeId};
+        replayRecords((operation, in) -> {
+            int id = apply(employees, Operation.values()[operation], in);
+            nextId[0] = Math.max(nextId[0], id + 1);
+        });
+        return nextId[0];
+    }
+
+    // Returns the ID of the affected employee
+    private int apply(Map<Integer, Employee> employees, Operation operation, DataInput in) throws IOException {
+        switch (operation) {
+            case ADD, UPDATE -> {
+                Employee employee = RecordCodec.readEmployee(in);
+                employees.put(employee.getEmployeeId(), employee);
+                return employee.getEmployeeId();
+            }
+            case REMOVE -> {
+                int employeeId = RecordCodec.readVarInt(in);
+                employees.remove(employeeId);
+                return employeeId;
+            }
+            default -> throw new IOException("Unknown employee operation " + operation);
+        }
+    }
+}
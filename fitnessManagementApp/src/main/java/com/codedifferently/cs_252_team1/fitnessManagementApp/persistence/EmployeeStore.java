@@ -0,0 +1,79 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Employee;
+
+/**
+ * Durable form of the employee map, the employee counterpart of
+ * {@link MemberStore}. The manager applies each change to its map, tells the
+ * store about it while holding its lock and commits the returned ticket once
+ * the lock is released.
+ */
+public interface EmployeeStore extends Closeable {
+
+    /**
+     * Load the stored employees into the map.
+     * @param employees Empty map to fill
+     * @param snapshotSource Supplies a copy of the current employees whenever
+     * the store wants to write a full snapshot
+     * @return Next free employee ID as recorded by the store
+     * @throws IOException if the stored data could not be read
+     */
+    int open(Map<Integer, Employee> employees, Supplier<Collection<Employee>> snapshotSource) throws IOException;
+
+    long employeeAdded(Employee employee) throws IOException;
+
+    long employeeUpdated(Employee employee) throws IOException;
+
+    long employeeRemoved(int employeeId) throws IOException;
+
+    /**
+     * Answer a department query from the store's own index, such as a
+     * database index, instead of the manager's in-memory one. Stores without
+     * such an index return null.
+     * @param department Department to look for, ignoring case
+     * @return IDs of the employees in that department, or null if not supported
+     * @throws IOException if the store could not be queried
+     */
+    default List<Integer> findIdsByDepartment(String department) throws IOException {
+        return null;
+    }
+
+    /**
+     * Make a change as durable as the fsync policy asks for.
+     * @param ticket Value returned by the change
+     * @throws IOException if the data could not be forced to disk
+     */
+    void commit(long ticket) throws IOException;
+
+    /**
+     * Wait until a change is on disk, whatever the fsync policy.
+     * @param ticket Value returned by the change
+     * @throws IOException if the data could not be written or forced
+     */
+    void awaitDurable(long ticket) throws IOException;
+
+    /**
+     * @return Ticket of the most recent change
+     */
+    long lastTicket();
+
+    /**
+     * Bring the on-disk form up to date so that the next startup is fast and
+     * everything written so far is on stable storage.
+     * @throws IOException if the data could not be written
+     */
+    void checkpoint() throws IOException;
+
+    /**
+     * Take a final checkpoint and release the files.
+     */
+    @Override
+    void close() throws IOException;
+}
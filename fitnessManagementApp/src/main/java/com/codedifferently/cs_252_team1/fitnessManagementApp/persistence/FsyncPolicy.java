@@ -0,0 +1,50 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.time.Duration;
+
+/**
+ * When appended log records are forced to stable storage.
+ *
+ * <ul>
+ * <li>{@link Mode#BATCH}: a change is not acknowledged until it is on disk.
+ * Writers that arrive while a force is running share the next one, so the
+ * cost is one force per batch rather than per change.</li>
+ * <li>{@link Mode#INTERVAL}: changes are acknowledged immediately and forced
+ * by the {@link Checkpointer} every {@code interval}, bounding how much can be
+ * lost. Stores built without a checkpointer reject this mode.</li>
+ * <li>{@link Mode#OS}: the OS page cache decides; logs are only forced when
+ * they are compacted or closed.</li>
+ * </ul>
+ *
+ * @param mode Fsync mode
+ * @param interval Time between background forces; only used by {@link Mode#INTERVAL}
+ */
+public record FsyncPolicy(Mode mode, Duration interval) {
+
+    public enum Mode {
+        BATCH,
+        INTERVAL,
+        OS
+    }
+
+    public FsyncPolicy {
+        if (mode == null) {
+            throw new IllegalArgumentException("Fsync mode is required");
+        }
+        if (mode == Mode.INTERVAL && (interval == null || interval.isNegative() || interval.isZero())) {
+            throw new IllegalArgumentException("Fsync interval must be positive");
+        }
+    }
+
+    public static FsyncPolicy everyBatch() {
+        return new FsyncPolicy(Mode.BATCH, null);
+    }
+
+    public static FsyncPolicy every(Duration interval) {
+        return new FsyncPolicy(Mode.INTERVAL, interval);
+    }
+
+    public static FsyncPolicy osManaged() {
+        return new FsyncPolicy(Mode.OS, null);
+    }
+}
@@ -0,0 +1,56 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Employee;
+
+/**
+ * Employee store that keeps nothing on disk: every run starts empty.
+ */
+public class InMemoryEmployeeStore implements EmployeeStore {
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public int open(Map<Integer, Employee> employees, Supplier<Collection<Employee>> snapshotSource) {
+        return 1;
+    }
+
+    @Override
+    public long employeeAdded(Employee employee) {
+        return version.incrementAndGet();
+    }
+
+    @Override
+    public long employeeUpdated(Employee employee) {
+        return version.incrementAndGet();
+    }
+
+    @Override
+    public long employeeRemoved(int employeeId) {
+        return version.incrementAndGet();
+    }
+
+    @Override
+    public void commit(long ticket) {
+    }
+
+    @Override
+    public void awaitDurable(long ticket) {
+    }
+
+    @Override
+    public long lastTicket() {
+        return version.get();
+    }
+
+    @Override
+    public void checkpoint() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
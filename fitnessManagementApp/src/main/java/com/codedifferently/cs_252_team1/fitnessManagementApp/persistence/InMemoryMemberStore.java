@@ -0,0 +1,72 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+
+/**
+ * Member store that keeps nothing on disk: every run starts empty. Useful for
+ * demos and tests, and as the baseline when comparing the other stores.
+ */
+public class InMemoryMemberStore implements MemberStore {
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public int open(Map<Integer, Member> members, Supplier<Collection<Member>> snapshotSource) {
+        return 1;
+    }
+
+    @Override
+    public long memberAdded(Member member) {
+        return version.incrementAndGet();
+    }
+
+    @Override
+    public long memberUpdated(Member member) {
+        return version.incrementAndGet();
+    }
+
+    @Override
+    public long memberRemoved(int memberId) {
+        return version.incrementAndGet();
+    }
+
+    @Override
+    public long statusChanged(Member member) {
+        return version.incrementAndGet();
+    }
+
+    @Override
+    public long paymentChanged(Member member) {
+        return version.incrementAndGet();
+    }
+
+    @Override
+    public long membersCleared() {
+        return version.incrementAndGet();
+    }
+
+    @Override
+    public void commit(long ticket) {
+    }
+
+    @Override
+    public void awaitDurable(long ticket) {
+    }
+
+    @Override
+    public long lastTicket() {
+        return version.get();
+    }
+
+    @Override
+    public void checkpoint() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,166 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Employee;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.WorkStatus;
+
+/**
+ * Employee store backed by the {@code employees} table of an embedded
+ * database. Departments are matched ignoring case, so the table keeps a
+ * lower-cased copy of the department and indexes that.
+ */
+public class JdbcEmployeeStore implements EmployeeStore {
+    private static final String COLUMNS = "employee_id, first_name, last_name, email, phone_number, department, "
+        + "department_key, position, salary, hire_date, work_status";
+
+    private final Table table;
+
+    /**
+     * @param pool Connections to the database; closed with the store
+     * @param fsyncPolicy Whether each commit writes its changes
+     * @param batchSize Most rows per JDBC batch, and the number of dirty rows
+     * that triggers a write when commits do not
+     */
+    public JdbcEmployeeStore(ConnectionPool pool, FsyncPolicy fsyncPolicy, int batchSize) {
+        this(pool, fsyncPolicy, batchSize, null);
+    }
+
+    /**
+     * @param pool Connections to the database; closed with the store
+     * @param fsyncPolicy Whether each commit writes its changes
+     * @param batchSize Most rows per JDBC batch, and the number of dirty rows
+     * that triggers a write when commits do not
+     * @param checkpointer Writes the dirty rows on the interval of the
+     * {@link FsyncPolicy.Mode#INTERVAL} policy; may be null for the other policies
+     */
+    public JdbcEmployeeStore(ConnectionPool pool, FsyncPolicy fsyncPolicy, int batchSize, Checkpointer checkpointer) {
+        this.table = new Table(pool, fsyncPolicy, batchSize, checkpointer);
+    }
+
+    @Override
+    public int open(Map<Integer, Employee> employees, Supplier<Collection<Employee>> snapshotSource) throws IOException {
+        return table.load(employees);
+    }
+
+    @Override
+    public long employeeAdded(Employee employee) {
+        return table.added(employee);
+    }
+
+    @Override
+    public long employeeUpdated(Employee employee) {
+        return table.changed(employee);
+    }
+
+    @Override
+    public long employeeRemoved(int employeeId) {
+        return table.removed(employeeId);
+    }
+
+    @Override
+    public List<Integer> findIdsByDepartment(String department) throws IOException {
+        return table.queryIds("SELECT employee_id FROM employees WHERE department_key = ?", departmentKey(department));
+    }
+
+    @Override
+    public void commit(long ticket) throws IOException {
+        table.commit(ticket);
+    }
+
+    @Override
+    public void awaitDurable(long ticket) throws IOException {
+        table.awaitDurable(ticket);
+    }
+
+    @Override
+    public long lastTicket() {
+        return table.lastVersion();
+    }
+
+    @Override
+    public void checkpoint() throws IOException {
+        table.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        table.close();
+    }
+
+    private static String departmentKey(String department) {
+        return department == null ? null : department.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Table extends JdbcRecordStore<Employee> {
+        Table(ConnectionPool pool, FsyncPolicy fsyncPolicy, int batchSize, Checkpointer checkpointer) {
+            super(pool, fsyncPolicy, batchSize, "employees", checkpointer);
+        }
+
+        @Override
+        List<String> schema() {
+            return List.of(
+                "CREATE TABLE IF NOT EXISTS employees ("
+                    + "employee_id INT PRIMARY KEY, first_name VARCHAR, last_name VARCHAR, email VARCHAR, "
+                    + "phone_number VARCHAR, department VARCHAR, department_key VARCHAR, position VARCHAR, "
+                    + "salary DOUBLE PRECISION NOT NULL, hire_date DATE, work_status VARCHAR(16) NOT NULL)",
+                "CREATE INDEX IF NOT EXISTS idx_employees_department ON employees (department_key)");
+        }
+
+        @Override
+        String selectAllSql() {
+            return "SELECT " + COLUMNS + " FROM employees";
+        }
+
+        @Override
+        Employee readRow(ResultSet row) throws SQLException {
+            return new Employee(row.getInt("employee_id"), row.getString("first_name"),
+                row.getString("last_name"), row.getString("email"), row.getString("phone_number"),
+                row.getString("department"), row.getString("position"), row.getDouble("salary"),
+                getDate(row, "hire_date"), WorkStatus.valueOf(row.getString("work_status")));
+        }
+
+        @Override
+        String upsertSql() {
+            return "MERGE INTO employees (" + COLUMNS + ") KEY (employee_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        }
+
+        @Override
+        void bindRow(PreparedStatement statement, Employee employee) throws SQLException {
+            statement.setInt(1, employee.getEmployeeId());
+            setString(statement, 2, employee.getFirstName());
+            setString(statement, 3, employee.getLastName());
+            setString(statement, 4, employee.getEmail());
+            setString(statement, 5, employee.getPhoneNumber());
+            setString(statement, 6, employee.getDepartment());
+            setString(statement, 7, departmentKey(employee.getDepartment()));
+            setString(statement, 8, employee.getPosition());
+            statement.setDouble(9, employee.getSalary());
+            setDate(statement, 10, employee.getHireDate());
+            statement.setString(11, employee.getWorkStatus().name());
+        }
+
+        @Override
+        String deleteSql() {
+            return "DELETE FROM employees WHERE employee_id = ?";
+        }
+
+        @Override
+        String clearSql() {
+            return "DELETE FROM employees";
+        }
+
+        @Override
+        int idOf(Employee employee) {
+            return employee.getEmployeeId();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipStatus;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipType;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentOption;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentStatus;
+
+/**
+ * Member store backed by the {@code members} table of an embedded database,
+ * with indexes on email, last name and membership status. Status queries are
+ * answered by the database through the status index.
+ */
+public class JdbcMemberStore implements MemberStore {
+    private static final String COLUMNS = "member_id, first_name, last_name, email, phone_number, membership_date, "
+        + "membership_status, membership_type, payment_option, payment_status, last_payment_date";
+
+    private final Table table;
+
+    /**
+     * @param pool Connections to the database; closed with the store
+     * @param fsyncPolicy Whether each commit writes its changes
+     * @param batchSize Most rows per JDBC batch, and the number of dirty rows
+     * that triggers a write when commits do not
+     */
+    public JdbcMemberStore(ConnectionPool pool, FsyncPolicy fsyncPolicy, int batchSize) {
+        this(pool, fsyncPolicy, batchSize, null);
+    }
+
+    /**
+     * @param pool Connections to the database; closed with the store
+     * @param fsyncPolicy Whether each commit writes its changes
+     * @param batchSize Most rows per JDBC batch, and the number of dirty rows
+     * that triggers a write when commits do not
+     * @param checkpointer Writes the dirty rows on the interval of the
+     * {@link FsyncPolicy.Mode#INTERVAL} policy; may be null for the other policies
+     */
+    public JdbcMemberStore(ConnectionPool pool, FsyncPolicy fsyncPolicy, int batchSize, Checkpointer checkpointer) {
+        this.table = new Table(pool, fsyncPolicy, batchSize, checkpointer);
+    }
+
+    @Override
+    public int open(Map<Integer, Member> members, Supplier<Collection<Member>> snapshotSource) throws IOException {
+        return table.load(members);
+    }
+
+    @Override
+    public long memberAdded(Member member) {
+        return table.added(member);
+    }
+
+    @Override
+    public long memberUpdated(Member member) {
+        return table.changed(member);
+    }
+
+    @Override
+    public long memberRemoved(int memberId) {
+        return table.removed(memberId);
+    }
+
+    @Override
+    public long statusChanged(Member member) {
+        return table.changed(member);
+    }
+
+    @Override
+    public long paymentChanged(Member member) {
+        return table.changed(member);
+    }
+
+    @Override
+    public long membersCleared() {
+        return table.clearedAll();
+    }
+
+    @Override
+    public List<Integer> findIdsByStatus(MembershipStatus status) throws IOException {
+        return table.queryIds("SELECT member_id FROM members WHERE membership_status = ?", status.name());
+    }
+
+    @Override
+    public void commit(long ticket) throws IOException {
+        table.commit(ticket);
+    }
+
+    @Override
+    public void awaitDurable(long ticket) throws IOException {
+        table.awaitDurable(ticket);
+    }
+
+    @Override
+    public long lastTicket() {
+        return table.lastVersion();
+    }
+
+    @Override
+    public void checkpoint() throws IOException {
+        table.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        table.close();
+    }
+
+    private static class Table extends JdbcRecordStore<Member> {
+        Table(ConnectionPool pool, FsyncPolicy fsyncPolicy, int batchSize, Checkpointer checkpointer) {
+            super(pool, fsyncPolicy, batchSize, "members", checkpointer);
+        }
+
+        @Override
+        List<String> schema() {
+            return List.of(
+                "CREATE TABLE IF NOT EXISTS members ("
+                    + "member_id INT PRIMARY KEY, first_name VARCHAR, last_name VARCHAR, email VARCHAR, "
+                    + "phone_number VARCHAR, membership_date DATE, membership_status VARCHAR(16) NOT NULL, "
+                    + "membership_type VARCHAR(16) NOT NULL, payment_option VARCHAR(32) NOT NULL, "
+                    + "payment_status VARCHAR(16) NOT NULL, last_payment_date DATE)",
+                "CREATE INDEX IF NOT EXISTS idx_members_email ON members (email)",
+                "CREATE INDEX IF NOT EXISTS idx_members_last_name ON members (last_name)",
+                "CREATE INDEX IF NOT EXISTS idx_members_status ON members (membership_status)");
+        }
+
+        @Override
+        String selectAllSql() {
+            return "SELECT " + COLUMNS + " FROM members";
+        }
+
+        @Override
+        Member readRow(ResultSet row) throws SQLException {
+            Member member = new Member(row.getInt("member_id"), row.getString("first_name"),
+                row.getString("last_name"), row.getString("email"), row.getString("phone_number"),
+                getDate(row, "membership_date"),
+                MembershipStatus.valueOf(row.getString("membership_status")),
+                MembershipType.valueOf(row.getString("membership_type")),
+                PaymentOption.valueOf(row.getString("payment_option")));
+            member.setPaymentStatus(PaymentStatus.valueOf(row.getString("payment_status")));
+            member.setLastPaymentDate(getDate(row, "last_payment_date"));
+            return member;
+        }
+
+        @Override
+        String upsertSql() {
+            return "MERGE INTO members (" + COLUMNS + ") KEY (member_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        }
+
+        @Override
+        void bindRow(PreparedStatement statement, Member member) throws SQLException {
+            statement.setInt(1, member.getMemberId());
+            setString(statement, 2, member.getFirstName());
+            setString(statement, 3, member.getLastName());
+            setString(statement, 4, member.getEmail());
+            setString(statement, 5, member.getPhoneNumber());
+            setDate(statement, 6, member.getMembershipDate());
+            statement.setString(7, member.getMembershipStatus().name());
+            statement.setString(8, member.getMembershipType().name());
+            statement.setString(9, member.getPaymentOption().name());
+            statement.setString(10, member.getPaymentStatus().name());
+            setDate(statement, 11, member.getLastPaymentDate());
+        }
+
+        @Override
+        String deleteSql() {
+            return "DELETE FROM members WHERE member_id = ?";
+        }
+
+        @Override
+        String clearSql() {
+            return "DELETE FROM members";
+        }
+
+        @Override
+        int idOf(Member member) {
+            return member.getMemberId();
+        }
+    }
+}
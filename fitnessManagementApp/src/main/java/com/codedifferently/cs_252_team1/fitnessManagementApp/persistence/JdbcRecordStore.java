@@ -0,0 +1,331 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared machinery of the embedded database stores: one table of records
+ * keyed by ID plus a row in {@code fitness_counters} holding the next ID.
+ *
+ * Changes are not written one statement at a time. Each change only records
+ * which row is dirty and returns a ticket; a flush then writes every dirty
+ * row with one batched prepared statement per kind of change, all in a
+ * single transaction. Several changes to the same record between flushes
+ * cost one row write. Under {@link FsyncPolicy.Mode#BATCH} and
+ * {@link FsyncPolicy.Mode#OS} every commit flushes, and concurrent commits
+ * share a flush the same way group commit shares an fsync; when the database
+ * forces its files is then up to it. Under {@link FsyncPolicy.Mode#INTERVAL}
+ * the {@link Checkpointer} flushes on the interval, and rows are also flushed
+ * once {@code batchSize} of them are dirty, on checkpoint and on close.
+ *
+ * The SQL is H2's ({@code MERGE ... KEY}).
+ */
+abstract class JdbcRecordStore<T> {
+    private static final String COUNTERS_TABLE = "CREATE TABLE IF NOT EXISTS fitness_counters ("
+        + "name VARCHAR(32) PRIMARY KEY, next_id INT NOT NULL)";
+    private static final String READ_COUNTER = "SELECT next_id FROM fitness_counters WHERE name = ?";
+    private static final String WRITE_COUNTER = "MERGE INTO fitness_counters KEY (name) VALUES (?, ?)";
+
+    private final ConnectionPool pool;
+    private final FsyncPolicy fsyncPolicy;
+    private final int batchSize;
+    private final String counterName;
+    private final Checkpointer checkpointer;
+    private final Object flushLock = new Object();
+
+    // Changes not yet written, guarded by this
+    private Map<Integer, T> upserts = new LinkedHashMap<>();
+    private Set<Integer> deletes = new LinkedHashSet<>();
+    private boolean cleared;
+    private long version;
+    private int nextId = 1;
+
+    private volatile long flushedVersion;
+
+    /** Everything taken from the dirty state for one flush. */
+    private record Batch<R>(Map<Integer, R> upserts, Set<Integer> deletes, boolean cleared, int nextId,
+            long version) {
+    }
+
+    JdbcRecordStore(ConnectionPool pool, FsyncPolicy fsyncPolicy, int batchSize, String counterName,
+                    Checkpointer checkpointer) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        Checkpointer.requireForInterval(fsyncPolicy, checkpointer);
+        this.pool = pool;
+        this.fsyncPolicy = fsyncPolicy;
+        this.batchSize = batchSize;
+        this.counterName = counterName;
+        this.checkpointer = checkpointer;
+    }
+
+    /** Statements that create the table and its indexes if missing. */
+    abstract List<String> schema();
+
+    abstract String selectAllSql();
+
+    abstract T readRow(ResultSet row) throws SQLException;
+
+    abstract String upsertSql();
+
+    abstract void bindRow(PreparedStatement statement, T record) throws SQLException;
+
+    abstract String deleteSql();
+
+    abstract String clearSql();
+
+    abstract int idOf(T record);
+
+    /**
+     * Create the schema if needed and load every row.
+     * @return Next free ID
+     */
+    int load(Map<Integer, T> records) throws IOException {
+        try {
+            int next = pool.withConnection(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(COUNTERS_TABLE);
+                    for (String ddl : schema()) {
+                        statement.execute(ddl);
+                    }
+                }
+                int stored = 1;
+                try (PreparedStatement statement = connection.prepareStatement(READ_COUNTER)) {
+                    statement.setString(1, counterName);
+                    try (ResultSet row = statement.executeQuery()) {
+                        if (row.next()) {
+                            stored = row.getInt(1);
+                        }
+                    }
+                }
+                try (Statement statement = connection.createStatement();
+                        ResultSet rows = statement.executeQuery(selectAllSql())) {
+                    while (rows.next()) {
+                        T record = readRow(rows);
+                        records.put(idOf(record), record);
+                        stored = Math.max(stored, idOf(record) + 1);
+                    }
+                }
+                return stored;
+            });
+            synchronized (this) {
+                nextId = next;
+            }
+            if (checkpointer != null) {
+                checkpointer.syncEvery(this, counterName + " table", fsyncPolicy, this::flush);
+            }
+            return next;
+        } catch (SQLException e) {
+            throw new IOException("Could not load from " + counterName + " table: " + e.getMessage(), e);
+        }
+    }
+
+    synchronized long added(T record) {
+        nextId = Math.max(nextId, idOf(record) + 1);
+        return changed(record);
+    }
+
+    synchronized long changed(T record) {
+        upserts.put(idOf(record), record);
+        deletes.remove(idOf(record));
+        return ++version;
+    }
+
+    synchronized long removed(int id) {
+        upserts.remove(id);
+        deletes.add(id);
+        return ++version;
+    }
+
+    synchronized long clearedAll() {
+        upserts.clear();
+        deletes.clear();
+        cleared = true;
+        nextId = 1;
+        return ++version;
+    }
+
+    synchronized long lastVersion() {
+        return version;
+    }
+
+    private synchronized int dirtyCount() {
+        return upserts.size() + deletes.size();
+    }
+
+    void commit(long ticket) throws IOException {
+        if (fsyncPolicy.mode() != FsyncPolicy.Mode.INTERVAL || dirtyCount() >= batchSize) {
+            awaitDurable(ticket);
+        }
+    }
+
+    /**
+     * Flush unless a flush covering the ticket already happened. Flushes run
+     * one at a time, so a waiter queued behind a flush usually finds its
+     * change already written.
+     */
+    void awaitDurable(long ticket) throws IOException {
+        synchronized (flushLock) {
+            if (ticket <= flushedVersion) {
+                return;
+            }
+            Batch<T> batch = takeBatch();
+            try {
+                pool.withConnection(connection -> {
+                    write(connection, batch);
+                    return null;
+                });
+            } catch (SQLException e) {
+                restore(batch);
+                throw new IOException("Could not write to " + counterName + " table: " + e.getMessage(), e);
+            }
+            flushedVersion = batch.version();
+        }
+    }
+
+    void flush() throws IOException {
+        awaitDurable(lastVersion());
+    }
+
+    /**
+     * Run an ID query against the table once every change made so far is
+     * written, so the database sees the same records as the caller.
+     */
+    List<Integer> queryIds(String sql, String parameter) throws IOException {
+        flush();
+        try {
+            return pool.withConnection(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setString(1, parameter);
+                    List<Integer> ids = new ArrayList<>();
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) {
+                            ids.add(rows.getInt(1));
+                        }
+                    }
+                    return ids;
+                }
+            });
+        } catch (SQLException e) {
+            throw new IOException("Could not query " + counterName + " table: " + e.getMessage(), e);
+        }
+    }
+
+    void close() throws IOException {
+        if (checkpointer != null) {
+            checkpointer.cancelSync(this);
+        }
+        try {
+            flush();
+        } finally {
+            pool.close();
+        }
+    }
+
+    private synchronized Batch<T> takeBatch() {
+        Batch<T> batch = new Batch<>(upserts, deletes, cleared, nextId, version);
+        upserts = new LinkedHashMap<>();
+        deletes = new LinkedHashSet<>();
+        cleared = false;
+        return batch;
+    }
+
+    // Put a failed batch back under any newer changes, so the next flush retries it
+    private synchronized void restore(Batch<T> batch) {
+        if (cleared) {
+            // A newer clear wipes the table anyway
+            return;
+        }
+        cleared = batch.cleared();
+        for (Map.Entry<Integer, T> entry : batch.upserts().entrySet()) {
+            if (!deletes.contains(entry.getKey())) {
+                upserts.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+        for (int id : batch.deletes()) {
+            if (!upserts.containsKey(id)) {
+                deletes.add(id);
+            }
+        }
+    }
+
+    private void write(Connection connection, Batch<T> batch) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            if (batch.cleared()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate(clearSql());
+                }
+            }
+            if (!batch.upserts().isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(upsertSql())) {
+                    int pending = 0;
+                    for (T record : batch.upserts().values()) {
+                        bindRow(statement, record);
+                        statement.addBatch();
+                        if (++pending == batchSize) {
+                            statement.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        statement.executeBatch();
+                    }
+                }
+            }
+            if (!batch.deletes().isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(deleteSql())) {
+                    for (int id : batch.deletes()) {
+                        statement.setInt(1, id);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(WRITE_COUNTER)) {
+                statement.setString(1, counterName);
+                statement.setInt(2, batch.nextId());
+                statement.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    static void setDate(PreparedStatement statement, int index, LocalDate date) throws SQLException {
+        if (date == null) {
+            statement.setNull(index, Types.DATE);
+        } else {
+            statement.setObject(index, date);
+        }
+    }
+
+    static void setString(PreparedStatement statement, int index, String value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.VARCHAR);
+        } else {
+            statement.setString(index, value);
+        }
+    }
+
+    static LocalDate getDate(ResultSet row, String column) throws SQLException {
+        return row.getObject(column, LocalDate.class);
+    }
+}
@@ -0,0 +1,133 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Base class for the member and employee journals. Owns the underlying
+ * {@link MutationLog} and the operation framing; subclasses define the
+ * operations and how they are applied on replay. Record bodies are encoded
+ * with {@link RecordCodec}.
+ */
+public abstract class Journal implements Closeable {
+
+    @FunctionalInterface
+    protected interface RecordWriter {
+        void write(DataOutput out) throws IOException;
+    }
+
+    @FunctionalInterface
+    protected interface RecordReader {
+        void read(int operation, DataInput in) throws IOException;
+    }
+
+    private final MutationLog log;
+
+    protected Journal(Path logFile, FsyncPolicy fsyncPolicy, BackgroundPersister persister) {
+        this.log = new MutationLog(logFile, fsyncPolicy, persister);
+    }
+
+    public Path getFile() {
+        return log.getFile();
+    }
+
+    public FsyncPolicy getFsyncPolicy() {
+        return log.getFsyncPolicy();
+    }
+
+    /**
+     * Wait until a recorded operation is as durable as the fsync policy asks.
+     * Call it after releasing any locks so that concurrent writers can share
+     * a single force.
+     * @param sequence Sequence number returned when the operation was recorded
+     * @throws IOException if the log could not be forced
+     */
+    public void commit(long sequence) throws IOException {
+        log.commit(sequence);
+    }
+
+    /**
+     * Wait until a recorded operation is on disk, whatever the fsync policy.
+     * @param sequence Sequence number returned when the operation was recorded
+     * @throws IOException if the log could not be written or forced
+     */
+    public void awaitDurable(long sequence) throws IOException {
+        log.sync(sequence);
+    }
+
+    /**
+     * Force every recorded operation to disk, whatever the fsync policy.
+     * @throws IOException if the log could not be written or forced
+     */
+    public void sync() throws IOException {
+        log.sync(log.lastSequence());
+    }
+
+    /**
+     * @return Sequence number of the most recently recorded operation
+     */
+    public long lastSequence() {
+        return log.lastSequence();
+    }
+
+    /**
+     * @return The current end of the log; pass it to {@link #discardBefore}
+     * once a snapshot of the state at this point has been written
+     */
+    public MutationLog.Mark mark() throws IOException {
+        return log.mark();
+    }
+
+    /**
+     * Drop the operations a snapshot already covers.
+     * @param mark Mark taken when the snapshot state was captured
+     * @throws IOException if the log could not be rewritten
+     */
+    public void discardBefore(MutationLog.Mark mark) throws IOException {
+        log.discardBefore(mark);
+    }
+
+    /**
+     * Drop every logged operation.
+     * @throws IOException if the log could not be truncated
+     */
+    public void reset() throws IOException {
+        log.reset();
+    }
+
+    public long sizeInBytes() {
+        return log.sizeInBytes();
+    }
+
+    public long recordCount() {
+        return log.recordCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+
+    protected long append(int operation, RecordWriter writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(operation);
+        writer.write(out);
+        out.flush();
+        return log.append(bytes.toByteArray());
+    }
+
+    protected long replayRecords(RecordReader reader) throws IOException {
+        return log.replay(payload -> {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            reader.read(in.readUnsignedByte(), in);
+        });
+    }
+}
@@ -0,0 +1,131 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Employee;
+
+/**
+ * Employee store made of a binary snapshot plus an {@link EmployeeJournal} of
+ * the changes since, checkpointed in the background like
+ * {@link JournalMemberStore}.
+ */
+public class JournalEmployeeStore implements EmployeeStore {
+    public static final String SNAPSHOT_FILE = "fitness_employees.snap";
+    public static final String LOG_FILE = "fitness_employees.log";
+    public static final String LEGACY_DATA_FILE = "fitness_employees.dat";
+
+    private final Path snapshotFile;
+    private final Path legacyDataFile;
+    private final EmployeeJournal journal;
+    private final Checkpointer checkpointer;
+    private final Object checkpointLock = new Object();
+    private final AtomicInteger nextEmployeeId = new AtomicInteger(1);
+    private Supplier<Collection<Employee>> snapshotSource;
+
+    /**
+     * @param dataDirectory Directory holding the employee data files
+     * @param fsyncPolicy When logged changes are forced to disk
+     * @param checkpointer Background checkpointer, or null to only snapshot on
+     * close; required for the {@link FsyncPolicy.Mode#INTERVAL} policy
+     * @param persister Background persister for write-behind logging, or null
+     * to write each change on the calling thread
+     */
+    public JournalEmployeeStore(Path dataDirectory, FsyncPolicy fsyncPolicy, Checkpointer checkpointer,
+            BackgroundPersister persister) {
+        Checkpointer.requireForInterval(fsyncPolicy, checkpointer);
+        this.snapshotFile = dataDirectory.resolve(SNAPSHOT_FILE);
+        this.legacyDataFile = dataDirectory.resolve(LEGACY_DATA_FILE);
+        this.journal = new EmployeeJournal(dataDirectory.resolve(LOG_FILE), fsyncPolicy, persister);
+        this.checkpointer = checkpointer;
+    }
+
+    /**
+     * Load the latest snapshot, then replay the log tail on top of it. Data
+     * from before the binary format is migrated first.
+     */
+    @Override
+    public int open(Map<Integer, Employee> employees, Supplier<Collection<Employee>> snapshotSource) throws IOException {
+        this.snapshotSource = snapshotSource;
+        LegacyDataMigrator.migrateEmployees(legacyDataFile, journal.getFile(), snapshotFile);
+        int nextId = 1;
+        if (Files.exists(snapshotFile)) {
+            nextId = SnapshotFile.readEmployees(snapshotFile, employees);
+        }
+        nextId = journal.replay(employees, nextId);
+        nextEmployeeId.set(nextId);
+
+        if (checkpointer != null) {
+            checkpointer.register(journal, this::checkpoint);
+        }
+        return nextId;
+    }
+
+    @Override
+    public long employeeAdded(Employee employee) throws IOException {
+        nextEmployeeId.accumulateAndGet(employee.getEmployeeId() + 1, Math::max);
+        return journal.recordAdd(employee);
+    }
+
+    @Override
+    public long employeeUpdated(Employee employee) throws IOException {
+        return journal.recordUpdate(employee);
+    }
+
+    @Override
+    public long employeeRemoved(int employeeId) throws IOException {
+        return journal.recordRemove(employeeId);
+    }
+
+    @Override
+    public void commit(long ticket) throws IOException {
+        journal.commit(ticket);
+    }
+
+    @Override
+    public void awaitDurable(long ticket) throws IOException {
+        journal.awaitDurable(ticket);
+    }
+
+    @Override
+    public long lastTicket() {
+        return journal.lastSequence();
+    }
+
+    /**
+     * Write a full snapshot and drop the log records it covers. The log
+     * position is marked before the employees are copied, as in
+     * {@link JournalMemberStore#checkpoint()}.
+     */
+    @Override
+    public void checkpoint() throws IOException {
+        if (snapshotSource == null) {
+            return;
+        }
+        synchronized (checkpointLock) {
+            MutationLog.Mark mark = journal.mark();
+            List<Employee> snapshot = new ArrayList<>(snapshotSource.get());
+            SnapshotFile.writeEmployees(snapshotFile, snapshot, nextEmployeeId.get());
+            journal.discardBefore(mark);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (checkpointer != null) {
+            checkpointer.unregister(journal);
+        }
+        try {
+            checkpoint();
+        } finally {
+            journal.close();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+
+/**
+ * Member store made of a binary snapshot plus a {@link MemberJournal} of the
+ * changes since. Every change costs one small log append; the background
+ * {@link Checkpointer} periodically folds the log into a new snapshot.
+ */
+public class JournalMemberStore implements MemberStore {
+    public static final String SNAPSHOT_FILE = "fitness_members.snap";
+    public static final String LOG_FILE = "fitness_members.log";
+    public static final String LEGACY_DATA_FILE = "fitness_members.dat";
+
+    private final Path snapshotFile;
+    private final Path legacyDataFile;
+    private final MemberJournal journal;
+    private final Checkpointer checkpointer;
+    private final Object checkpointLock = new Object();
+    private final AtomicInteger nextMemberId = new AtomicInteger(1);
+    private Supplier<Collection<Member>> snapshotSource;
+
+    /**
+     * @param dataDirectory Directory holding the member data files
+     * @param fsyncPolicy When logged changes are forced to disk
+     * @param checkpointer Background checkpointer, or null to only snapshot on
+     * close; required for the {@link FsyncPolicy.Mode#INTERVAL} policy
+     * @param persister Background persister for write-behind logging, or null
+     * to write each change on the calling thread
+     */
+    public JournalMemberStore(Path dataDirectory, FsyncPolicy fsyncPolicy, Checkpointer checkpointer,
+            BackgroundPersister persister) {
+        Checkpointer.requireForInterval(fsyncPolicy, checkpointer);
+        this.snapshotFile = dataDirectory.resolve(SNAPSHOT_FILE);
+        this.legacyDataFile = dataDirectory.resolve(LEGACY_DATA_FILE);
+        this.journal = new MemberJournal(dataDirectory.resolve(LOG_FILE), fsyncPolicy, persister);
+        this.checkpointer = checkpointer;
+    }
+
+    /**
+     * Load the latest snapshot, then replay the log tail on top of it. Data
+     * from before the binary format is migrated first.
+     */
+    @Override
+    public int open(Map<Integer, Member> members, Supplier<Collection<Member>> snapshotSource) throws IOException {
+        this.snapshotSource = snapshotSource;
+        LegacyDataMigrator.migrateMembers(legacyDataFile, journal.getFile(), snapshotFile);
+        int nextId = 1;
+        if (Files.exists(snapshotFile)) {
+            nextId = SnapshotFile.readMembers(snapshotFile, members);
+        }
+        nextId = journal.replay(members, nextId);
+        nextMemberId.set(nextId);
+
+        if (checkpointer != null) {
+            checkpointer.register(journal, this::checkpoint);
+        }
+        return nextId;
+    }
+
+    @Override
+    public long memberAdded(Member member) throws IOException {
+        int memberId = member.getMemberId();
+        nextMemberId.accumulateAndGet(memberId + 1, Math::max);
+        return journal.recordAdd(member);
+    }
+
+    @Override
+    public long memberUpdated(Member member) throws IOException {
+        return journal.recordUpdate(member);
+    }
+
+    @Override
+    public long memberRemoved(int memberId) throws IOException {
+        return journal.recordRemove(memberId);
+    }
+
+    @Override
+    public long statusChanged(Member member) throws IOException {
+        return journal.recordStatus(member);
+    }
+
+    @Override
+    public long paymentChanged(Member member) throws IOException {
+        return journal.recordPayment(member);
+    }
+
+    @Override
+    public long membersCleared() throws IOException {
+        nextMemberId.set(1);
+        return journal.recordClear();
+    }
+
+    @Override
+    public void commit(long ticket) throws IOException {
+        journal.commit(ticket);
+    }
+
+    @Override
+    public void awaitDurable(long ticket) throws IOException {
+        journal.awaitDurable(ticket);
+    }
+
+    @Override
+    public long lastTicket() {
+        return journal.lastSequence();
+    }
+
+    /**
+     * Write a full snapshot and drop the log records it covers.
+     *
+     * The log position is marked before the members are copied. Changes are
+     * applied to the map before they are logged, so everything before the mark
+     * is in the copy; anything newer that also made it into the copy is
+     * replayed again from the log, which is harmless.
+     */
+    @Override
+    public void checkpoint() throws IOException {
+        if (snapshotSource == null) {
+            return;
+        }
+        synchronized (checkpointLock) {
+            MutationLog.Mark mark = journal.mark();
+            List<Member> snapshot = new ArrayList<>(snapshotSource.get());
+            SnapshotFile.writeMembers(snapshotFile, snapshot, nextMemberId.get());
+            journal.discardBefore(mark);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (checkpointer != null) {
+            checkpointer.unregister(journal);
+        }
+        try {
+            checkpoint();
+        } finally {
+            journal.close();
+        }
+    }
+}
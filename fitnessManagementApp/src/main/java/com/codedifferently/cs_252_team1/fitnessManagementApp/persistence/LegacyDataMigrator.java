@@ -0,0 +1,214 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Employee;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipStatus;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipType;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentOption;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentStatus;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.WorkStatus;
+
+/**
+ * One-time conversion of data written before the binary record format:
+ * the Java-serialized {@code .dat} maps and version 1 mutation logs.
+ *
+ * The legacy data is folded into a binary snapshot, the {@code .dat} file
+ * is kept as {@code .dat.migrated} and the old log is removed. Each step is
+ * safe to repeat, so a migration interrupted by a crash simply runs again
+ * on the next start.
+ */
+public final class LegacyDataMigrator {
+    static final String MIGRATED_SUFFIX = ".migrated";
+    private static final int LEGACY_LOG_VERSION = 1;
+
+    @FunctionalInterface
+    private interface LegacyRecordReader {
+        void read(int operation, DataInput in) throws IOException;
+    }
+
+    private LegacyDataMigrator() {
+    }
+
+    /**
+     * @param legacyDataFile Java-serialized member map
+     * @param logFile Member mutation log, which may still be in the old format
+     * @param snapshotFile Binary member snapshot to create
+     * @return true if legacy data was found and migrated
+     * @throws IOException if the legacy data could not be read or the snapshot written
+     */
+    public static boolean migrateMembers(Path legacyDataFile, Path logFile, Path snapshotFile) throws IOException {
+        boolean legacyData = Files.exists(legacyDataFile);
+        boolean legacyLog = MutationLog.readFormatVersion(logFile) == LEGACY_LOG_VERSION;
+        if (!legacyData && !legacyLog) {
+            return false;
+        }
+
+        Map<Integer, Member> members = new HashMap<>();
+        if (legacyData) {
+            members.putAll(SerializedMapFile.<Member>read(legacyDataFile));
+        } else if (Files.exists(snapshotFile)) {
+            SnapshotFile.readMembers(snapshotFile, members);
+        }
+        if (legacyLog) {
+            replayLegacyLog(logFile, (operation, in) -> applyLegacyMemberRecord(members, operation, in));
+        }
+
+        SnapshotFile.writeMembers(snapshotFile, members.values(), nextId(members));
+        finish(legacyDataFile, legacyData, logFile, legacyLog);
+        return true;
+    }
+
+    /**
+     * @param legacyDataFile Java-serialized employee map
+     * @param logFile Employee mutation log, which may still be in the old format
+     * @param snapshotFile Binary employee snapshot to create
+     * @return true if legacy data was found and migrated
+     * @throws IOException if the legacy data could not be read or the snapshot written
+     */
+    public static boolean migrateEmployees(Path legacyDataFile, Path logFile, Path snapshotFile) throws IOException {
+        boolean legacyData = Files.exists(legacyDataFile);
+        boolean legacyLog = MutationLog.readFormatVersion(logFile) == LEGACY_LOG_VERSION;
+        if (!legacyData && !legacyLog) {
+            return false;
+        }
+
+        Map<Integer, Employee> employees = new HashMap<>();
+        if (legacyData) {
+            employees.putAll(SerializedMapFile.<Employee>read(legacyDataFile));
+        } else if (Files.exists(snapshotFile)) {
+            SnapshotFile.readEmployees(snapshotFile, employees);
+        }
+        if (legacyLog) {
+            replayLegacyLog(logFile, (operation, in) -> applyLegacyEmployeeRecord(employees, operation, in));
+        }
+
+        SnapshotFile.writeEmployees(snapshotFile, employees.values(), nextId(employees));
+        finish(legacyDataFile, legacyData, logFile, legacyLog);
+        return true;
+    }
+
+    // Rename the .dat file before deleting the log: if we crash in between, the
+    // next run rebuilds from the new snapshot plus the old log, which is idempotent
+    private static void finish(Path legacyDataFile, boolean legacyData, Path logFile, boolean legacyLog) throws IOException {
+        if (legacyData) {
+            Files.move(legacyDataFile, legacyDataFile.resolveSibling(legacyDataFile.getFileName() + MIGRATED_SUFFIX),
+                StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (legacyLog) {
+            Files.delete(logFile);
+        }
+    }
+
+    // Legacy data never recorded the ID counter; it was always the highest ID plus one
+    private static int nextId(Map<Integer, ?> records) {
+        int maxId = 0;
+        for (int id : records.keySet()) {
+            maxId = Math.max(maxId, id);
+        }
+        return maxId + 1;
+    }
+
+    private static void replayLegacyLog(Path logFile, LegacyRecordReader reader) throws IOException {
+        try (MutationLog log = new MutationLog(logFile, LEGACY_LOG_VERSION)) {
+            log.replay(payload -> {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+                reader.read(in.readUnsignedByte(), in);
+            });
+        }
+    }
+
+    // Version 1 member operations: ADD, UPDATE, REMOVE, PAYMENT, STATUS, CLEAR
+    private static void applyLegacyMemberRecord(Map<Integer, Member> members, int operation, DataInput in) throws IOException {
+        switch (operation) {
+            case 0, 1 -> {
+                Member member = readLegacyMember(in);
+                members.put(member.getMemberId(), member);
+            }
+            case 2 -> members.remove(in.readInt());
+            case 3 -> {
+                Member member = members.get(in.readInt());
+                PaymentStatus paymentStatus = PaymentStatus.valueOf(in.readUTF());
+                LocalDate lastPaymentDate = readLegacyDate(in);
+                if (member != null) {
+                    member.setPaymentStatus(paymentStatus);
+                    member.setLastPaymentDate(lastPaymentDate);
+                }
+            }
+            case 4 -> {
+                Member member = members.get(in.readInt());
+                MembershipStatus status = MembershipStatus.valueOf(in.readUTF());
+                if (member != null) {
+                    member.setMembershipStatus(status);
+                }
+            }
+            case 5 -> members.clear();
+            default -> throw new IOException("Unknown legacy member operation " + operation);
+        }
+    }
+
+    // Version 1 employee operations: ADD, UPDATE, REMOVE
+    private static void applyLegacyEmployeeRecord(Map<Integer, Employee> employees, int operation, DataInput in) throws IOException {
+        switch (operation) {
+            case 0, 1 -> {
+                Employee employee = readLegacyEmployee(in);
+                employees.put(employee.getEmployeeId(), employee);
+            }
+            case 2 -> employees.remove(in.readInt());
+            default -> throw new IOException("Unknown legacy employee operation " + operation);
+        }
+    }
+
+    private static Member readLegacyMember(DataInput in) throws IOException {
+        int memberId = in.readInt();
+        String firstName = readLegacyString(in);
+        String lastName = readLegacyString(in);
+        String email = readLegacyString(in);
+        String phoneNumber = readLegacyString(in);
+        LocalDate membershipDate = readLegacyDate(in);
+        MembershipStatus status = MembershipStatus.valueOf(in.readUTF());
+        MembershipType type = MembershipType.valueOf(in.readUTF());
+        PaymentOption paymentOption = PaymentOption.valueOf(in.readUTF());
+        PaymentStatus paymentStatus = PaymentStatus.valueOf(in.readUTF());
+        LocalDate lastPaymentDate = readLegacyDate(in);
+
+        Member member = new Member(memberId, firstName, lastName, email, phoneNumber,
+                membershipDate, status, type, paymentOption);
+        member.setPaymentStatus(paymentStatus);
+        member.setLastPaymentDate(lastPaymentDate);
+        return member;
+    }
+
+    private static Employee readLegacyEmployee(DataInput in) throws IOException {
+        int employeeId = in.readInt();
+        String firstName = readLegacyString(in);
+        String lastName = readLegacyString(in);
+        String email = readLegacyString(in);
+        String phoneNumber = readLegacyString(in);
+        String department = readLegacyString(in);
+        String position = readLegacyString(in);
+        double salary = in.readDouble();
+        LocalDate hireDate = readLegacyDate(in);
+        WorkStatus workStatus = WorkStatus.valueOf(in.readUTF());
+        return new Employee(employeeId, firstName, lastName, email, phoneNumber,
+                department, position, salary, hireDate, workStatus);
+    }
+
+    private static String readLegacyString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static LocalDate readLegacyDate(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null;
+    }
+}
@@ -0,0 +1,638 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+
+/**
+ * Member store backed by a memory-mapped file of fixed-width slots, one per
+ * member ID, plus an append-only heap file for the variable-length strings.
+ *
+ * Status and payment changes rewrite a few bytes of the member's slot in
+ * place and the OS page cache batches the writes back to disk, so they cost
+ * no system call at all. Name and contact changes append the new string to
+ * the heap and repoint the slot; the space of the old string is reclaimed
+ * when the heap is rebuilt on startup or on {@link #membersCleared()}.
+ *
+ * Slot layout (64 bytes, so a slot never straddles a page):
+ * <pre>
+ *  0  in-use flag        1  membership status   2  membership type
+ *  3  payment option     4  payment status      8  membership date (epoch day)
+ * 12  last payment date 16  first name  28  last name  40  email  52  phone
+ * </pre>
+ * Each string is an 8 byte heap offset and a 4 byte length, -1 for null.
+ * The header also keeps the next free member ID, so removing the highest
+ * member does not hand its ID out again.
+ *
+ * Under {@link FsyncPolicy.Mode#BATCH} a commit forces the heap and the
+ * touched slot pages, covering every change made since the last force. The
+ * force runs outside the store's lock, so changes go on while it is in
+ * flight, and only one runs at a time: commits that arrive meanwhile wait
+ * for it and then share the next one. Under
+ * {@link FsyncPolicy.Mode#INTERVAL} the {@link Checkpointer} forces them on
+ * that interval. Otherwise the mapped pages are written back by the OS and
+ * forced on checkpoint and close.
+ *
+ * Rebuilding writes a new heap generation and a new slot file, then swaps
+ * the slot file in atomically; the slot header names the heap generation it
+ * refers to, so a crash at any point leaves a consistent pair behind.
+ */
+public class MappedMemberStore implements MemberStore {
+    public static final String SLOT_FILE = "fitness_members.slots";
+    public static final String HEAP_FILE_PREFIX = "fitness_members.heap.";
+
+    static final int SLOT_SIZE = 64;
+    static final int HEADER_SIZE = 64;
+    private static final int MAGIC = 0x464D4D53; // "FMMS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / SLOT_SIZE;
+    private static final long REBUILD_SLACK_BYTES = 64 * 1024;
+
+    // Header fields
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_SLOT_SIZE = 8;
+    private static final int HEADER_CAPACITY = 12;
+    private static final int HEADER_HEAP_GENERATION = 16;
+    private static final int HEADER_NEXT_ID = 24;
+
+    // Slot fields
+    private static final int IN_USE = 0;
+    private static final int STATUS = 1;
+    private static final int TYPE = 2;
+    private static final int PAYMENT_OPTION = 3;
+    private static final int PAYMENT_STATUS = 4;
+    private static final int MEMBERSHIP_DATE = 8;
+    private static final int LAST_PAYMENT_DATE = 12;
+    private static final int FIRST_NAME = 16;
+    private static final int LAST_NAME = 28;
+    private static final int EMAIL = 40;
+    private static final int PHONE = 52;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final Path dataDirectory;
+    private final Path slotFile;
+    private final MemberStore importSource;
+    private final FsyncPolicy fsyncPolicy;
+    private final Checkpointer checkpointer;
+    private long version;
+    private final Object syncLock = new Object();
+    private long forcedVersion;     // guarded by syncLock
+    private boolean syncing;        // guarded by syncLock
+    private FileChannel slotChannel;
+    private MappedByteBuffer slots;
+    private int capacity;
+    private FileChannel heapChannel;
+    private long heapGeneration;
+    private long heapEnd;
+    private int nextMemberId = 1;
+
+    /**
+     * @param dataDirectory Directory holding the slot and heap files
+     * @param fsyncPolicy When changes are forced to disk
+     * @param importSource Store to copy members from when no slot file exists
+     * yet, or null to start empty
+     */
+    public MappedMemberStore(Path dataDirectory, FsyncPolicy fsyncPolicy, MemberStore importSource) {
+        this(dataDirectory, fsyncPolicy, importSource, null);
+    }
+
+    /**
+     * @param dataDirectory Directory holding the slot and heap files
+     * @param fsyncPolicy When changes are forced to disk
+     * @param importSource Store to copy members from when no slot file exists
+     * yet, or null to start empty
+     * @param checkpointer Runs the forces of the {@link FsyncPolicy.Mode#INTERVAL}
+     * policy; may be null for the other policies
+     */
+    public MappedMemberStore(Path dataDirectory, FsyncPolicy fsyncPolicy, MemberStore importSource,
+                             Checkpointer checkpointer) {
+        Checkpointer.requireForInterval(fsyncPolicy, checkpointer);
+        this.dataDirectory = dataDirectory;
+        this.slotFile = dataDirectory.resolve(SLOT_FILE);
+        this.fsyncPolicy = fsyncPolicy;
+        this.importSource = importSource;
+        this.checkpointer = checkpointer;
+    }
+
+    @Override
+    public synchronized int open(Map<Integer, Member> members, Supplier<Collection<Member>> snapshotSource) throws IOException {
+        if (!Files.exists(slotFile)) {
+            int nextId = 1;
+            if (importSource != null) {
+                nextId = importSource.open(members, () -> new ArrayList<>(members.values()));
+                importSource.close();
+            }
+            rebuild(members.values(), nextId);
+            startSyncing();
+            return nextMemberId;
+        }
+
+        mapSlotFile();
+        heapChannel = FileChannel.open(heapFile(heapGeneration), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        heapEnd = heapChannel.size();
+        long liveBytes = readMembers(members);
+        deleteStaleHeaps();
+
+        // Strings replaced since the last rebuild are dead weight in the heap
+        if (heapEnd - liveBytes > liveBytes + REBUILD_SLACK_BYTES) {
+            rebuild(members.values(), nextMemberId);
+        }
+        startSyncing();
+        return nextMemberId;
+    }
+
+    private void startSyncing() {
+        if (checkpointer != null) {
+            checkpointer.syncEvery(this, slotFile.toString(), fsyncPolicy, this::checkpoint);
+        }
+    }
+
+    @Override
+    public synchronized long memberAdded(Member member) throws IOException {
+        int base = slotBase(member.getMemberId());
+        ensureCapacity(member.getMemberId());
+        long[] refs = {
+            appendString(member.getFirstName()), appendString(member.getLastName()),
+            appendString(member.getEmail()), appendString(member.getPhoneNumber())
+        };
+        putFixedFields(slots, base, member);
+        putStringRef(slots, base + FIRST_NAME, refs[0], member.getFirstName());
+        putStringRef(slots, base + LAST_NAME, refs[1], member.getLastName());
+        putStringRef(slots, base + EMAIL, refs[2], member.getEmail());
+        putStringRef(slots, base + PHONE, refs[3], member.getPhoneNumber());
+        slots.put(base + IN_USE, (byte) 1);
+        if (member.getMemberId() >= nextMemberId) {
+            nextMemberId = member.getMemberId() + 1;
+            slots.putInt(HEADER_NEXT_ID, nextMemberId);
+        }
+        return ++version;
+    }
+
+    @Override
+    public synchronized long memberUpdated(Member member) throws IOException {
+        if (!inUse(member.getMemberId())) {
+            return memberAdded(member);
+        }
+        int base = slotBase(member.getMemberId());
+        updateString(base + FIRST_NAME, member.getFirstName());
+        updateString(base + LAST_NAME, member.getLastName());
+        updateString(base + EMAIL, member.getEmail());
+        updateString(base + PHONE, member.getPhoneNumber());
+        putFixedFields(slots, base, member);
+        return ++version;
+    }
+
+    @Override
+    public synchronized long memberRemoved(int memberId) throws IOException {
+        if (inUse(memberId)) {
+            slots.put(slotBase(memberId) + IN_USE, (byte) 0);
+        }
+        return ++version;
+    }
+
+    @Override
+    public synchronized long statusChanged(Member member) throws IOException {
+        if (inUse(member.getMemberId())) {
+            slots.put(slotBase(member.getMemberId()) + STATUS, (byte) member.getMembershipStatus().ordinal());
+        }
+        return ++version;
+    }
+
+    @Override
+    public synchronized long paymentChanged(Member member) throws IOException {
+        if (inUse(member.getMemberId())) {
+            int base = slotBase(member.getMemberId());
+            slots.put(base + PAYMENT_STATUS, (byte) member.getPaymentStatus().ordinal());
+            slots.putInt(base + LAST_PAYMENT_DATE, toEpochDay(member.getLastPaymentDate()));
+        }
+        return ++version;
+    }
+
+    /**
+     * Start over with an empty slot file and heap.
+     */
+    @Override
+    public synchronized long membersCleared() throws IOException {
+        // A rebuild forces the new files itself
+        rebuild(List.of(), 1);
+        markForced(++version);
+        return version;
+    }
+
+    @Override
+    public void commit(long ticket) throws IOException {
+        if (fsyncPolicy.mode() == FsyncPolicy.Mode.BATCH) {
+            awaitDurable(ticket);
+        }
+    }
+
+    @Override
+    public void awaitDurable(long ticket) throws IOException {
+        sync(ticket);
+    }
+
+    @Override
+    public synchronized long lastTicket() {
+        return version;
+    }
+
+    /**
+     * @return Ticket of the last change forced to disk
+     */
+    long durableTicket() {
+        synchronized (syncLock) {
+            return forcedVersion;
+        }
+    }
+
+    @Override
+    public void checkpoint() throws IOException {
+        long target;
+        synchronized (this) {
+            target = version;
+        }
+        sync(target);
+    }
+
+    /**
+     * Force the files up to at least the given change. If another caller is
+     * already forcing, wait for it and then force once more on behalf of
+     * everyone who changed a member meanwhile. The version and the files are
+     * read under the store's lock, but the force itself runs outside it.
+     */
+    private void sync(long ticket) throws IOException {
+        synchronized (syncLock) {
+            while (forcedVersion < ticket && syncing) {
+                try {
+                    syncLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for member sync");
+                }
+            }
+            if (forcedVersion >= ticket) {
+                return;
+            }
+            syncing = true;
+        }
+
+        try {
+            MappedByteBuffer mappedSlots;
+            FileChannel heap;
+            long target;
+            synchronized (this) {
+                if (slots == null) {
+                    return;
+                }
+                mappedSlots = slots;
+                heap = heapChannel;
+                target = version;
+            }
+            try {
+                force(heap, mappedSlots);
+            } catch (ClosedChannelException e) {
+                // Closed or swapped by a rebuild, both of which force first
+                synchronized (this) {
+                    if (heapChannel == heap) {
+                        throw e;
+                    }
+                }
+            }
+            markForced(target);
+        } finally {
+            synchronized (syncLock) {
+                syncing = false;
+                syncLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Force the heap and then the slots to disk, so a forced slot never
+     * refers to string bytes that did not make it
+     */
+    private static void force(FileChannel heap, MappedByteBuffer mappedSlots) throws IOException {
+        heap.force(false);
+        mappedSlots.force();
+    }
+
+    private void markForced(long ticket) {
+        synchronized (syncLock) {
+            forcedVersion = Math.max(forcedVersion, ticket);
+            syncLock.notifyAll();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (checkpointer != null) {
+            checkpointer.cancelSync(this);
+        }
+        closeFiles();
+    }
+
+    // Force and close the current slot and heap files, keeping the interval
+    // sync, which a rebuild still needs for the files that replace them
+    private void closeFiles() throws IOException {
+        if (slots == null) {
+            return;
+        }
+        try {
+            // Forced here, under the lock, rather than through sync(), whose
+            // force would wait for this lock to read the files
+            force(heapChannel, slots);
+            markForced(version);
+        } finally {
+            slots = null;
+            try {
+                slotChannel.close();
+            } finally {
+                heapChannel.close();
+            }
+        }
+    }
+
+    private long readMembers(Map<Integer, Member> members) throws IOException {
+        long liveBytes = 0;
+        int maxId = 0;
+        for (int index = 0; index < capacity; index++) {
+            int base = HEADER_SIZE + index * SLOT_SIZE;
+            if (slots.get(base + IN_USE) == 0) {
+                continue;
+            }
+            String firstName = storedString(base + FIRST_NAME);
+            String lastName = storedString(base + LAST_NAME);
+            String email = storedString(base + EMAIL);
+            String phoneNumber = storedString(base + PHONE);
+            liveBytes += Math.max(0, slots.getInt(base + FIRST_NAME + 8)) + Math.max(0, slots.getInt(base + LAST_NAME + 8))
+                + Math.max(0, slots.getInt(base + EMAIL + 8)) + Math.max(0, slots.getInt(base + PHONE + 8));
+
+            Member member = new Member(index + 1, firstName, lastName, email, phoneNumber,
+                fromEpochDay(slots.getInt(base + MEMBERSHIP_DATE)),
+                RecordCodec.membershipStatusAt(slots.get(base + STATUS) & 0xFF),
+                RecordCodec.membershipTypeAt(slots.get(base + TYPE) & 0xFF),
+                RecordCodec.paymentOptionAt(slots.get(base + PAYMENT_OPTION) & 0xFF));
+            member.setPaymentStatus(RecordCodec.paymentStatusAt(slots.get(base + PAYMENT_STATUS) & 0xFF));
+            member.setLastPaymentDate(fromEpochDay(slots.getInt(base + LAST_PAYMENT_DATE)));
+            members.put(member.getMemberId(), member);
+            maxId = member.getMemberId();
+        }
+        // Files written before the header kept the next ID read it as zero
+        nextMemberId = Math.max(slots.getInt(HEADER_NEXT_ID), maxId + 1);
+        return liveBytes;
+    }
+
+    /**
+     * Write every member into a fresh heap generation and slot file, then
+     * swap them in. Used to create the files and to drop dead heap space.
+     */
+    private void rebuild(Collection<Member> members, int nextId) throws IOException {
+        List<Member> sorted = new ArrayList<>(members);
+        sorted.sort(Comparator.comparingInt(Member::getMemberId));
+        int newCapacity = MIN_CAPACITY;
+        int newNextId = nextId;
+        for (Member member : sorted) {
+            slotBase(member.getMemberId());
+            newCapacity = Math.max(newCapacity, member.getMemberId());
+            newNextId = Math.max(newNextId, member.getMemberId() + 1);
+        }
+
+        long newGeneration = heapGeneration + 1;
+        Path newHeap = heapFile(newGeneration);
+        Map<Integer, long[]> refs = new HashMap<>();
+        try (CountingOutputStream out = new CountingOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(newHeap)))) {
+            for (Member member : sorted) {
+                refs.put(member.getMemberId(), new long[] {
+                    out.writeString(member.getFirstName()), out.writeString(member.getLastName()),
+                    out.writeString(member.getEmail()), out.writeString(member.getPhoneNumber())
+                });
+            }
+        }
+        try (FileChannel channel = FileChannel.open(newHeap, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+
+        Path tmp = slotFile.resolveSibling(slotFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            putHeader(header, newCapacity, newGeneration, newNextId);
+            channel.write(header, 0);
+
+            ByteBuffer slot = ByteBuffer.allocate(SLOT_SIZE);
+            for (Member member : sorted) {
+                long[] memberRefs = refs.get(member.getMemberId());
+                slot.clear();
+                slot.put(0, new byte[SLOT_SIZE]);
+                putFixedFields(slot, 0, member);
+                putStringRef(slot, FIRST_NAME, memberRefs[0], member.getFirstName());
+                putStringRef(slot, LAST_NAME, memberRefs[1], member.getLastName());
+                putStringRef(slot, EMAIL, memberRefs[2], member.getEmail());
+                putStringRef(slot, PHONE, memberRefs[3], member.getPhoneNumber());
+                slot.put(IN_USE, (byte) 1);
+                channel.write(slot, slotBase(member.getMemberId()));
+            }
+            // Extend to the full capacity; the unwritten slots read as zeros
+            channel.write(ByteBuffer.allocate(1), HEADER_SIZE + (long) newCapacity * SLOT_SIZE - 1);
+            channel.force(true);
+        }
+
+        closeFiles();
+        Files.move(tmp, slotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        mapSlotFile();
+        nextMemberId = newNextId;
+        heapChannel = FileChannel.open(newHeap, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        heapEnd = heapChannel.size();
+        deleteStaleHeaps();
+    }
+
+    private void mapSlotFile() throws IOException {
+        slotChannel = FileChannel.open(slotFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (slotChannel.read(header, 0) < HEADER_SIZE
+                || header.getInt(HEADER_MAGIC) != MAGIC
+                || header.getInt(HEADER_VERSION) != FORMAT_VERSION
+                || header.getInt(HEADER_SLOT_SIZE) != SLOT_SIZE) {
+            slotChannel.close();
+            throw new IOException("Not a member slot file: " + slotFile);
+        }
+        capacity = header.getInt(HEADER_CAPACITY);
+        heapGeneration = header.getLong(HEADER_HEAP_GENERATION);
+        slots = slotChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+    }
+
+    /**
+     * Grow the mapping so it covers the given member ID. Mapping past the end
+     * of the file extends it, so this is one remap per doubling.
+     */
+    private void ensureCapacity(int memberId) throws IOException {
+        if (memberId <= capacity) {
+            return;
+        }
+        int newCapacity = (int) Math.min(MAX_CAPACITY, Math.max((long) capacity * 2, memberId));
+        slots.force();
+        slots = slotChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) newCapacity * SLOT_SIZE);
+        slots.putInt(HEADER_CAPACITY, newCapacity);
+        capacity = newCapacity;
+    }
+
+    private boolean inUse(int memberId) {
+        return memberId >= 1 && memberId <= capacity && slots.get(slotBase(memberId) + IN_USE) != 0;
+    }
+
+    private void updateString(int refPosition, String value) throws IOException {
+        if (!Objects.equals(storedString(refPosition), value)) {
+            putStringRef(slots, refPosition, appendString(value), value);
+        }
+    }
+
+    /**
+     * Read a string with positional reads rather than through a mapping of
+     * the heap, which could not address a heap past 2 GiB
+     */
+    private String storedString(int refPosition) throws IOException {
+        int length = slots.getInt(refPosition + 8);
+        if (length < 0) {
+            return null;
+        }
+        long position = slots.getLong(refPosition);
+        if (position < 0 || position + length > heapEnd) {
+            throw new IOException("Slot string reference outside heap in " + slotFile);
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        while (bytes.hasRemaining()) {
+            if (heapChannel.read(bytes, position + bytes.position()) < 0) {
+                throw new IOException("Slot string reference outside heap in " + slotFile);
+            }
+        }
+        return new String(bytes.array(), StandardCharsets.UTF_8);
+    }
+
+    private long appendString(String value) throws IOException {
+        if (value == null) {
+            return 0;
+        }
+        ByteBuffer bytes = encode(value);
+        long offset = heapEnd;
+        while (bytes.hasRemaining()) {
+            heapEnd += heapChannel.write(bytes, heapEnd);
+        }
+        return offset;
+    }
+
+    private Path heapFile(long generation) {
+        return dataDirectory.resolve(HEAP_FILE_PREFIX + generation);
+    }
+
+    private void deleteStaleHeaps() throws IOException {
+        Path current = heapFile(heapGeneration);
+        try (DirectoryStream<Path> heaps = Files.newDirectoryStream(dataDirectory, HEAP_FILE_PREFIX + "*")) {
+            for (Path heap : heaps) {
+                if (!heap.equals(current)) {
+                    Files.deleteIfExists(heap);
+                }
+            }
+        }
+    }
+
+    private static int slotBase(int memberId) {
+        if (memberId < 1 || memberId > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Member ID out of range for slot file: " + memberId);
+        }
+        return HEADER_SIZE + (memberId - 1) * SLOT_SIZE;
+    }
+
+    private static void putHeader(ByteBuffer header, int capacity, long heapGeneration, int nextId) {
+        header.putInt(HEADER_MAGIC, MAGIC);
+        header.putInt(HEADER_VERSION, FORMAT_VERSION);
+        header.putInt(HEADER_SLOT_SIZE, SLOT_SIZE);
+        header.putInt(HEADER_CAPACITY, capacity);
+        header.putLong(HEADER_HEAP_GENERATION, heapGeneration);
+        header.putInt(HEADER_NEXT_ID, nextId);
+    }
+
+    private static void putFixedFields(ByteBuffer buffer, int base, Member member) {
+        buffer.put(base + STATUS, (byte) member.getMembershipStatus().ordinal());
+        buffer.put(base + TYPE, (byte) member.getMembershipType().ordinal());
+        buffer.put(base + PAYMENT_OPTION, (byte) member.getPaymentOption().ordinal());
+        buffer.put(base + PAYMENT_STATUS, (byte) member.getPaymentStatus().ordinal());
+        buffer.putInt(base + MEMBERSHIP_DATE, toEpochDay(member.getMembershipDate()));
+        buffer.putInt(base + LAST_PAYMENT_DATE, toEpochDay(member.getLastPaymentDate()));
+    }
+
+    private static void putStringRef(ByteBuffer buffer, int refPosition, long offset, String value) {
+        buffer.putLong(refPosition, value == null ? 0 : offset);
+        buffer.putInt(refPosition + 8, value == null ? -1 : encode(value).remaining());
+    }
+
+    private static ByteBuffer encode(String value) {
+        return value == null ? ByteBuffer.allocate(0) : ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    private static LocalDate fromEpochDay(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream out;
+        private long position;
+
+        CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        long writeString(String value) throws IOException {
+            long offset = position;
+            if (value != null) {
+                write(value.getBytes(StandardCharsets.UTF_8));
+            }
+            return offset;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            position++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+            position += length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
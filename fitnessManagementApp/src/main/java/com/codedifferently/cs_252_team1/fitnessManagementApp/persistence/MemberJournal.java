@@ -0,0 +1,135 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipStatus;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentStatus;
+
+/**
+ * Records member changes as small operation records in a {@link MutationLog}
+ * and rebuilds the member map from them on startup.
+ *
+ * Every record carries the resulting value rather than a relative change, so
+ * replaying a record that is already reflected in the snapshot is harmless.
+ */
+public class MemberJournal extends Journal {
+
+    enum Operation {
+        ADD,
+        UPDATE,
+        REMOVE,
+        PAYMENT,
+        STATUS,
+        CLEAR
+    }
+
+    public MemberJournal(Path logFile) {
+        this(logFile, FsyncPolicy.everyBatch());
+    }
+
+    public MemberJournal(Path logFile, FsyncPolicy fsyncPolicy) {
+        this(logFile, fsyncPolicy, null);
+    }
+
+    public MemberJournal(Path logFile, FsyncPolicy fsyncPolicy, BackgroundPersister persister) {
+        super(logFile, fsyncPolicy, persister);
+    }
+
+    public long recordAdd(Member member) throws IOException {
+        return append(Operation.ADD.ordinal(), out -> RecordCodec.writeMember(out, member));
+    }
+
+    public long recordUpdate(Member member) throws IOException {
+        return append(Operation.UPDATE.ordinal(), out -> RecordCodec.writeMember(out, member));
+    }
+
+    public long recordRemove(int memberId) throws IOException {
+        return append(Operation.REMOVE.ordinal(), out -> RecordCodec.writeVarInt(out, memberId));
+    }
+
+    public long recordPayment(Member member) throws IOException {
+        return append(Operation.PAYMENT.ordinal(), out -> {
+            RecordCodec.writeVarInt(out, member.getMemberId());
+            RecordCodec.writeEnum(out, member.getPaymentStatus());
+            RecordCodec.writeDate(out, member.getLastPaymentDate());
+        });
+    }
+
+    public long recordStatus(Member member) throws IOException {
+        return append(Operation.STATUS.ordinal(), out -> {
+            RecordCodec.writeVarInt(out, member.getMemberId());
+            RecordCodec.writeEnum(out, member.getMembershipStatus());
+        });
+    }
+
+    public long recordClear() throws IOException {
+        return append(Operation.CLEAR.ordinal(), out -> { });
+    }
+
+    /**
+     * Apply every logged operation, oldest first, to the given map.
+     * @param members Map already holding the snapshot contents
+     * @return Number of operations replayed
+     * @throws IOException if the log could not be read
+     */
+    public long replay(Map<Integer, Member> members) throws IOException {
+        return replayRecords((operation, in) -> apply(members, Operation.values()[operation], in));
+    }
+
+    /**
+     * Apply every logged operation and carry the next free member ID forward:
+     * added members move it past their ID and a clear starts it over at 1.
+     * @param members Map already holding the snapshot contents
+     * @param nextMemberId Next free ID according to the snapshot
+     * @return Next free ID after the logged operations
+     * @throws IOException if the log could not be read
+     */
+    public int replay(Map<Integer, Member> members, int nextMemberId) throws IOException {
+        int[] nextId = {nextMemberId};
+        replayRecords((operation, in) -> {
+            Operation op = Operation.values()[operation];
+            Integer added = apply(members, op, in);
+            if (added != null) {
+                nextId[0] = Math.max(nextId[0], added + 1);
+            } else if (op == Operation.CLEAR) {
+                nextId[0] = 1;
+            }
+        });
+        return nextId[0];
+    }
+
+    // Returns the ID of an added or updated member
+    private Integer apply(Map<Integer, Member> members, Operation operation, DataInput in) throws IOException {
+        switch (operation) {
+            case ADD, UPDATE -> {
+                Member member = RecordCodec.readMember(in);
+                members.put(member.getMemberId(), member);
+                return member.getMemberId();
+            }
+            case REMOVE -> members.remove(RecordCodec.readVarInt(in));
+            case PAYMENT -> {
+                Member member = members.get(RecordCodec.readVarInt(in));
+                PaymentStatus paymentStatus = RecordCodec.readPaymentStatus(in);
+                LocalDate lastPaymentDate = RecordCodec.readDate(in);
+                if (member != null) {
+                    member.setPaymentStatus(paymentStatus);
+                    member.setLastPaymentDate(lastPaymentDate);
+                }
+            }
+            case STATUS -> {
+                Member member = members.get(RecordCodec.readVarInt(in));
+                MembershipStatus status = RecordCodec.readMembershipStatus(in);
+                if (member != null) {
+                    member.setMembershipStatus(status);
+                }
+            }
+            case CLEAR -> members.clear();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipStatus;
+
+/**
+ * Durable form of the member map. The manager keeps the live map in memory
+ * and tells the store about every change after applying it; the store decides
+ * how much has to be written for each kind of change.
+ *
+ * Each change returns a ticket. Once the manager has released its lock it
+ * passes the ticket to {@link #commit}, which waits for as much durability as
+ * the {@link FsyncPolicy} asks for; concurrent changes can share one force.
+ */
+public interface MemberStore extends Closeable {
+
+    /**
+     * Load the stored members into the map.
+     * @param members Empty map to fill
+     * @param snapshotSource Supplies a copy of the current members whenever
+     * the store wants to write a full snapshot
+     * @return Next free member ID as recorded by the store, so IDs of removed
+     * members are never handed out again
+     * @throws IOException if the stored data could not be read
+     */
+    int open(Map<Integer, Member> members, Supplier<Collection<Member>> snapshotSource) throws IOException;
+
+    long memberAdded(Member member) throws IOException;
+
+    long memberUpdated(Member member) throws IOException;
+
+    long memberRemoved(int memberId) throws IOException;
+
+    long statusChanged(Member member) throws IOException;
+
+    long paymentChanged(Member member) throws IOException;
+
+    long membersCleared() throws IOException;
+
+    /**
+     * Answer a status query from the store's own index, such as a database
+     * index, instead of the manager's in-memory one. Stores without such an
+     * index return null.
+     * @param status Membership status to look for
+     * @return IDs of the members with that status, or null if not supported
+     * @throws IOException if the store could not be queried
+     */
+    default List<Integer> findIdsByStatus(MembershipStatus status) throws IOException {
+        return null;
+    }
+
+    /**
+     * Make a change as durable as the fsync policy asks for.
+     * @param ticket Value returned by the change
+     * @throws IOException if the data could not be forced to disk
+     */
+    void commit(long ticket) throws IOException;
+
+    /**
+     * Wait until a change is on disk, whatever the fsync policy.
+     * @param ticket Value returned by the change
+     * @throws IOException if the data could not be written or forced
+     */
+    void awaitDurable(long ticket) throws IOException;
+
+    /**
+     * @return Ticket of the most recent change
+     */
+    long lastTicket();
+
+    /**
+     * Bring the on-disk form up to date so that the next startup is fast and
+     * everything written so far is on stable storage.
+     * @throws IOException if the data could not be written
+     */
+    void checkpoint() throws IOException;
+
+    /**
+     * Take a final checkpoint and release the files.
+     */
+    @Override
+    void close() throws IOException;
+}
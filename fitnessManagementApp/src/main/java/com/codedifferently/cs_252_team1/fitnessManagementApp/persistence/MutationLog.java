@@ -0,0 +1,532 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of framed binary records.
+ *
+ * Each record is written as {@code [length][crc32][payload]}, so a record that
+ * was only partially written when the process died is detected on the next
+ * open and cut off instead of corrupting the records that follow it.
+ * The log knows nothing about what the payloads mean; callers such as
+ * {@link MemberJournal} encode and decode them.
+ *
+ * Every append is numbered. {@link #commit} makes a record durable as the
+ * {@link FsyncPolicy} requires, and {@link #sync} forces the log with group
+ * commit: one caller forces the file while the others wait, and everything
+ * appended by the time the force starts is covered by it.
+ *
+ * A log created with a {@link BackgroundPersister} is write-behind: appends
+ * only buffer the framed record, and the persister thread writes the buffer
+ * in one go. Anything that needs file positions or durability (marks,
+ * compaction, sync, close) writes the buffer first. Under
+ * {@link FsyncPolicy.Mode#BATCH} a commit on such a log still waits until the
+ * persister has written and forced the record, so every change made within
+ * one linger shares a single write and force.
+ */
+public class MutationLog implements Closeable {
+    /** Version 1 encoded fields with writeUTF and 8-byte dates; version 2 uses {@link RecordCodec}. */
+    public static final int FORMAT_VERSION = 2;
+
+    private static final int MAGIC = 0x464D4C47; // "FMLG"
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private final Path file;
+    private final int formatVersion;
+    private final FsyncPolicy fsyncPolicy;
+    private final BackgroundPersister persister;
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private long pendingRecords;
+    private FileChannel channel;
+    private long size;
+    private long recordCount;
+    private long appendSequence;
+
+    // How long a commit waits beyond the persister's linger before forcing
+    // the log itself, for example after a failed background write
+    private static final long PERSIST_GRACE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Object syncLock = new Object();
+    private long durableSequence;   // guarded by syncLock
+    private boolean syncing;        // guarded by syncLock
+
+    /**
+     * Position in the log, used to drop the records a snapshot already covers.
+     * @param position Byte offset just past the last covered record
+     * @param recordCount Number of records before that offset
+     */
+    public record Mark(long position, long recordCount) {
+    }
+
+    /**
+     * Callback used while replaying the log.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void handle(byte[] payload) throws IOException;
+    }
+
+    /**
+     * Create a log backed by the given file that forces every batch of
+     * appends. The file is not opened or created until the first append or replay.
+     * @param file Path of the log file
+     */
+    public MutationLog(Path file) {
+        this(file, FsyncPolicy.everyBatch());
+    }
+
+    /**
+     * Create a log backed by the given file. The file is not opened or created
+     * until the first append or replay.
+     * @param file Path of the log file
+     * @param fsyncPolicy When appended records are forced to disk
+     */
+    public MutationLog(Path file, FsyncPolicy fsyncPolicy) {
+        this(file, fsyncPolicy, null);
+    }
+
+    /**
+     * Create a log backed by the given file. The file is not opened or created
+     * until the first append or replay.
+     * @param file Path of the log file
+     * @param fsyncPolicy When written records are forced to disk
+     * @param persister Background persister that writes appended records, or
+     * null to write them on the appending thread
+     */
+    public MutationLog(Path file, FsyncPolicy fsyncPolicy, BackgroundPersister persister) {
+        this(file, FORMAT_VERSION, fsyncPolicy, persister);
+    }
+
+    /**
+     * Create a log that reads and writes an older format version. Only used
+     * to migrate logs written before the current format.
+     * @param file Path of the log file
+     * @param formatVersion Version expected in the file header
+     */
+    MutationLog(Path file, int formatVersion) {
+        this(file, formatVersion, FsyncPolicy.osManaged(), null);
+    }
+
+    private MutationLog(Path file, int formatVersion, FsyncPolicy fsyncPolicy, BackgroundPersister persister) {
+        this.file = file;
+        this.formatVersion = formatVersion;
+        this.fsyncPolicy = fsyncPolicy;
+        this.persister = persister;
+    }
+
+    /**
+     * @param file Path of a log file
+     * @return The format version in its header, or 0 if the file is missing or empty
+     * @throws IOException if the file is not a mutation log
+     */
+    public static int readFormatVersion(Path file) throws IOException {
+        if (!file.toFile().exists() || Files.size(file) < HEADER_SIZE) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a mutation log: " + file);
+            }
+            return in.readInt();
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    /**
+     * Append one record to the end of the log. The record is written, or for
+     * a write-behind log buffered, but not necessarily on disk; pass the
+     * returned sequence number to {@link #commit}.
+     * @param payload Encoded record
+     * @return Sequence number of the record
+     * @throws IOException if the record could not be written
+     */
+    public synchronized long append(byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+        buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+
+        if (persister != null) {
+            pending.write(buffer.array(), 0, buffer.position());
+            pendingRecords++;
+            persister.markDirty(this);
+            return ++appendSequence;
+        }
+
+        buffer.flip();
+        write(buffer, 1);
+        return ++appendSequence;
+    }
+
+    /**
+     * Make a record as durable as the fsync policy asks for: wait for it to
+     * be forced under {@link FsyncPolicy.Mode#BATCH}, return at once otherwise.
+     * A write-behind log waits for its persister's force, and forces the log
+     * itself if the persister has not done so within its linger and a grace
+     * period.
+     * @param sequence Sequence number returned by {@link #append}
+     * @throws IOException if the log could not be forced
+     */
+    public void commit(long sequence) throws IOException {
+        if (fsyncPolicy.mode() != FsyncPolicy.Mode.BATCH) {
+            return;
+        }
+        if (persister == null || !awaitPersisted(sequence)) {
+            sync(sequence);
+        }
+    }
+
+    /**
+     * @return Whether the persister made the record durable before the deadline
+     */
+    private boolean awaitPersisted(long sequence) throws InterruptedIOException {
+        long deadline = System.nanoTime() + persister.getLinger().toNanos() + PERSIST_GRACE_NANOS;
+        synchronized (syncLock) {
+            while (durableSequence < sequence) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(syncLock, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for log sync");
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Write the buffered records of a write-behind log, then force them if
+     * the fsync policy asks for it. Called by the {@link BackgroundPersister}.
+     * @throws IOException if the records could not be written or forced
+     */
+    void persistPending() throws IOException {
+        long sequence;
+        synchronized (this) {
+            writePending();
+            sequence = appendSequence;
+        }
+        if (fsyncPolicy.mode() == FsyncPolicy.Mode.BATCH) {
+            sync(sequence);
+        }
+    }
+
+    /**
+     * Force the log to disk up to at least the given record, regardless of
+     * the fsync policy. If another caller is already forcing, wait for it and
+     * then force once more on behalf of everyone who appended meanwhile.
+     * @param sequence Sequence number returned by {@link #append}
+     * @throws IOException if the log could not be forced
+     */
+    public void sync(long sequence) throws IOException {
+        synchronized (syncLock) {
+            while (durableSequence < sequence && syncing) {
+                try {
+                    syncLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted waiting for log sync");
+                }
+            }
+            if (durableSequence >= sequence) {
+                return;
+            }
+            syncing = true;
+        }
+
+        try {
+            FileChannel ch;
+            long target;
+            synchronized (this) {
+                writePending();
+                ch = channel;
+                target = appendSequence;
+            }
+            if (ch != null) {
+                try {
+                    ch.force(false);
+                } catch (ClosedChannelException e) {
+                    // Closed or swapped by discardBefore, both of which force first
+                    synchronized (this) {
+                        if (channel == ch) {
+                            throw e;
+                        }
+                    }
+                }
+            }
+            markDurable(target);
+        } finally {
+            synchronized (syncLock) {
+                syncing = false;
+                syncLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * @return Sequence number of the last appended record
+     */
+    public synchronized long lastSequence() {
+        return appendSequence;
+    }
+
+    /**
+     * @return Sequence number up to which the log is known to be on disk
+     */
+    public long durableSequence() {
+        synchronized (syncLock) {
+            return durableSequence;
+        }
+    }
+
+    /**
+     * Read every intact record from the start of the log, in append order.
+     * A torn or corrupt record at the tail is truncated away.
+     * @param handler Receives the payload of each record
+     * @return Number of records replayed
+     * @throws IOException if the log could not be read
+     */
+    public synchronized long replay(RecordHandler handler) throws IOException {
+        close();
+        if (!file.toFile().exists()) {
+            return 0;
+        }
+        open(handler);
+        return recordCount;
+    }
+
+    /**
+     * Discard every record, keeping only the file header. Called once the
+     * records have been folded into a snapshot.
+     * @throws IOException if the log could not be truncated
+     */
+    public synchronized void reset() throws IOException {
+        pending.reset();
+        pendingRecords = 0;
+        FileChannel ch = open();
+        ch.truncate(HEADER_SIZE);
+        size = HEADER_SIZE;
+        recordCount = 0;
+        // Nothing appended so far needs to survive any more
+        markDurable(appendSequence);
+    }
+
+    /**
+     * @return The current end of the log
+     */
+    public synchronized Mark mark() throws IOException {
+        writePending();
+        return new Mark(size, recordCount);
+    }
+
+    /**
+     * Drop every record before the given mark, keeping the records appended
+     * after it. The tail is copied to a new file which then atomically
+     * replaces the log.
+     * @param mark Mark taken when the snapshot state was captured
+     * @throws IOException if the log could not be rewritten
+     */
+    public synchronized void discardBefore(Mark mark) throws IOException {
+        writePending();
+        FileChannel ch = open();
+        if (mark.position() <= HEADER_SIZE) {
+            return;
+        }
+        if (mark.position() >= size) {
+            reset();
+            return;
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        long tail = size - mark.position();
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(out);
+            out.position(HEADER_SIZE);
+            long copied = 0;
+            while (copied < tail) {
+                copied += ch.transferTo(mark.position() + copied, tail - copied, out);
+            }
+            out.force(true);
+        }
+        close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        size = HEADER_SIZE + tail;
+        recordCount -= mark.recordCount();
+        // The copied tail was forced before the swap
+        markDurable(appendSequence);
+    }
+
+    /**
+     * @return Size of the log in bytes, including the file header and any
+     * records still buffered for writing
+     */
+    public synchronized long sizeInBytes() {
+        return size + pending.size();
+    }
+
+    /**
+     * @return Number of records currently in the log, including buffered ones
+     */
+    public synchronized long recordCount() {
+        return recordCount + pendingRecords;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writePending();
+        if (channel != null) {
+            try {
+                if (fsyncPolicy.mode() != FsyncPolicy.Mode.OS) {
+                    channel.force(false);
+                    markDurable(appendSequence);
+                }
+            } finally {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    private void writePending() throws IOException {
+        if (pendingRecords == 0) {
+            return;
+        }
+        // A failed write leaves the buffer in place; the retry overwrites any partial data
+        write(ByteBuffer.wrap(pending.toByteArray()), pendingRecords);
+        pending.reset();
+        pendingRecords = 0;
+    }
+
+    private void write(ByteBuffer buffer, long records) throws IOException {
+        FileChannel ch = open();
+        long position = size;
+        while (buffer.hasRemaining()) {
+            position += ch.write(buffer, position);
+        }
+        size = position;
+        recordCount += records;
+    }
+
+    private void markDurable(long sequence) {
+        synchronized (syncLock) {
+            durableSequence = Math.max(durableSequence, sequence);
+            syncLock.notifyAll();
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        return open(payload -> { });
+    }
+
+    private FileChannel open(RecordHandler handler) throws IOException {
+        if (channel != null) {
+            return channel;
+        }
+        if (file.getParent() != null) {
+            file.getParent().toFile().mkdirs();
+        }
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (ch.size() < HEADER_SIZE) {
+                writeHeader(ch);
+                size = HEADER_SIZE;
+                recordCount = 0;
+            } else {
+                scan(ch, handler);
+            }
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+        channel = ch;
+        return ch;
+    }
+
+    private void writeHeader(FileChannel ch) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(formatVersion).flip();
+        ch.truncate(0);
+        while (header.hasRemaining()) {
+            ch.write(header, HEADER_SIZE - header.remaining());
+        }
+    }
+
+    private void scan(FileChannel ch, RecordHandler handler) throws IOException {
+        long fileSize = ch.size();
+        ch.position(0);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(ch), 64 * 1024));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a mutation log: " + file);
+        }
+        int version = in.readInt();
+        if (version != formatVersion) {
+            throw new IOException("Unsupported mutation log version " + version + " in " + file);
+        }
+
+        long position = HEADER_SIZE;
+        long records = 0;
+        CRC32 crc = new CRC32();
+        while (position + RECORD_HEADER_SIZE <= fileSize) {
+            byte[] payload;
+            int checksum;
+            try {
+                int length = in.readInt();
+                checksum = in.readInt();
+                if (length < 0 || position + RECORD_HEADER_SIZE + length > fileSize) {
+                    break;
+                }
+                payload = new byte[length];
+                in.readFully(payload);
+            } catch (EOFException e) {
+                break;
+            }
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            handler.handle(payload);
+            position += RECORD_HEADER_SIZE + payload.length;
+            records++;
+        }
+
+        if (position < fileSize) {
+            System.err.println("Warning: Discarding " + (fileSize - position)
+                    + " bytes of incomplete log data in " + file);
+            ch.truncate(position);
+        }
+        size = position;
+        recordCount = records;
+    }
+}
@@ -0,0 +1,202 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Employee;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipStatus;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipType;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentOption;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentStatus;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.WorkStatus;
+
+/**
+ * Compact binary encoding of {@link Member} and {@link Employee} records,
+ * shared by snapshots and mutation logs.
+ *
+ * IDs and lengths are unsigned varints, dates are zigzag varints of the epoch
+ * day, enums are single ordinal bytes and strings are length-prefixed UTF-8.
+ * Nullable values reserve 0 for null. Enum constants may be appended but not
+ * reordered without bumping {@link #FORMAT_VERSION}.
+ */
+public final class RecordCodec {
+    public static final int FORMAT_VERSION = 1;
+
+    private static final MembershipStatus[] MEMBERSHIP_STATUSES = MembershipStatus.values();
+    private static final MembershipType[] MEMBERSHIP_TYPES = MembershipType.values();
+    private static final PaymentOption[] PAYMENT_OPTIONS = PaymentOption.values();
+    private static final PaymentStatus[] PAYMENT_STATUSES = PaymentStatus.values();
+    private static final WorkStatus[] WORK_STATUSES = WorkStatus.values();
+
+    private RecordCodec() {
+    }
+
+    public static void writeMember(DataOutput out, Member member) throws IOException {
+        writeVarInt(out, member.getMemberId());
+        writeString(out, member.getFirstName());
+        writeString(out, member.getLastName());
+        writeString(out, member.getEmail());
+        writeString(out, member.getPhoneNumber());
+        writeDate(out, member.getMembershipDate());
+        writeEnum(out, member.getMembershipStatus());
+        writeEnum(out, member.getMembershipType());
+        writeEnum(out, member.getPaymentOption());
+        writeEnum(out, member.getPaymentStatus());
+        writeDate(out, member.getLastPaymentDate());
+    }
+
+    public static Member readMember(DataInput in) throws IOException {
+        int memberId = readVarInt(in);
+        String firstName = readString(in);
+        String lastName = readString(in);
+        String email = readString(in);
+        String phoneNumber = readString(in);
+        LocalDate membershipDate = readDate(in);
+        MembershipStatus status = readEnum(in, MEMBERSHIP_STATUSES);
+        MembershipType type = readEnum(in, MEMBERSHIP_TYPES);
+        PaymentOption paymentOption = readEnum(in, PAYMENT_OPTIONS);
+        PaymentStatus paymentStatus = readEnum(in, PAYMENT_STATUSES);
+        LocalDate lastPaymentDate = readDate(in);
+
+        Member member = new Member(memberId, firstName, lastName, email, phoneNumber,
+                membershipDate, status, type, paymentOption);
+        member.setPaymentStatus(paymentStatus);
+        member.setLastPaymentDate(lastPaymentDate);
+        return member;
+    }
+
+    public static void writeEmployee(DataOutput out, Employee employee) throws IOException {
+        writeVarInt(out, employee.getEmployeeId());
+        writeString(out, employee.getFirstName());
+        writeString(out, employee.getLastName());
+        writeString(out, employee.getEmail());
+        writeString(out, employee.getPhoneNumber());
+        writeString(out, employee.getDepartment());
+        writeString(out, employee.getPosition());
+        out.writeDouble(employee.getSalary());
+        writeDate(out, employee.getHireDate());
+        writeEnum(out, employee.getWorkStatus());
+    }
+
+    public static Employee readEmployee(DataInput in) throws IOException {
+        int employeeId = readVarInt(in);
+        String firstName = readString(in);
+        String lastName = readString(in);
+        String email = readString(in);
+        String phoneNumber = readString(in);
+        String department = readString(in);
+        String position = readString(in);
+        double salary = in.readDouble();
+        LocalDate hireDate = readDate(in);
+        WorkStatus workStatus = readEnum(in, WORK_STATUSES);
+        return new Employee(employeeId, firstName, lastName, email, phoneNumber,
+                department, position, salary, hireDate, workStatus);
+    }
+
+    public static MembershipStatus readMembershipStatus(DataInput in) throws IOException {
+        return readEnum(in, MEMBERSHIP_STATUSES);
+    }
+
+    public static PaymentStatus readPaymentStatus(DataInput in) throws IOException {
+        return readEnum(in, PAYMENT_STATUSES);
+    }
+
+    static MembershipStatus membershipStatusAt(int ordinal) throws IOException {
+        return enumAt(MEMBERSHIP_STATUSES, ordinal);
+    }
+
+    static MembershipType membershipTypeAt(int ordinal) throws IOException {
+        return enumAt(MEMBERSHIP_TYPES, ordinal);
+    }
+
+    static PaymentOption paymentOptionAt(int ordinal) throws IOException {
+        return enumAt(PAYMENT_OPTIONS, ordinal);
+    }
+
+    static PaymentStatus paymentStatusAt(int ordinal) throws IOException {
+        return enumAt(PAYMENT_STATUSES, ordinal);
+    }
+
+    /**
+     * Write a non-negative int in 1 to 5 bytes, 7 bits per byte.
+     */
+    public static void writeVarInt(DataOutput out, int value) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("Varint must not be negative: " + value);
+        }
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    public static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void writeDate(DataOutput out, LocalDate date) throws IOException {
+        if (date == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        int epochDay = Math.toIntExact(date.toEpochDay());
+        writeVarInt(out, ((epochDay << 1) ^ (epochDay >> 31)) + 1);
+    }
+
+    public static LocalDate readDate(DataInput in) throws IOException {
+        int encoded = readVarInt(in);
+        if (encoded == 0) {
+            return null;
+        }
+        int zigzag = encoded - 1;
+        return LocalDate.ofEpochDay((zigzag >>> 1) ^ -(zigzag & 1));
+    }
+
+    public static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        out.writeByte(value.ordinal());
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInput in, E[] values) throws IOException {
+        return enumAt(values, in.readUnsignedByte());
+    }
+
+    private static <E extends Enum<E>> E enumAt(E[] values, int ordinal) throws IOException {
+        if (ordinal >= values.length) {
+            throw new IOException("Invalid " + values[0].getDeclaringClass().getSimpleName() + " ordinal " + ordinal);
+        }
+        return values[ordinal];
+    }
+}
@@ -0,0 +1,82 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Employee;
+
+/**
+ * Employee store that keeps the whole employee map in one Java-serialized
+ * file, the employee counterpart of {@link SerializedMemberStore}.
+ */
+public class SerializedEmployeeStore implements EmployeeStore {
+    public static final String DATA_FILE = JournalEmployeeStore.LEGACY_DATA_FILE;
+
+    private final SerializedMapFile<Employee> file;
+
+    /**
+     * @param dataDirectory Directory holding the employee data file
+     * @param fsyncPolicy How each commit writes the file
+     */
+    public SerializedEmployeeStore(Path dataDirectory, FsyncPolicy fsyncPolicy) {
+        this(dataDirectory, fsyncPolicy, null);
+    }
+
+    /**
+     * @param dataDirectory Directory holding the employee data file
+     * @param fsyncPolicy How each commit writes the file
+     * @param checkpointer Writes the file on the interval of the
+     * {@link FsyncPolicy.Mode#INTERVAL} policy; may be null for the other policies
+     */
+    public SerializedEmployeeStore(Path dataDirectory, FsyncPolicy fsyncPolicy, Checkpointer checkpointer) {
+        this.file = new SerializedMapFile<>(dataDirectory.resolve(DATA_FILE), fsyncPolicy, Employee::getEmployeeId, checkpointer);
+    }
+
+    @Override
+    public int open(Map<Integer, Employee> employees, Supplier<Collection<Employee>> snapshotSource) throws IOException {
+        return file.open(employees, snapshotSource);
+    }
+
+    @Override
+    public long employeeAdded(Employee employee) {
+        return file.changed();
+    }
+
+    @Override
+    public long employeeUpdated(Employee employee) {
+        return file.changed();
+    }
+
+    @Override
+    public long employeeRemoved(int employeeId) {
+        return file.changed();
+    }
+
+    @Override
+    public void commit(long ticket) throws IOException {
+        file.commit(ticket);
+    }
+
+    @Override
+    public void awaitDurable(long ticket) throws IOException {
+        file.awaitDurable(ticket);
+    }
+
+    @Override
+    public long lastTicket() {
+        return file.lastVersion();
+    }
+
+    @Override
+    public void checkpoint() throws IOException {
+        file.checkpoint();
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
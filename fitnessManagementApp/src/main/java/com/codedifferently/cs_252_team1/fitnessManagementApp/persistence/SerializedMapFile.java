@@ -0,0 +1,140 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * A whole record map kept as one Java-serialized {@code HashMap} file, the
+ * format the app used before the binary snapshots. Shared by the serialized
+ * member and employee stores.
+ *
+ * Every write serializes the full map, so the cost of a change grows with the
+ * number of records. Changes only bump a version; a commit then rewrites the
+ * file as the {@link FsyncPolicy} asks: synced to disk under
+ * {@link FsyncPolicy.Mode#BATCH}, left to the OS page cache under
+ * {@link FsyncPolicy.Mode#OS}, and under {@link FsyncPolicy.Mode#INTERVAL}
+ * not at all, as the {@link Checkpointer} writes and syncs it on the interval.
+ * Commits that arrive while a write is running are covered by the next one.
+ */
+final class SerializedMapFile<T extends Serializable> {
+    private final Path file;
+    private final FsyncPolicy fsyncPolicy;
+    private final ToIntFunction<T> idOf;
+    private final Checkpointer checkpointer;
+    private final Object writeLock = new Object();
+    private Supplier<Collection<T>> snapshotSource;
+    private long version;
+    private volatile long writtenVersion;
+    private volatile long forcedVersion;
+
+    /**
+     * @param checkpointer Writes the file on the interval of the
+     * {@link FsyncPolicy.Mode#INTERVAL} policy; may be null for the other policies
+     */
+    SerializedMapFile(Path file, FsyncPolicy fsyncPolicy, ToIntFunction<T> idOf, Checkpointer checkpointer) {
+        Checkpointer.requireForInterval(fsyncPolicy, checkpointer);
+        this.file = file;
+        this.fsyncPolicy = fsyncPolicy;
+        this.idOf = idOf;
+        this.checkpointer = checkpointer;
+    }
+
+    /**
+     * The file has no room for an ID counter, so the next ID is the highest
+     * stored ID plus one.
+     */
+    int open(Map<Integer, T> records, Supplier<Collection<T>> snapshotSource) throws IOException {
+        this.snapshotSource = snapshotSource;
+        int nextId = 1;
+        if (Files.exists(file)) {
+            Map<Integer, T> stored = read(file);
+            records.putAll(stored);
+            for (int id : stored.keySet()) {
+                nextId = Math.max(nextId, id + 1);
+            }
+        }
+        if (checkpointer != null) {
+            checkpointer.syncEvery(this, file.toString(), fsyncPolicy, this::checkpoint);
+        }
+        return nextId;
+    }
+
+    synchronized long changed() {
+        return ++version;
+    }
+
+    synchronized long lastVersion() {
+        return version;
+    }
+
+    void commit(long ticket) throws IOException {
+        switch (fsyncPolicy.mode()) {
+            case BATCH -> write(ticket, true);
+            case OS -> write(ticket, false);
+            case INTERVAL -> {
+                // Written by the checkpointer on the interval
+            }
+        }
+    }
+
+    void awaitDurable(long ticket) throws IOException {
+        write(ticket, true);
+    }
+
+    /**
+     * Rewrite the file unless a write covering the ticket already happened.
+     * The version is read before the records are copied, and changes are
+     * applied before they are counted, so the copy covers that version.
+     * @param force Whether the write must also be synced to disk
+     */
+    private void write(long ticket, boolean force) throws IOException {
+        synchronized (writeLock) {
+            if (ticket <= (force ? forcedVersion : writtenVersion) || snapshotSource == null) {
+                return;
+            }
+            long target = lastVersion();
+            HashMap<Integer, T> copy = new HashMap<>();
+            for (T record : snapshotSource.get()) {
+                copy.put(idOf.applyAsInt(record), record);
+            }
+            SnapshotFile.write(file, stream -> {
+                ObjectOutputStream out = new ObjectOutputStream(stream);
+                out.writeObject(copy);
+                out.flush();
+            }, force);
+            writtenVersion = target;
+            if (force) {
+                forcedVersion = target;
+            }
+        }
+    }
+
+    void checkpoint() throws IOException {
+        awaitDurable(lastVersion());
+    }
+
+    void close() throws IOException {
+        if (checkpointer != null) {
+            checkpointer.cancelSync(this);
+        }
+        checkpoint();
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Map<Integer, T> read(Path file) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(Files.newInputStream(file))) {
+            return (Map<Integer, T>) in.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Unreadable serialized data file " + file + ": " + e.getMessage(), e);
+        }
+    }
+}
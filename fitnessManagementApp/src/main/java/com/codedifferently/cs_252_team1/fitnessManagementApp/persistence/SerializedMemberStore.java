@@ -0,0 +1,103 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+
+/**
+ * Member store that keeps the whole member map in one Java-serialized file,
+ * as the app originally did. Every commit rewrites the file, synced to disk
+ * under {@link FsyncPolicy.Mode#BATCH}; under {@link FsyncPolicy.Mode#INTERVAL}
+ * the {@link Checkpointer} rewrites it on the interval instead.
+ *
+ * Kept for small deployments and as a point of comparison. The file is the
+ * one the other stores migrate from, so switching away from it later is
+ * seamless.
+ */
+public class SerializedMemberStore implements MemberStore {
+    public static final String DATA_FILE = JournalMemberStore.LEGACY_DATA_FILE;
+
+    private final SerializedMapFile<Member> file;
+
+    /**
+     * @param dataDirectory Directory holding the member data file
+     * @param fsyncPolicy How each commit writes the file
+     */
+    public SerializedMemberStore(Path dataDirectory, FsyncPolicy fsyncPolicy) {
+        this(dataDirectory, fsyncPolicy, null);
+    }
+
+    /**
+     * @param dataDirectory Directory holding the member data file
+     * @param fsyncPolicy How each commit writes the file
+     * @param checkpointer Writes the file on the interval of the
+     * {@link FsyncPolicy.Mode#INTERVAL} policy; may be null for the other policies
+     */
+    public SerializedMemberStore(Path dataDirectory, FsyncPolicy fsyncPolicy, Checkpointer checkpointer) {
+        this.file = new SerializedMapFile<>(dataDirectory.resolve(DATA_FILE), fsyncPolicy, Member::getMemberId, checkpointer);
+    }
+
+    @Override
+    public int open(Map<Integer, Member> members, Supplier<Collection<Member>> snapshotSource) throws IOException {
+        return file.open(members, snapshotSource);
+    }
+
+    @Override
+    public long memberAdded(Member member) {
+        return file.changed();
+    }
+
+    @Override
+    public long memberUpdated(Member member) {
+        return file.changed();
+    }
+
+    @Override
+    public long memberRemoved(int memberId) {
+        return file.changed();
+    }
+
+    @Override
+    public long statusChanged(Member member) {
+        return file.changed();
+    }
+
+    @Override
+    public long paymentChanged(Member member) {
+        return file.changed();
+    }
+
+    @Override
+    public long membersCleared() {
+        return file.changed();
+    }
+
+    @Override
+    public void commit(long ticket) throws IOException {
+        file.commit(ticket);
+    }
+
+    @Override
+    public void awaitDurable(long ticket) throws IOException {
+        file.awaitDurable(ticket);
+    }
+
+    @Override
+    public long lastTicket() {
+        return file.lastVersion();
+    }
+
+    @Override
+    public void checkpoint() throws IOException {
+        file.checkpoint();
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
@@ -0,0 +1,180 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Map;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Employee;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+
+/**
+ * Reads and writes full member and employee snapshots.
+ *
+ * A snapshot is a small header (magic, format version, next free ID, record
+ * count) followed by {@link RecordCodec} records. Keeping the next ID in the
+ * header means it survives removing the member or employee with the highest
+ * ID. Snapshots are written so that readers only ever see a complete file:
+ * the data goes to a temporary file, is synced to disk and then atomically
+ * renamed over the previous snapshot.
+ */
+public final class SnapshotFile {
+    /** Version 1 had no next-ID field; it is still read. */
+    public static final int FORMAT_VERSION = 2;
+    private static final int NO_NEXT_ID_VERSION = 1;
+
+    private static final int MEMBERS_MAGIC = 0x464D534D; // "FMSM"
+    private static final int EMPLOYEES_MAGIC = 0x464D5345; // "FMSE"
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @FunctionalInterface
+    public interface SnapshotWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private record Header(int nextId, int count) {
+    }
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * @param target Snapshot file to replace
+     * @param members Members to write
+     * @param nextMemberId ID the next new member will get
+     * @throws IOException if the snapshot could not be written
+     */
+    public static void writeMembers(Path target, Collection<Member> members, int nextMemberId) throws IOException {
+        write(target, stream -> {
+            DataOutputStream out = new DataOutputStream(stream);
+            writeHeader(out, MEMBERS_MAGIC, nextMemberId, members.size());
+            for (Member member : members) {
+                RecordCodec.writeMember(out, member);
+            }
+            out.flush();
+        });
+    }
+
+    /**
+     * @param source Snapshot file to read
+     * @param members Map that receives the members, keyed by ID
+     * @return ID the next new member should get
+     * @throws IOException if the file is not a member snapshot or is truncated
+     */
+    public static int readMembers(Path source, Map<Integer, Member> members) throws IOException {
+        try (DataInputStream in = open(source)) {
+            Header header = readHeader(in, MEMBERS_MAGIC, source);
+            int nextId = header.nextId();
+            for (int i = 0; i < header.count(); i++) {
+                Member member = RecordCodec.readMember(in);
+                members.put(member.getMemberId(), member);
+                nextId = Math.max(nextId, member.getMemberId() + 1);
+            }
+            return nextId;
+        }
+    }
+
+    /**
+     * @param target Snapshot file to replace
+     * @param employees Employees to write
+     * @param nextEmployeeId ID the next new employee will get
+     * @throws IOException if the snapshot could not be written
+     */
+    public static void writeEmployees(Path target, Collection<Employee> employees, int nextEmployeeId) throws IOException {
+        write(target, stream -> {
+            DataOutputStream out = new DataOutputStream(stream);
+            writeHeader(out, EMPLOYEES_MAGIC, nextEmployeeId, employees.size());
+            for (Employee employee : employees) {
+                RecordCodec.writeEmployee(out, employee);
+            }
+            out.flush();
+        });
+    }
+
+    /**
+     * @param source Snapshot file to read
+     * @param employees Map that receives the employees, keyed by ID
+     * @return ID the next new employee should get
+     * @throws IOException if the file is not an employee snapshot or is truncated
+     */
+    public static int readEmployees(Path source, Map<Integer, Employee> employees) throws IOException {
+        try (DataInputStream in = open(source)) {
+            Header header = readHeader(in, EMPLOYEES_MAGIC, source);
+            int nextId = header.nextId();
+            for (int i = 0; i < header.count(); i++) {
+                Employee employee = RecordCodec.readEmployee(in);
+                employees.put(employee.getEmployeeId(), employee);
+                nextId = Math.max(nextId, employee.getEmployeeId() + 1);
+            }
+            return nextId;
+        }
+    }
+
+    /**
+     * @param target Snapshot file to replace
+     * @param writer Writes the snapshot contents
+     * @throws IOException if the snapshot could not be written; the previous
+     * snapshot is left untouched in that case
+     */
+    public static void write(Path target, SnapshotWriter writer) throws IOException {
+        write(target, writer, true);
+    }
+
+    /**
+     * @param force Whether to sync the data to disk before the rename; without
+     * it the OS writes the file back in its own time
+     */
+    static void write(Path target, SnapshotWriter writer, boolean force) throws IOException {
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(temp.toFile())) {
+            OutputStream out = new BufferedOutputStream(fos, BUFFER_SIZE);
+            writer.write(out);
+            out.flush();
+            if (force) {
+                fos.getFD().sync();
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static DataInputStream open(Path source) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(source), BUFFER_SIZE));
+    }
+
+    private static void writeHeader(DataOutputStream out, int magic, int nextId, int count) throws IOException {
+        out.writeInt(magic);
+        out.writeByte(FORMAT_VERSION);
+        RecordCodec.writeVarInt(out, nextId);
+        RecordCodec.writeVarInt(out, count);
+    }
+
+    private static Header readHeader(DataInputStream in, int magic, Path source) throws IOException {
+        if (in.readInt() != magic) {
+            throw new IOException("Not a snapshot of the expected kind: " + source);
+        }
+        int version = in.readUnsignedByte();
+        if (version == NO_NEXT_ID_VERSION) {
+            // Derived from the records while reading
+            return new Header(1, RecordCodec.readVarInt(in));
+        }
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + " in " + source);
+        }
+        int nextId = RecordCodec.readVarInt(in);
+        return new Header(nextId, RecordCodec.readVarInt(in));
+    }
+}
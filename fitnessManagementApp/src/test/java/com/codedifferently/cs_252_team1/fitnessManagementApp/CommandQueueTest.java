@@ -0,0 +1,123 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class CommandQueueTest {
+    private final AtomicInteger commits = new AtomicInteger();
+    private final CommandQueue queue = new CommandQueue("test-writer", 16, commits::incrementAndGet);
+
+    @AfterEach
+    public void tearDown() {
+        queue.close();
+    }
+
+    @Test
+    public void testCommandsRunInOrderOnTheWriterThread() {
+        // Not thread-safe on purpose: only the writer touches it
+        List<Integer> applied = new ArrayList<>();
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int value = i;
+            futures.add(queue.submit(() -> {
+                applied.add(value);
+                return Thread.currentThread().getName();
+            }));
+        }
+
+        for (CompletableFuture<String> future : futures) {
+            assertEquals("test-writer", future.join());
+        }
+        assertEquals(1000, applied.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, applied.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testWaitingCommandsShareOneCommit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> first = queue.submit(() -> {
+            started.countDown();
+            return release.await(30, TimeUnit.SECONDS);
+        });
+        assertTrue(started.await(30, TimeUnit.SECONDS));
+        List<CompletableFuture<Integer>> waiting = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            // Each result records how many commits had happened when it completed
+            waiting.add(queue.submit(() -> 0).thenApply(ignored -> commits.get()));
+        }
+        release.countDown();
+
+        assertTrue(first.join());
+        for (CompletableFuture<Integer> future : waiting) {
+            assertEquals(2, future.join().intValue());
+        }
+        assertEquals(2, commits.get());
+    }
+
+    @Test
+    public void testAwaitRethrowsWhatTheCommandThrew() {
+        CompletableFuture<Member> missing = queue.submit(() -> {
+            throw new MemberNotFoundException(7);
+        });
+        CompletableFuture<Member> invalid = queue.submit(() -> {
+            throw new IllegalArgumentException("bad");
+        });
+
+        assertThrows(MemberNotFoundException.class, () -> CommandQueue.await(missing, MemberNotFoundException.class));
+        assertThrows(IllegalArgumentException.class, () -> CommandQueue.await(invalid, MemberNotFoundException.class));
+    }
+
+    @Test
+    public void testFailedCommitFailsItsBatchAndWriterCarriesOn() {
+        AtomicInteger attempts = new AtomicInteger();
+        CommandQueue failing = new CommandQueue("failing-writer", 16, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+        });
+        try {
+            CompletableFuture<Integer> lost = failing.submit(() -> 1);
+            assertThrows(UncheckedIOException.class, () -> CommandQueue.await(lost, RuntimeException.class));
+
+            assertEquals(2, failing.submit(() -> 2).join().intValue());
+        } finally {
+            failing.close();
+        }
+    }
+
+    @Test
+    public void testSubmitFromWriterThreadRunsRightAway() throws Exception {
+        CompletableFuture<Integer> chained = queue.submit(() -> 1)
+            .thenCompose(value -> queue.submit(() -> value + 1));
+
+        assertEquals(2, chained.get(30, TimeUnit.SECONDS).intValue());
+    }
+
+    @Test
+    public void testCloseAppliesQueuedCommandsAndRejectsNewOnes() {
+        CountDownLatch release = new CountDownLatch(1);
+        queue.submit(() -> release.await(30, TimeUnit.SECONDS));
+        CompletableFuture<Integer> queued = queue.submit(() -> 42);
+        release.countDown();
+        queue.close();
+
+        assertEquals(42, queued.join().intValue());
+        assertThrows(IllegalStateException.class,
+            () -> CommandQueue.await(queue.submit(() -> 1), RuntimeException.class));
+    }
+}
@@ -0,0 +1,150 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.config.PersistenceProperties;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.InMemoryEmployeeStore;
+
+public class EmployeeManagerConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 500;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+    private final EmployeeManager manager =
+        new EmployeeManager(new InMemoryEmployeeStore(), PersistenceProperties.LoadingMode.LAZY);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Employee update(int employeeId, String department, double salary) throws EmployeeNotFoundException {
+        return manager.updateEmployee(employeeId, "John", "Doe", "john@gym.com", "555-1234",
+            department, "Coach", salary, LocalDate.of(2022, 3, 1), WorkStatus.ACTIVE);
+    }
+
+    @Test
+    public void testConcurrentUpdatesKeepEmployeesConsistent() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            ids.add(manager.addEmployee("John", "Doe", "john@gym.com", "555-1234", "Training", "Coach",
+                50000.00, LocalDate.of(2022, 3, 1), WorkStatus.ACTIVE).getEmployeeId());
+        }
+
+        // Each update moves the department and salary together
+        List<Future<?>> futures = new ArrayList<>();
+        for (int employeeId : ids) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < PER_THREAD; i++) {
+                    update(employeeId, i % 2 == 0 ? "Management" : "Training", i % 2 == 0 ? 65000.00 : 50000.00);
+                }
+                return null;
+            }));
+        }
+        futures.add(executor.submit(() -> {
+            for (int i = 0; i < PER_THREAD; i++) {
+                for (Employee employee : manager.listAllEmployees()) {
+                    double expected = employee.getDepartment().equals("Management") ? 65000.00 : 50000.00;
+                    assertEquals(expected, employee.getSalary());
+                }
+            }
+            return null;
+        }));
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        for (int employeeId : ids) {
+            assertEquals("Training", manager.getEmployeeById(employeeId).getDepartment());
+        }
+    }
+
+    @Test
+    public void testIndexesNeverLagTheEmployee() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            ids.add(manager.addEmployee("John", "Doe", "john@gym.com", "555-1234", "Training", "Coach",
+                50000.00, LocalDate.of(2022, 3, 1), WorkStatus.ACTIVE).getEmployeeId());
+        }
+
+        // Salaries only go up, so once an employee is read with a salary the
+        // salary order must already have them at that salary or above
+        List<Future<?>> futures = new ArrayList<>();
+        for (int employeeId : ids) {
+            futures.add(executor.submit(() -> {
+                for (int i = 1; i <= PER_THREAD; i++) {
+                    update(employeeId, "Training", 50000.00 + i);
+                }
+                return null;
+            }));
+        }
+        futures.add(executor.submit(() -> {
+            for (int i = 0; i < PER_THREAD; i++) {
+                int employeeId = ids.get(i % ids.size());
+                double salary = manager.getEmployeeById(employeeId).getSalary();
+                boolean found = false;
+                for (Employee employee : manager.findEmployeesBySalaryRange(salary, Double.MAX_VALUE)) {
+                    found |= employee.getEmployeeId() == employeeId;
+                }
+                assertTrue(found);
+            }
+            return null;
+        }));
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testFailedUpdateLeavesEmployeeUntouched() throws Exception {
+        Employee john = manager.addEmployee("John", "Doe", "john@gym.com", "555-1234", "Training", "Coach",
+            50000.00, LocalDate.of(2022, 3, 1), WorkStatus.ACTIVE);
+
+        assertThrows(IllegalArgumentException.class, () -> update(john.getEmployeeId(), "Management", -1));
+
+        assertEquals("Training", manager.getEmployeeById(john.getEmployeeId()).getDepartment());
+    }
+
+    @Test
+    public void testQueuedWritesFromManyThreads() throws Exception {
+        PersistenceProperties.WriteQueue writeQueue = new PersistenceProperties.WriteQueue();
+        writeQueue.setEnabled(true);
+        writeQueue.setCapacity(16);
+        EmployeeManager queued = new EmployeeManager(new InMemoryEmployeeStore(),
+            PersistenceProperties.LoadingMode.LAZY, writeQueue);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < PER_THREAD; i++) {
+                    Employee employee = queued.addEmployee("John", "Doe", "john@gym.com", "555-1234", "Training",
+                        "Coach", 50000.00, LocalDate.of(2022, 3, 1), WorkStatus.ACTIVE);
+                    queued.updateEmployeeAsync(employee.getEmployeeId(), "John", "Doe", "john@gym.com", "555-1234",
+                        "Management", "Manager", 65000.00, LocalDate.of(2022, 3, 1), WorkStatus.ACTIVE);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        // Changes are applied in order, so this runs after every update above
+        queued.deleteEmployee(1);
+
+        assertEquals(THREADS * PER_THREAD - 1, queued.listAllEmployees().size());
+        assertEquals(THREADS * PER_THREAD - 1, queued.findEmployeesByDepartment("Management").size());
+        assertThrows(EmployeeNotFoundException.class, () -> queued.deleteEmployee(1));
+    }
+}
@@ -1,6 +1,11 @@
 package com.codedifferently.cs_252_team1.fitnessManagementApp;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -8,6 +13,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.codedifferently.cs_252_team1.fitnessManagementApp.config.PersistenceProperties;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.EmployeeStore;
+
 public class EmployeeManagerExceptionTest {
     private EmployeeManager manager;
     private Employee testEmployee;
@@ -124,4 +132,62 @@ public class EmployeeManagerExceptionTest {
         });
         assertNotNull(thrown);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFailedStoreWriteFailsTheChangeAndUndoesIt() throws EmployeeNotFoundException {
+        EmployeeManager failing = new EmployeeManager(new EmployeeStore() {
+            @Override
+            public int open(Map<Integer, Employee> employees, Supplier<Collection<Employee>> snapshotSource) {
+                employees.put(testEmployee.getEmployeeId(), testEmployee);
+                return testEmployee.getEmployeeId() + 1;
+            }
+
+            @Override
+            public long employeeAdded(Employee employee) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public long employeeUpdated(Employee employee) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public long employeeRemoved(int employeeId) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void commit(long ticket) {
+            }
+
+            @Override
+            public void awaitDurable(long ticket) {
+            }
+
+            @Override
+            public long lastTicket() {
+                return 0;
+            }
+
+            @Override
+            public void checkpoint() {
+            }
+
+            @Override
+            public void close() {
+            }
+        }, PersistenceProperties.LoadingMode.LAZY);
+        failing.loadData();
+        int id = testEmployee.getEmployeeId();
+
+        assertThrows(UncheckedIOException.class, () -> failing.updateEmployee(id, "John", "Doe",
+            "john.doe@email.com", "555-1234", "Sales", "Developer", 90000.00, LocalDate.now(), WorkStatus.ACTIVE));
+        assertEquals("IT", failing.getEmployeeById(id).getDepartment());
+        assertEquals(1, failing.getEmployeeCountByDepartment("IT"));
+        assertThrows(UncheckedIOException.class, () -> failing.deleteEmployee(id));
+        assertThrows(UncheckedIOException.class, () -> failing.addEmployee("Ann", "Lee", "ann@email.com",
+            "555-0000", "IT", "Tester", 50000.00, LocalDate.now(), WorkStatus.ACTIVE));
+        assertEquals(1, failing.listAllEmployees().size());
+    }
+}
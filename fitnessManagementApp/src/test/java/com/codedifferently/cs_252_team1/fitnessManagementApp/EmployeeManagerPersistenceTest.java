@@ -0,0 +1,99 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.config.PersistenceProperties;
+
+public class EmployeeManagerPersistenceTest {
+    @TempDir
+    Path tempDir;
+
+    private EmployeeManager restart() {
+        return restart(PersistenceProperties.EmployeeStoreType.JOURNAL);
+    }
+
+    private EmployeeManager restart(PersistenceProperties.EmployeeStoreType storeType) {
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.setDataDirectory(tempDir.toString());
+        properties.setEmployeeStore(storeType);
+        EmployeeManager manager = new EmployeeManager(properties, null, null);
+        manager.loadData();
+        return manager;
+    }
+
+    private Employee addEmployee(EmployeeManager manager, String firstName) {
+        return manager.addEmployee(firstName, "Doe", firstName.toLowerCase() + "@gym.com", "555-1234",
+            "Training", "Coach", 50000.00, LocalDate.of(2022, 3, 1), WorkStatus.ACTIVE);
+    }
+
+    @Test
+    public void testChangesSurviveRestart() throws EmployeeNotFoundException {
+        EmployeeManager manager = restart();
+        Employee john = addEmployee(manager, "John");
+        Employee jane = addEmployee(manager, "Jane");
+        manager.updateEmployee(john.getEmployeeId(), "John", "Doe", "john@gym.com", "555-1234",
+            "Management", "Manager", 65000.00, LocalDate.of(2022, 3, 1), WorkStatus.ON_LEAVE);
+        manager.deleteEmployee(jane.getEmployeeId());
+
+        EmployeeManager reloaded = restart();
+
+        assertEquals(1, reloaded.listAllEmployees().size());
+        Employee loaded = reloaded.getEmployeeById(john.getEmployeeId());
+        assertEquals("Management", loaded.getDepartment());
+        assertEquals(65000.00, loaded.getSalary());
+        assertEquals(WorkStatus.ON_LEAVE, loaded.getWorkStatus());
+        assertThrows(EmployeeNotFoundException.class, () -> reloaded.getEmployeeById(jane.getEmployeeId()));
+    }
+
+    @Test
+    public void testSnapshotPlusLogTailOnRestart() throws Exception {
+        EmployeeManager manager = restart();
+        addEmployee(manager, "John");
+        manager.checkpoint();
+        addEmployee(manager, "Jane");
+
+        EmployeeManager reloaded = restart();
+
+        assertEquals(2, reloaded.listAllEmployees().size());
+        Employee next = addEmployee(reloaded, "Bob");
+        assertEquals(3, next.getEmployeeId());
+    }
+
+    @Test
+    public void testRemovedHighestIdIsNotReused() throws Exception {
+        EmployeeManager manager = restart();
+        addEmployee(manager, "John");
+        Employee jane = addEmployee(manager, "Jane");
+        manager.deleteEmployee(jane.getEmployeeId());
+        manager.saveData();
+
+        assertEquals(3, addEmployee(restart(), "Bob").getEmployeeId());
+    }
+
+    @Test
+    public void testSerializedStoreSurvivesRestart() throws EmployeeNotFoundException {
+        EmployeeManager manager = restart(PersistenceProperties.EmployeeStoreType.SERIALIZED);
+        Employee john = addEmployee(manager, "John");
+        addEmployee(manager, "Jane");
+
+        EmployeeManager reloaded = restart(PersistenceProperties.EmployeeStoreType.SERIALIZED);
+        assertEquals(2, reloaded.listAllEmployees().size());
+        assertEquals("John", reloaded.getEmployeeById(john.getEmployeeId()).getFirstName());
+        assertEquals(3, addEmployee(reloaded, "Bob").getEmployeeId());
+    }
+
+    @Test
+    public void testMemoryStoreKeepsNothing() {
+        EmployeeManager manager = restart(PersistenceProperties.EmployeeStoreType.MEMORY);
+        addEmployee(manager, "John");
+
+        assertEquals(1, manager.listAllEmployees().size());
+        assertEquals(0, restart(PersistenceProperties.EmployeeStoreType.MEMORY).listAllEmployees().size());
+    }
+}
@@ -184,4 +184,165 @@ public void testAddEmployeeWithNegativeSalary() {
                            "IT", "Dev", -1000.0, LocalDate.now(), WorkStatus.ACTIVE);
     });
 }
-}
\ No newline at end of file
+
+@Test
+public void testDepartmentIndexIgnoresCase() {
+    Employee coach = manager.addEmployee("Ann", "Coach", "ann@email.com", "111-1111",
+                                         "Training", "Coach", 40000.25, LocalDate.now(), WorkStatus.ACTIVE);
+    Employee lead = manager.addEmployee("Bob", "Lead", "bob@email.com", "222-2222",
+                                        "TRAINING", "Head Coach", 60000.50, LocalDate.now(), WorkStatus.ACTIVE);
+
+    assertEquals(2, manager.findEmployeesByDepartment("training").size());
+    assertEquals(coach.getEmployeeId(), manager.findEmployeesByDepartment("training").get(0).getEmployeeId());
+    assertEquals(lead.getEmployeeId(), manager.findEmployeesByDepartment("Training").get(1).getEmployeeId());
+    assertEquals(2, manager.getEmployeeCountByDepartment("tRaInInG"));
+    assertEquals(100000.75, manager.getPayrollByDepartment("training"));
+    assertEquals(1, manager.getEmployeeCountByPosition("coach"));
+    assertEquals(0, manager.getEmployeeCountByDepartment("Nowhere"));
+    assertEquals(0.0, manager.getPayrollByDepartment("Nowhere"));
+}
+
+@Test
+public void testChangingAReturnedEmployeeChangesNothingStored() throws EmployeeNotFoundException {
+    Employee added = manager.addEmployee("Ann", "Coach", "ann@email.com", "111-1111",
+                                         "Training", "Coach", 40000.0, LocalDate.of(2020, 1, 1), WorkStatus.ACTIVE);
+    added.setSalary(90000.0);
+    manager.getEmployeeById(added.getEmployeeId()).setDepartment("Front Desk");
+    manager.findEmployeesByDepartment("Training").get(0).setHireDate(LocalDate.of(2024, 1, 1));
+
+    Employee stored = manager.getEmployeeById(added.getEmployeeId());
+    assertEquals(40000.0, stored.getSalary());
+    assertEquals("Training", stored.getDepartment());
+    assertEquals(LocalDate.of(2020, 1, 1), stored.getHireDate());
+    assertEquals(40000.0, manager.getPayrollByDepartment("Training"));
+    assertEquals(0, manager.getEmployeeCountByDepartment("Front Desk"));
+    assertEquals(1, manager.findEmployeesBySalaryRange(40000.0, 40000.0).size());
+}
+
+@Test
+public void testEmployeesWithoutDepartmentAreInNone() throws EmployeeNotFoundException {
+    Employee floater = manager.addEmployee("Ann", "Floater", "ann@email.com", "111-1111",
+                                           null, null, 40000.0, LocalDate.now(), WorkStatus.ACTIVE);
+    manager.addEmployee("Bob", "Coach", "bob@email.com", "222-2222",
+                        "Training", "Coach", 50000.0, LocalDate.now(), WorkStatus.ACTIVE);
+
+    assertTrue(manager.findEmployeesByDepartment(null).isEmpty());
+    assertTrue(manager.findEmployeesByDepartment("").isEmpty());
+    assertEquals(0, manager.getEmployeeCountByDepartment(null));
+    assertEquals(0.0, manager.getPayrollByDepartment(null));
+    assertTrue(manager.findEmployeesByPosition(null).isEmpty());
+
+    // Joining a department and leaving it again moves the employee in and out
+    manager.updateEmployee(floater.getEmployeeId(), "Ann", "Floater", "ann@email.com", "111-1111",
+                           "training", "Coach", 40000.0, LocalDate.now(), WorkStatus.ACTIVE);
+    assertEquals(2, manager.getEmployeeCountByDepartment("Training"));
+    manager.updateEmployee(floater.getEmployeeId(), "Ann", "Floater", "ann@email.com", "111-1111",
+                           null, null, 40000.0, LocalDate.now(), WorkStatus.ACTIVE);
+    assertEquals(1, manager.getEmployeeCountByDepartment("Training"));
+    assertEquals(50000.0, manager.getPayrollByDepartment("Training"));
+    assertEquals(0, manager.getEmployeeCountByDepartment(null));
+}
+
+@Test
+public void testDepartmentIndexFollowsChanges() throws EmployeeNotFoundException {
+    Employee coach = manager.addEmployee("Ann", "Coach", "ann@email.com", "111-1111",
+                                         "Training", "Coach", 40000.0, LocalDate.now(), WorkStatus.ACTIVE);
+
+    // A raise stays in the same department
+    manager.updateEmployee(coach.getEmployeeId(), "Ann", "Coach", "ann@email.com", "111-1111",
+                           "training", "Coach", 45000.0, LocalDate.now(), WorkStatus.ACTIVE);
+    assertEquals(1, manager.getEmployeeCountByDepartment("Training"));
+    assertEquals(45000.0, manager.getPayrollByDepartment("Training"));
+
+    // A transfer moves the employee and their salary
+    manager.updateEmployee(coach.getEmployeeId(), "Ann", "Coach", "ann@email.com", "111-1111",
+                           "Front Desk", "Receptionist", 42000.0, LocalDate.now(), WorkStatus.ACTIVE);
+    assertTrue(manager.findEmployeesByDepartment("Training").isEmpty());
+    assertEquals(0.0, manager.getPayrollByDepartment("Training"));
+    assertEquals(42000.0, manager.getPayrollByDepartment("front desk"));
+    assertEquals(1, manager.findEmployeesByPosition("RECEPTIONIST").size());
+    assertEquals(0, manager.getEmployeeCountByPosition("Coach"));
+
+    manager.deleteEmployee(coach.getEmployeeId());
+    assertEquals(0, manager.getEmployeeCountByDepartment("Front Desk"));
+    assertTrue(manager.findEmployeesByPosition("Receptionist").isEmpty());
+}
+
+@Test
+public void testPageEmployeesInIdOrder() throws EmployeeNotFoundException {
+    for (int i = 0; i < 4; i++) {
+        manager.addEmployee("Staff", "Number" + i, "s" + i + "@email.com", "111-1111",
+                            i % 2 == 0 ? "Training" : "Front Desk", "Coach", 40000.0, LocalDate.now(), WorkStatus.ACTIVE);
+    }
+    manager.deleteEmployee(employee.getEmployeeId());
+    int firstId = employee.getEmployeeId() + 1;
+
+    Page<Employee> first = manager.pageEmployees(0, 3, null);
+    assertEquals(3, first.items().size());
+    assertEquals(firstId, first.items().get(0).getEmployeeId());
+    assertTrue(first.hasMore());
+    Page<Employee> second = manager.pageEmployees(first.nextAfter(), 3, null);
+    assertEquals(1, second.items().size());
+    assertEquals(firstId + 3, second.nextAfter());
+
+    Page<Employee> training = manager.pageEmployees(0, 10, emp -> emp.getDepartment().equals("Training"));
+    assertEquals(2, training.items().size());
+    assertTrue(!training.hasMore());
+}
+
+@Test
+public void testSalaryAndHireDateRanges() throws EmployeeNotFoundException {
+    Employee coach = manager.addEmployee("Cal", "Coach", "cal@email.com", "111-1111",
+                                         "Training", "Coach", 42000.0, LocalDate.of(2020, 2, 29), WorkStatus.ACTIVE);
+    Employee desk = manager.addEmployee("Dee", "Desk", "dee@email.com", "111-1112",
+                                        "Front Desk", "Clerk", 31000.0, LocalDate.of(2024, 3, 1), WorkStatus.ACTIVE);
+    Employee director = manager.addEmployee("Dana", "Director", "dana@email.com", "111-1113",
+                                            "Management", "Director", 90000.0, LocalDate.of(2022, 9, 18), WorkStatus.ACTIVE);
+
+    assertEquals(2, manager.findEmployeesBySalaryRange(40000.0, 50000.0).size());
+    assertEquals(coach.getEmployeeId(), manager.findEmployeesBySalaryRange(40000.0, 50000.0).get(0).getEmployeeId());
+    assertEquals(director.getEmployeeId(), manager.getTopPaidEmployees(2).get(0).getEmployeeId());
+    assertEquals(employee.getEmployeeId(), manager.getTopPaidEmployees(2).get(1).getEmployeeId());
+    assertEquals(4, manager.getTopPaidEmployees(10).size());
+
+    assertEquals(2, manager.findEmployeesHiredBetween(LocalDate.of(2024, 1, 1), null).size());
+    assertEquals(desk.getEmployeeId(),
+                 manager.findEmployeesHiredBetween(LocalDate.of(2024, 1, 1), null).get(0).getEmployeeId());
+    assertEquals(1, manager.findEmployeesWithYearsOfService(3, LocalDate.of(2025, 9, 18)).size());
+
+    // Anniversaries on 18 September: three years for the director, none yet for the assistant manager
+    assertEquals(1, manager.getServiceAnniversaries(LocalDate.of(2025, 9, 18)).size());
+    assertEquals(director.getEmployeeId(),
+                 manager.getServiceAnniversaries(LocalDate.of(2025, 9, 18)).get(0).getEmployeeId());
+    // A 29 February hire has the anniversary on 28 February in other years
+    assertEquals(coach.getEmployeeId(),
+                 manager.getServiceAnniversaries(LocalDate.of(2023, 2, 28)).get(0).getEmployeeId());
+    assertEquals(1, manager.getServiceAnniversaries(LocalDate.of(2028, 2, 29)).size());
+
+    // The indexes follow updates and deletes
+    manager.updateEmployee(coach.getEmployeeId(), "Cal", "Coach", "cal@email.com", "111-1111",
+                           "Training", "Coach", 95000.0, LocalDate.of(2021, 5, 5), WorkStatus.ACTIVE);
+    assertEquals(coach.getEmployeeId(), manager.getTopPaidEmployees(1).get(0).getEmployeeId());
+    assertEquals(1, manager.findEmployeesBySalaryRange(40000.0, 50000.0).size());
+    assertTrue(manager.getServiceAnniversaries(LocalDate.of(2023, 2, 28)).isEmpty());
+    manager.deleteEmployee(director.getEmployeeId());
+    assertTrue(manager.findEmployeesHiredBetween(LocalDate.of(2022, 9, 18), LocalDate.of(2022, 9, 18)).isEmpty());
+    assertTrue(manager.findEmployeesBySalaryRange(50000.0, 40000.0).isEmpty());
+}
+
+@Test
+public void testRangesOrderEarlyHireDatesAndLargeSalaries() {
+    Employee founder = manager.addEmployee("Fay", "Founder", "fay@email.com", "111-1114",
+                                           "Management", "Owner", 3_000_000_000.0, LocalDate.of(1965, 4, 1), WorkStatus.ACTIVE);
+    Employee volunteer = manager.addEmployee("Val", "Volunteer", "val@email.com", "111-1115",
+                                             "Training", "Helper", 0.0, LocalDate.of(1969, 12, 31), WorkStatus.ACTIVE);
+
+    // Dates before 1970 come first, and the hire dates on either side of it stay in order
+    assertEquals(founder.getEmployeeId(), manager.findEmployeesHiredBetween(null, null).get(0).getEmployeeId());
+    assertEquals(volunteer.getEmployeeId(), manager.findEmployeesHiredBetween(null, null).get(1).getEmployeeId());
+    assertEquals(2, manager.findEmployeesHiredBetween(LocalDate.of(1960, 1, 1), LocalDate.of(1970, 1, 1)).size());
+    assertEquals(founder.getEmployeeId(), manager.getTopPaidEmployees(1).get(0).getEmployeeId());
+    assertEquals(volunteer.getEmployeeId(), manager.findEmployeesBySalaryRange(0.0, 100.0).get(0).getEmployeeId());
+    assertEquals(3_000_000_000.0, manager.getPayrollByDepartment("MANAGEMENT") - 50000.00, 0.001);
+}
+}
@@ -0,0 +1,53 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class FuzzyNameIndexTest {
+
+    @Test
+    public void testWordsSharingAHashStayApart() {
+        // "a@" and "b!" have the same String hash code
+        assertEquals("a@".hashCode(), "b!".hashCode());
+        FuzzyNameIndex index = FuzzyNameIndex.EMPTY.put(1, "A@ Smith").put(2, "B! Smith");
+
+        List<FuzzyNameIndex.Match> found = index.search("a@", 0);
+        assertEquals(1, found.size());
+        assertEquals(1, found.get(0).id());
+
+        index = index.remove(1);
+        found = index.search("b!", 0);
+        assertEquals(1, found.size());
+        assertEquals(2, found.get(0).id());
+        assertTrue(index.search("a@", 0).isEmpty());
+    }
+
+    @Test
+    public void testDeadWordsAreDroppedFromTheTree() {
+        FuzzyNameIndex index = FuzzyNameIndex.EMPTY;
+        for (int id = 1; id <= 500; id++) {
+            index = index.put(id, "Member" + id);
+        }
+        assertEquals(500, index.treeSize());
+
+        for (int id = 1; id < 500; id++) {
+            index = index.remove(id);
+        }
+        assertTrue(index.treeSize() <= FuzzyNameIndex.REBUILD_MIN_DEAD);
+        assertTrue(index.search("member1", 0).isEmpty());
+        assertEquals(500, index.search("membre500").get(0).id());
+    }
+
+    @Test
+    public void testReusedWordIsNotAddedTwice() {
+        FuzzyNameIndex index = FuzzyNameIndex.EMPTY.put(1, "John Smith").remove(1).put(2, "Jane Smith");
+
+        // "smith" came back, "john" is the one dead word
+        assertEquals(3, index.treeSize());
+        assertEquals(2, index.search("smith").get(0).id());
+        assertTrue(index.search("john", 0).isEmpty());
+    }
+}
@@ -0,0 +1,314 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.config.PersistenceProperties;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.InMemoryMemberStore;
+
+public class MembershipManagementConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 500;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private MembershipManagement newManagement() {
+        return new MembershipManagement(new InMemoryMemberStore(), PersistenceProperties.LoadingMode.LAZY);
+    }
+
+    private void runAll(List<Future<?>> futures) throws Exception {
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testConcurrentAddsGetDistinctIds() throws Exception {
+        MembershipManagement management = newManagement();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Integer>>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Integer> ids = new ArrayList<>();
+                for (int i = 0; i < PER_THREAD; i++) {
+                    ids.add(management.addMember("Member", "Thread" + thread, "m" + thread + "-" + i + "@example.com")
+                        .getMemberId());
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+
+        Set<Integer> ids = new HashSet<>();
+        for (Future<List<Integer>> future : futures) {
+            ids.addAll(future.get(30, TimeUnit.SECONDS));
+        }
+        assertEquals(THREADS * PER_THREAD, ids.size());
+        assertEquals(THREADS * PER_THREAD, management.getTotalMemberCount());
+        for (int id = 1; id <= THREADS * PER_THREAD; id++) {
+            assertTrue(ids.contains(id), "missing ID " + id);
+        }
+    }
+
+    @Test
+    public void testConcurrentUpdatesAreNotLost() throws Exception {
+        MembershipManagement management = newManagement();
+        List<Integer> ids = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            ids.add(management.addMember("Member", "Thread" + t, "555-000" + t).getMemberId());
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int memberId = ids.get(t);
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < PER_THREAD; i++) {
+                    management.updateMember(memberId, null, null, "member" + memberId + "-" + i + "@example.com",
+                        null, null, null, null);
+                    management.deactivateMember(memberId);
+                    management.activateMember(memberId);
+                }
+                management.markMemberPaymentOverdue(memberId);
+                return null;
+            }));
+        }
+        // A reader iterating alongside the writers never fails or sees a missing member
+        futures.add(executor.submit(() -> {
+            for (int i = 0; i < PER_THREAD; i++) {
+                assertEquals(THREADS, management.getAllMembers().size());
+                for (int memberId : ids) {
+                    assertNotNull(management.findMemberById(memberId));
+                }
+            }
+            return null;
+        }));
+        runAll(futures);
+
+        for (int memberId : ids) {
+            Member member = management.findMemberById(memberId);
+            assertEquals("member" + memberId + "-" + (PER_THREAD - 1) + "@example.com", member.getEmail());
+            assertEquals(MembershipStatus.ACTIVE, member.getMembershipStatus());
+            assertEquals(PaymentStatus.OVERDUE, member.getPaymentStatus());
+        }
+        assertEquals(THREADS, management.getOverduePaymentCount());
+    }
+
+    @Test
+    public void testClearResetsIdsAtomically() throws Exception {
+        MembershipManagement management = newManagement();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < PER_THREAD; i++) {
+                    management.addMember("Member", "Doe", "555-1234");
+                }
+                return null;
+            }));
+        }
+        futures.add(executor.submit(() -> {
+            for (int i = 0; i < 50; i++) {
+                management.clearAllMembers();
+            }
+            return null;
+        }));
+        runAll(futures);
+
+        // Whatever survived the last clear was numbered from 1 without gaps
+        int count = management.getTotalMemberCount();
+        for (int id = 1; id <= count; id++) {
+            assertNotNull(management.findMemberById(id));
+        }
+        assertEquals(count + 1, management.addMember("Last", "Member", "555-9999").getMemberId());
+    }
+
+    @Test
+    public void testReadsDoNotWaitForWriters() throws Exception {
+        CountDownLatch writerInside = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        MembershipManagement management = new MembershipManagement(new InMemoryMemberStore() {
+            @Override
+            public long memberUpdated(Member member) {
+                writerInside.countDown();
+                try {
+                    releaseWriter.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.memberUpdated(member);
+            }
+        }, PersistenceProperties.LoadingMode.LAZY);
+        Member john = management.addMember("John", "Doe", "john@example.com");
+
+        // The writer stalls while holding the member's lock
+        Future<?> writer = executor.submit(() -> management.updateMember(john.getMemberId(), null, "Doeson",
+            null, null, null, null, null));
+        assertTrue(writerInside.await(30, TimeUnit.SECONDS));
+
+        List<Future<?>> readers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            readers.add(executor.submit(() -> {
+                for (int i = 0; i < PER_THREAD; i++) {
+                    assertNotNull(management.findMemberById(john.getMemberId()));
+                    assertEquals(1, management.getActiveMembers().size());
+                }
+                return null;
+            }));
+        }
+        runAll(readers);
+
+        releaseWriter.countDown();
+        writer.get(30, TimeUnit.SECONDS);
+        assertEquals("Doeson", management.findMemberById(john.getMemberId()).getLastName());
+    }
+
+    @Test
+    public void testWritersToOtherMembersDoNotWait() throws Exception {
+        CountDownLatch writerInside = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        MembershipManagement management = new MembershipManagement(new InMemoryMemberStore() {
+            @Override
+            public long memberUpdated(Member member) {
+                if (member.getMemberId() == 1) {
+                    writerInside.countDown();
+                    try {
+                        releaseWriter.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.memberUpdated(member);
+            }
+        }, PersistenceProperties.LoadingMode.LAZY);
+        Member john = management.addMember("John", "Doe", "john@example.com");
+        Member jane = management.addMember("Jane", "Smith", "jane@example.com");
+
+        Future<?> writer = executor.submit(() -> management.updateMember(john.getMemberId(), null, "Doeson",
+            null, null, null, null, null));
+        assertTrue(writerInside.await(30, TimeUnit.SECONDS));
+
+        // Jane is on another stripe, so her changes go through while John's is stuck
+        executor.submit(() -> {
+            management.updateMember(jane.getMemberId(), null, "Smithson", null, null, null, null, null);
+            management.deactivateMember(jane.getMemberId());
+            return management.addMember("Bob", "Johnson", "555-9876");
+        }).get(30, TimeUnit.SECONDS);
+        assertEquals(MembershipStatus.INACTIVE, management.findMemberById(jane.getMemberId()).getMembershipStatus());
+
+        releaseWriter.countDown();
+        writer.get(30, TimeUnit.SECONDS);
+        assertEquals("Doeson", management.findMemberById(john.getMemberId()).getLastName());
+    }
+
+    @Test
+    public void testReadersNeverSeeHalfAppliedUpdate() throws Exception {
+        MembershipManagement management = newManagement();
+        int memberId = management.addMember("Alpha", "Alpha", "555-1234").getMemberId();
+
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < PER_THREAD * 4; i++) {
+                String name = i % 2 == 0 ? "Bravo" : "Alpha";
+                management.updateMember(memberId, name, name, null, null, null, null, null);
+            }
+            return null;
+        });
+        List<Future<?>> readers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            readers.add(executor.submit(() -> {
+                while (!writer.isDone()) {
+                    Member member = management.findMemberById(memberId);
+                    assertEquals(member.getFirstName(), member.getLastName());
+                }
+                return null;
+            }));
+        }
+        writer.get(30, TimeUnit.SECONDS);
+        runAll(readers);
+    }
+
+    @Test
+    public void testFailedUpdateLeavesMemberUntouched() throws Exception {
+        MembershipManagement management = newManagement();
+        Member john = management.addMember("John", "Doe", "john@example.com");
+
+        // The first name is valid, the last name is not
+        assertThrows(IllegalArgumentException.class, () -> management.updateMember(john.getMemberId(),
+            "Johnny", "X", null, null, null, null, null));
+
+        assertEquals("John", management.findMemberById(john.getMemberId()).getFirstName());
+    }
+
+    @Test
+    public void testQueuedPaymentRunSharesCommits() throws Exception {
+        AtomicInteger commits = new AtomicInteger();
+        AtomicBoolean holdNextCommit = new AtomicBoolean();
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PersistenceProperties.WriteQueue writeQueue = new PersistenceProperties.WriteQueue();
+        writeQueue.setEnabled(true);
+        MembershipManagement management = new MembershipManagement(new InMemoryMemberStore() {
+            @Override
+            public void commit(long ticket) {
+                commits.incrementAndGet();
+                if (holdNextCommit.compareAndSet(true, false)) {
+                    held.countDown();
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }, PersistenceProperties.LoadingMode.LAZY, writeQueue);
+        for (int i = 0; i < PER_THREAD; i++) {
+            management.addMember("Member", "Number" + i, "member" + i + "@example.com");
+        }
+        management.markMemberPaymentOverdue(1);
+        assertEquals(1, management.getOverduePaymentCount());
+
+        // Hold the writer in the first payment's commit so the rest queue up
+        // behind it, then let them through as one batch
+        commits.set(0);
+        holdNextCommit.set(true);
+        List<CompletableFuture<Member>> payments = new ArrayList<>();
+        List<Member> members = management.getAllMembers();
+        payments.add(management.recordMemberPaymentAsync(members.get(0).getMemberId()));
+        assertTrue(held.await(30, TimeUnit.SECONDS));
+        for (Member member : members.subList(1, members.size())) {
+            payments.add(management.recordMemberPaymentAsync(member.getMemberId()));
+        }
+        release.countDown();
+        for (CompletableFuture<Member> payment : payments) {
+            assertEquals(PaymentStatus.UP_TO_DATE, payment.get(30, TimeUnit.SECONDS).getPaymentStatus());
+        }
+
+        assertEquals(0, management.getOverduePaymentCount());
+        assertEquals(2, commits.get());
+        assertThrows(MemberNotFoundException.class, () -> management.recordMemberPayment(PER_THREAD + 1));
+        management.saveData();
+        assertThrows(IllegalStateException.class, () -> management.addMember("Late", "Member", "555-0000"));
+    }
+}
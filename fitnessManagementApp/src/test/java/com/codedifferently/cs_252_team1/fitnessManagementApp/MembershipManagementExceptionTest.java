@@ -1,11 +1,22 @@
 package com.codedifferently.cs_252_team1.fitnessManagementApp;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.codedifferently.cs_252_team1.fitnessManagementApp.config.PersistenceProperties;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.MemberStore;
+
 public class MembershipManagementExceptionTest {
     private MembershipManagement membershipManagement;
     private Member testMember;
@@ -205,4 +216,115 @@ public class MembershipManagementExceptionTest {
         
         assertEquals("Member with ID " + nonExistentId + " not found", exception.getMessage());
     }
+
+    // Keeps nothing, like the in-memory store, but can be told to fail its
+    // writes or its commits the way a full or failing disk would
+    private static class FailingMemberStore implements MemberStore {
+        private final AtomicLong version = new AtomicLong();
+        volatile boolean failWrites;
+        volatile boolean failCommits;
+
+        private long write() throws IOException {
+            if (failWrites) {
+                throw new IOException("disk full");
+            }
+            return version.incrementAndGet();
+        }
+
+        @Override
+        public int open(Map<Integer, Member> members, Supplier<Collection<Member>> snapshotSource) {
+            return 1;
+        }
+
+        @Override
+        public long memberAdded(Member member) throws IOException {
+            return write();
+        }
+
+        @Override
+        public long memberUpdated(Member member) throws IOException {
+            return write();
+        }
+
+        @Override
+        public long memberRemoved(int memberId) throws IOException {
+            return write();
+        }
+
+        @Override
+        public long statusChanged(Member member) throws IOException {
+            return write();
+        }
+
+        @Override
+        public long paymentChanged(Member member) throws IOException {
+            return write();
+        }
+
+        @Override
+        public long membersCleared() throws IOException {
+            return write();
+        }
+
+        @Override
+        public void commit(long ticket) throws IOException {
+            if (failCommits) {
+                throw new IOException("fsync failed");
+            }
+        }
+
+        @Override
+        public void awaitDurable(long ticket) throws IOException {
+            commit(ticket);
+        }
+
+        @Override
+        public long lastTicket() {
+            return version.get();
+        }
+
+        @Override
+        public void checkpoint() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    public void testFailedStoreWriteFailsTheChangeAndUndoesIt() throws MemberNotFoundException {
+        FailingMemberStore store = new FailingMemberStore();
+        MembershipManagement management = new MembershipManagement(store, PersistenceProperties.LoadingMode.LAZY);
+        Member member = management.addMember("Jane", "Doe", "jane@example.com");
+        store.failWrites = true;
+
+        assertThrows(UncheckedIOException.class, () -> management.markMemberPaymentOverdue(member.getMemberId()));
+        assertEquals(PaymentStatus.UP_TO_DATE, management.findMemberById(member.getMemberId()).getPaymentStatus());
+        assertThrows(UncheckedIOException.class, () -> management.addMember("John", "Roe", "john@example.com"));
+        assertThrows(UncheckedIOException.class, () -> management.clearAllMembers());
+        assertEquals(1, management.getTotalMemberCount());
+
+        // The ID handed out while the members were being cleared is not reused
+        store.failWrites = false;
+        assertEquals(3, management.addMember("John", "Roe", "john@example.com").getMemberId());
+    }
+
+    @Test
+    public void testFailedCommitFailsQueuedChanges() {
+        FailingMemberStore store = new FailingMemberStore();
+        store.failCommits = true;
+        PersistenceProperties.WriteQueue writeQueue = new PersistenceProperties.WriteQueue();
+        writeQueue.setEnabled(true);
+        MembershipManagement management = new MembershipManagement(store, PersistenceProperties.LoadingMode.LAZY,
+            writeQueue);
+
+        CompletableFuture<Member> added = management.addMemberAsync("Jane", "Doe", "jane@example.com", "",
+            MembershipType.BASIC, PaymentOption.CASH, MembershipStatus.ACTIVE);
+        assertThrows(UncheckedIOException.class, () -> CommandQueue.await(added, RuntimeException.class));
+        // The writer thread is still there for the next change
+        store.failCommits = false;
+        assertEquals("John", management.addMember("John", "Roe", "john@example.com").getFirstName());
+        management.saveData();
+    }
 }
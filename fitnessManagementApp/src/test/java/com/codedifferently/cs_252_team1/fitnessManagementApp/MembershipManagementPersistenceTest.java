@@ -0,0 +1,249 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.config.PersistenceProperties;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.BackgroundPersister;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.FsyncPolicy;
+
+public class MembershipManagementPersistenceTest {
+    @TempDir
+    Path tempDir;
+
+    private MembershipManagement restart() {
+        return restart(PersistenceProperties.MemberStoreType.JOURNAL);
+    }
+
+    private MembershipManagement restart(PersistenceProperties.MemberStoreType storeType) {
+        return restart(storeType, null);
+    }
+
+    private MembershipManagement restart(PersistenceProperties.MemberStoreType storeType, BackgroundPersister persister) {
+        return restart(storeType, persister, FsyncPolicy.Mode.BATCH);
+    }
+
+    private MembershipManagement restart(PersistenceProperties.MemberStoreType storeType, BackgroundPersister persister,
+                                         FsyncPolicy.Mode fsync) {
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.getFsync().setPolicy(fsync);
+        properties.setDataDirectory(tempDir.toString());
+        properties.setMemberStore(storeType);
+        properties.getWriteBehind().setEnabled(persister != null);
+        MembershipManagement management = new MembershipManagement(properties, null, persister);
+        management.loadData();
+        return management;
+    }
+
+    @Test
+    public void testChangesSurviveRestartWithoutSnapshot() throws MemberNotFoundException {
+        MembershipManagement management = restart();
+        Member john = management.addMember("John", "Doe", "john@example.com", "555-1234",
+            MembershipType.VIP, PaymentOption.CREDIT_CARD, MembershipStatus.ACTIVE);
+        Member jane = management.addMember("Jane", "Smith", "jane@example.com");
+        management.updateMember(john.getMemberId(), null, "Doeson", null, null, null, null, null);
+        management.deactivateMember(john.getMemberId());
+        management.markMemberPaymentOverdue(john.getMemberId());
+        management.removeMember(jane.getMemberId());
+
+        // No @PreDestroy snapshot: state must come from the log alone
+        MembershipManagement reloaded = restart();
+
+        assertEquals(1, reloaded.getTotalMemberCount());
+        Member loaded = reloaded.findMemberById(john.getMemberId());
+        assertEquals("Doeson", loaded.getLastName());
+        assertEquals(MembershipType.VIP, loaded.getMembershipType());
+        assertEquals(MembershipStatus.INACTIVE, loaded.getMembershipStatus());
+        assertEquals(PaymentStatus.OVERDUE, loaded.getPaymentStatus());
+        assertThrows(MemberNotFoundException.class, () -> reloaded.findMemberById(jane.getMemberId()));
+    }
+
+    @Test
+    public void testSnapshotTruncatesLog() throws Exception {
+        MembershipManagement management = restart();
+        management.addMember("John", "Doe", "john@example.com");
+        management.addMember("Jane", "Smith", "jane@example.com");
+        management.saveData();
+
+        assertTrue(Files.exists(tempDir.resolve("fitness_members.snap")));
+        assertEquals(8, Files.size(tempDir.resolve("fitness_members.log")));
+
+        MembershipManagement reloaded = restart();
+        assertEquals(2, reloaded.getTotalMemberCount());
+        Member next = reloaded.addMember("Bob", "Johnson", "555-9876");
+        assertEquals(3, next.getMemberId());
+    }
+
+    @Test
+    public void testCheckpointKeepsChangesMadeAfterMark() throws Exception {
+        MembershipManagement management = restart();
+        management.addMember("John", "Doe", "john@example.com");
+        management.checkpoint();
+        management.addMember("Jane", "Smith", "jane@example.com");
+
+        // Crash without @PreDestroy: snapshot holds John, log tail holds Jane
+        MembershipManagement reloaded = restart();
+        assertEquals(2, reloaded.getTotalMemberCount());
+        assertEquals("Jane", reloaded.findMemberById(2).getFirstName());
+    }
+
+    @Test
+    public void testLegacyDataFileIsMigratedOnLoad() throws Exception {
+        Map<Integer, Member> legacy = new HashMap<>();
+        legacy.put(4, new Member(4, "John", "Doe", "john@example.com", "555-1234",
+            LocalDate.of(2019, 6, 1), MembershipStatus.ACTIVE, MembershipType.SENIOR, PaymentOption.CHECK));
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                Files.newOutputStream(tempDir.resolve("fitness_members.dat")))) {
+            out.writeObject(legacy);
+        }
+
+        MembershipManagement management = restart();
+
+        assertEquals(MembershipType.SENIOR, management.findMemberById(4).getMembershipType());
+        assertEquals(5, management.addMember("Jane", "Smith", "jane@example.com").getMemberId());
+        assertTrue(Files.exists(tempDir.resolve("fitness_members.snap")));
+        assertTrue(Files.exists(tempDir.resolve("fitness_members.dat.migrated")));
+        assertFalse(Files.exists(tempDir.resolve("fitness_members.dat")));
+    }
+
+    @Test
+    public void testMappedStoreKeepsChangesWithoutShutdown() throws MemberNotFoundException {
+        MembershipManagement management = restart();
+        Member john = management.addMember("John", "Doe", "john@example.com");
+        management.saveData();
+
+        // Switching to the mapped store imports the journal data
+        MembershipManagement mapped = restart(PersistenceProperties.MemberStoreType.MAPPED);
+        assertEquals("John", mapped.findMemberById(john.getMemberId()).getFirstName());
+        Member jane = mapped.addMember("Jane", "Smith", "jane@example.com");
+        mapped.deactivateMember(john.getMemberId());
+        mapped.markMemberPaymentOverdue(jane.getMemberId());
+
+        // No @PreDestroy: the in-place writes are already in the mapped file
+        MembershipManagement reloaded = restart(PersistenceProperties.MemberStoreType.MAPPED);
+        assertEquals(2, reloaded.getTotalMemberCount());
+        assertEquals(MembershipStatus.INACTIVE, reloaded.findMemberById(john.getMemberId()).getMembershipStatus());
+        assertEquals(PaymentStatus.OVERDUE, reloaded.findMemberById(jane.getMemberId()).getPaymentStatus());
+        assertEquals(3, reloaded.addMember("Bob", "Johnson", "555-9876").getMemberId());
+    }
+
+    @Test
+    public void testWriteBehindChangesAreDurableAfterFlush() throws Exception {
+        // Under os nothing waits for the lingering persister until asked to
+        BackgroundPersister persister = new BackgroundPersister(Duration.ofHours(1));
+        MembershipManagement management = restart(PersistenceProperties.MemberStoreType.JOURNAL, persister,
+            FsyncPolicy.Mode.OS);
+        for (int i = 0; i < 1000; i++) {
+            management.addMember("Member", "Number" + i, "member" + i + "@example.com");
+        }
+        long version = management.getVersion();
+        management.deactivateMember(1);
+
+        management.awaitDurable(version);
+        assertEquals(1000, restart().getTotalMemberCount());
+
+        management.flush();
+        assertEquals(MembershipStatus.INACTIVE, restart().findMemberById(1).getMembershipStatus());
+        persister.close();
+    }
+
+    @Test
+    public void testSerializedStoreWritesEachChangeUnderOsPolicy() throws Exception {
+        MembershipManagement management = restart(PersistenceProperties.MemberStoreType.SERIALIZED, null,
+            FsyncPolicy.Mode.OS);
+        management.addMember("John", "Doe", "john@example.com");
+        management.addMember("Jane", "Smith", "jane@example.com");
+
+        // No @PreDestroy: each commit already rewrote the file
+        assertEquals(2, restart(PersistenceProperties.MemberStoreType.SERIALIZED).getTotalMemberCount());
+    }
+
+    @Test
+    public void testRemovedHighestIdIsNotReused() throws Exception {
+        MembershipManagement management = restart();
+        management.addMember("John", "Doe", "john@example.com");
+        Member jane = management.addMember("Jane", "Smith", "jane@example.com");
+        management.removeMember(jane.getMemberId());
+
+        // From the log alone, then from the snapshot header
+        assertEquals(3, restart().addMember("Bob", "Johnson", "555-9876").getMemberId());
+        MembershipManagement reloaded = restart();
+        reloaded.removeMember(3);
+        reloaded.saveData();
+        assertEquals(4, restart().addMember("Sam", "Lee", "555-4321").getMemberId());
+
+        MembershipManagement mapped = restart(PersistenceProperties.MemberStoreType.MAPPED);
+        mapped.removeMember(4);
+        assertEquals(5, restart(PersistenceProperties.MemberStoreType.MAPPED)
+            .addMember("Ann", "Park", "555-1111").getMemberId());
+    }
+
+    @Test
+    public void testMembersAreLoadedOnFirstAccess() throws Exception {
+        Map<Integer, Member> legacy = new HashMap<>();
+        legacy.put(1, new Member(1, "John", "Doe", "john@example.com", "555-1234",
+            LocalDate.of(2019, 6, 1), MembershipStatus.ACTIVE, MembershipType.BASIC, PaymentOption.CASH));
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                Files.newOutputStream(tempDir.resolve("fitness_members.dat")))) {
+            out.writeObject(legacy);
+        }
+
+        MembershipManagement management = restart();
+        assertTrue(Files.exists(tempDir.resolve("fitness_members.dat")));
+
+        assertEquals(1, management.getTotalMemberCount());
+        assertFalse(Files.exists(tempDir.resolve("fitness_members.dat")));
+    }
+
+    @Test
+    public void testEagerLoadingStartsAtStartup() throws Exception {
+        restart().addMember("John", "Doe", "john@example.com");
+
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.setDataDirectory(tempDir.toString());
+        properties.setLoading(PersistenceProperties.LoadingMode.EAGER);
+        MembershipManagement management = new MembershipManagement(properties, null, null);
+        management.loadData();
+
+        assertEquals("John", management.findMemberById(1).getFirstName());
+        assertEquals(2, management.addMember("Jane", "Smith", "jane@example.com").getMemberId());
+    }
+
+    @Test
+    public void testSerializedStoreRewritesDataFile() throws Exception {
+        MembershipManagement management = restart(PersistenceProperties.MemberStoreType.SERIALIZED);
+        Member john = management.addMember("John", "Doe", "john@example.com");
+        management.deactivateMember(john.getMemberId());
+        assertThrows(IllegalArgumentException.class, () -> management.addMember("", "Doe", "x@example.com"));
+        assertTrue(Files.exists(tempDir.resolve("fitness_members.dat")));
+
+        MembershipManagement reloaded = restart(PersistenceProperties.MemberStoreType.SERIALIZED);
+        assertEquals(MembershipStatus.INACTIVE, reloaded.findMemberById(john.getMemberId()).getMembershipStatus());
+
+        // The journal store picks the file up as legacy data
+        assertEquals("John", restart().findMemberById(john.getMemberId()).getFirstName());
+    }
+
+    @Test
+    public void testMemoryStoreKeepsNothing() {
+        MembershipManagement management = restart(PersistenceProperties.MemberStoreType.MEMORY);
+        management.addMember("John", "Doe", "john@example.com");
+        management.saveData();
+
+        assertEquals(1, management.getTotalMemberCount());
+        assertTrue(restart(PersistenceProperties.MemberStoreType.MEMORY).isEmpty());
+        assertFalse(Files.exists(tempDir.resolve("fitness_members.log")));
+    }
+}
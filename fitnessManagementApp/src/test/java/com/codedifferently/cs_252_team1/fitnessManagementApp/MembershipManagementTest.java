@@ -1,6 +1,11 @@
 package com.codedifferently.cs_252_team1.fitnessManagementApp;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -12,6 +17,9 @@ import static org.junit.jupiter.api.Assertions.fail;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.codedifferently.cs_252_team1.fitnessManagementApp.config.PersistenceProperties;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.persistence.InMemoryMemberStore;
+
 
 public class MembershipManagementTest {
     private MembershipManagement membershipManagement;
@@ -304,6 +312,44 @@ public class MembershipManagementTest {
         assertEquals(0, membershipManagement.findMembersByName("NonExistent").size());
     }
 
+    @Test
+    public void testFindMembersByFullNameAndShortTerms() {
+        membershipManagement.addMember("John", "Doe", "john@example.com");
+        membershipManagement.addMember("Jane", "Doe", "jane@example.com");
+        membershipManagement.addMember("Bob", "Smith", "bob@example.com");
+
+        // Matches across the space between first and last name
+        assertEquals(1, membershipManagement.findMembersByName("John Do").size());
+        assertEquals(1, membershipManagement.findMembersByName("  n d  ").size());
+        assertEquals(0, membershipManagement.findMembersByName("John Smith").size());
+
+        // One and two character terms
+        assertEquals(3, membershipManagement.findMembersByName("o").size());
+        assertEquals(2, membershipManagement.findMembersByName("OE").size());
+        assertEquals(0, membershipManagement.findMembersByName("z").size());
+        assertEquals(0, membershipManagement.findMembersByName("   ").size());
+
+        // All pieces present, but not next to each other
+        assertEquals(0, membershipManagement.findMembersByName("johdoe").size());
+    }
+
+    @Test
+    public void testFindMembersByNameFollowsChanges() throws MemberNotFoundException {
+        Member john = membershipManagement.addMember("John", "Doe", "john@example.com");
+        Member jane = membershipManagement.addMember("Jane", "Doe", "jane@example.com");
+
+        membershipManagement.updateMember(john.getMemberId(), "Jonathan", "Dorian", null, null, null, null, null);
+        membershipManagement.recordMemberPayment(jane.getMemberId());
+
+        assertEquals(0, membershipManagement.findMembersByName("John").size());
+        assertEquals(1, membershipManagement.findMembersByName("Doe").size());
+        assertEquals("Jonathan", membershipManagement.findMembersByName("jonathan dor").get(0).getFirstName());
+
+        membershipManagement.removeMember(jane.getMemberId());
+        assertEquals(0, membershipManagement.findMembersByName("Jane").size());
+        assertEquals(1, membershipManagement.findMembersByName("o").size());
+    }
+
     @Test
     public void testGetAllMembers() {
         assertTrue(membershipManagement.getAllMembers().isEmpty());
@@ -339,6 +385,48 @@ public class MembershipManagementTest {
         assertEquals(1, membershipManagement.getInactiveMembers().size());
     }
 
+    @Test
+    public void testGetExpiredMembers() {
+        membershipManagement.addMember("John", "Doe", "john@example.com", "555-1234",
+            MembershipType.BASIC, PaymentOption.CASH, MembershipStatus.EXPIRED);
+        membershipManagement.addMember("Jane", "Smith", "jane@example.com", "555-5678",
+            MembershipType.BASIC, PaymentOption.CASH, MembershipStatus.ACTIVE);
+
+        assertEquals(1, membershipManagement.getExpiredMembers().size());
+        assertEquals("John", membershipManagement.getExpiredMembers().get(0).getFirstName());
+        assertEquals(1, membershipManagement.getMemberCountByStatus(MembershipStatus.EXPIRED));
+    }
+
+    @Test
+    public void testStatusIndexFollowsEveryChange() throws MemberNotFoundException {
+        Member john = membershipManagement.addMember("John", "Doe", "john@example.com");
+        Member jane = membershipManagement.addMember("Jane", "Smith", "jane@example.com");
+        Member bob = membershipManagement.addMember("Bob", "Johnson", "555-9876");
+        assertEquals(3, membershipManagement.getMemberCountByStatus(MembershipStatus.ACTIVE));
+
+        membershipManagement.deactivateMember(john.getMemberId());
+        membershipManagement.updateMember(jane.getMemberId(), null, null, null, null, null, null,
+            MembershipStatus.EXPIRED);
+        // Changes that keep the status keep the member listed, with the new values
+        membershipManagement.updateMember(bob.getMemberId(), null, "Johnston", null, null, null, null, null);
+
+        assertEquals(1, membershipManagement.getMemberCountByStatus(MembershipStatus.ACTIVE));
+        assertEquals("Johnston", membershipManagement.getActiveMembers().get(0).getLastName());
+        assertEquals(john.getMemberId(), membershipManagement.getInactiveMembers().get(0).getMemberId());
+        assertEquals(jane.getMemberId(), membershipManagement.getExpiredMembers().get(0).getMemberId());
+
+        membershipManagement.activateMember(john.getMemberId());
+        membershipManagement.removeMember(bob.getMemberId());
+        membershipManagement.deleteMember(jane.getMemberId());
+
+        assertEquals(1, membershipManagement.getMemberCountByStatus(MembershipStatus.ACTIVE));
+        assertEquals(0, membershipManagement.getMemberCountByStatus(MembershipStatus.INACTIVE));
+        assertEquals(0, membershipManagement.getMemberCountByStatus(MembershipStatus.EXPIRED));
+
+        membershipManagement.clearAllMembers();
+        assertTrue(membershipManagement.getActiveMembers().isEmpty());
+    }
+
     @Test
     public void testActivateMember() throws MemberNotFoundException {
         Member member = membershipManagement.addMember("John", "Doe", "john@example.com", "555-1234",
@@ -413,6 +501,86 @@ public class MembershipManagementTest {
         }
     }
 
+    @Test
+    public void testChangingAReturnedMemberChangesNothingStored() throws MemberNotFoundException {
+        Member added = membershipManagement.addMember("John", "Doe", "john@example.com");
+        added.deactivate();
+        Member found = membershipManagement.findMemberById(added.getMemberId());
+        found.setLastName("Changed");
+        membershipManagement.getActiveMembers().get(0).setEmail("changed@example.com");
+
+        Member stored = membershipManagement.findMemberById(added.getMemberId());
+        assertEquals(MembershipStatus.ACTIVE, stored.getMembershipStatus());
+        assertEquals("Doe", stored.getLastName());
+        assertEquals("john@example.com", stored.getEmail());
+        assertEquals(1, membershipManagement.getMemberCountByStatus(MembershipStatus.ACTIVE));
+        assertTrue(membershipManagement.findMembersByName("changed").isEmpty());
+        assertEquals(added.getMemberId(), membershipManagement.findMemberByEmail("john@example.com").getMemberId());
+    }
+
+    @Test
+    public void testStatusQueryIsAnsweredByAStoreWithItsOwnIndex() throws MemberNotFoundException {
+        MembershipManagement management = new MembershipManagement(new InMemoryMemberStore() {
+            @Override
+            public List<Integer> findIdsByStatus(MembershipStatus status) {
+                // Out of order, with an ID that no longer exists
+                return status == MembershipStatus.ACTIVE ? List.of(3, 9, 1, 2) : List.of();
+            }
+        }, PersistenceProperties.LoadingMode.LAZY);
+        management.addMember("John", "Doe", "john@example.com");
+        management.addMember("Jane", "Doe", "jane@example.com");
+        management.addMember("Bob", "Doe", "bob@example.com");
+        management.deactivateMember(2);
+
+        // Members are checked again, so the store cannot return a stale one
+        assertEquals(List.of(1, 3), ids(management.getActiveMembers()));
+        assertTrue(management.getInactiveMembers().isEmpty());
+    }
+
+    @Test
+    public void testOverduePaymentsFollowPaymentDates() throws MemberNotFoundException {
+        LocalDate today = LocalDate.now();
+        MembershipManagement management = new MembershipManagement(new InMemoryMemberStore() {
+            @Override
+            public int open(Map<Integer, Member> members, Supplier<Collection<Member>> snapshotSource) {
+                int[] daysAgo = {0, 30, 31, 400};
+                for (int i = 0; i < daysAgo.length; i++) {
+                    Member member = new Member(i + 1, "Member", "Number" + i, "m" + i + "@example.com", "",
+                        today.minusYears(2), MembershipStatus.ACTIVE, MembershipType.BASIC, PaymentOption.CASH);
+                    member.setLastPaymentDate(today.minusDays(daysAgo[i]));
+                    members.put(member.getMemberId(), member);
+                }
+                return daysAgo.length + 1;
+            }
+        }, PersistenceProperties.LoadingMode.LAZY);
+        management.loadData();
+
+        // Thirty days since the last payment is still on time
+        assertEquals(List.of(3, 4), ids(management.getMembersWithOverduePayments()));
+        assertEquals(2, management.getOverduePaymentCount());
+
+        management.markMemberPaymentOverdue(1);
+        management.markMemberPaymentOverdue(4);
+        assertEquals(List.of(1, 3, 4), ids(management.getMembersWithOverduePayments()));
+        assertEquals(3, management.getOverduePaymentCount());
+
+        management.recordMemberPayment(4);
+        management.recordMemberPayment(1);
+        assertEquals(List.of(3), ids(management.getMembersWithOverduePayments()));
+        assertEquals(1, management.getOverduePaymentCount());
+
+        management.removeMember(3);
+        assertEquals(0, management.getOverduePaymentCount());
+    }
+
+    private static List<Integer> ids(List<Member> members) {
+        List<Integer> ids = new ArrayList<>();
+        for (Member member : members) {
+            ids.add(member.getMemberId());
+        }
+        return ids;
+    }
+
     @Test
     public void testRecordMemberPayment() throws MemberNotFoundException {
         Member member = membershipManagement.addMember("John", "Doe", "john@example.com");
@@ -471,4 +639,281 @@ public class MembershipManagementTest {
                 MembershipType.BASIC, PaymentOption.CASH, MembershipStatus.ACTIVE);
         });
     }
+
+    @Test
+    public void testFindMemberByEmailAndPhone() throws MemberNotFoundException {
+        Member john = membershipManagement.addMember("John", "Doe", "John.Doe@Example.com", "(555) 123-4567",
+            MembershipType.BASIC, PaymentOption.CASH, MembershipStatus.ACTIVE);
+        membershipManagement.addMember("Jane", "Smith", "jane@example.com");
+
+        assertEquals(john.getMemberId(), membershipManagement.findMemberByEmail("  john.doe@example.COM ").getMemberId());
+        assertEquals(john.getMemberId(), membershipManagement.findMemberByPhone("555.123.4567").getMemberId());
+        assertThrows(MemberNotFoundException.class, () -> membershipManagement.findMemberByEmail("nobody@example.com"));
+        assertThrows(MemberNotFoundException.class, () -> membershipManagement.findMemberByPhone(""));
+    }
+
+    @Test
+    public void testContactIndexFollowsChanges() throws MemberNotFoundException {
+        Member member = membershipManagement.addMember("John", "Doe", "john@example.com", "555-1234",
+            MembershipType.BASIC, PaymentOption.CASH, MembershipStatus.ACTIVE);
+
+        membershipManagement.updateMember(member.getMemberId(), null, null, "johnny@example.com", "555-9999",
+            null, null, null);
+        assertThrows(MemberNotFoundException.class, () -> membershipManagement.findMemberByEmail("john@example.com"));
+        assertThrows(MemberNotFoundException.class, () -> membershipManagement.findMemberByPhone("5551234"));
+        assertEquals(member.getMemberId(), membershipManagement.findMemberByPhone("5559999").getMemberId());
+
+        membershipManagement.removeMember(member.getMemberId());
+        assertThrows(MemberNotFoundException.class, () -> membershipManagement.findMemberByEmail("johnny@example.com"));
+    }
+
+    @Test
+    public void testUniqueContactIsOptional() throws MemberNotFoundException {
+        Member first = membershipManagement.addMember("John", "Doe", "john@example.com");
+        Member second = membershipManagement.addMember("Johnny", "Doe", "JOHN@example.com");
+
+        // Without the constraint duplicates are allowed and the lowest ID is found
+        assertNotEquals(first.getMemberId(), second.getMemberId());
+        assertEquals(first.getMemberId(), membershipManagement.findMemberByEmail("john@example.com").getMemberId());
+    }
+
+    @Test
+    public void testUniqueContactRejectsDuplicates() throws MemberNotFoundException {
+        membershipManagement.setUniqueContactRequired(true);
+        Member john = membershipManagement.addMember("John", "Doe", "john@example.com", "555-1234",
+            MembershipType.BASIC, PaymentOption.CASH, MembershipStatus.ACTIVE);
+        Member jane = membershipManagement.addMember("Jane", "Smith", "jane@example.com");
+
+        assertThrows(IllegalArgumentException.class, () -> membershipManagement.addMember("Johnny", "Doe",
+            " John@Example.com", "", MembershipType.BASIC, PaymentOption.CASH, MembershipStatus.ACTIVE));
+        assertThrows(IllegalArgumentException.class, () -> membershipManagement.addMember("Jim", "Doe",
+            "", "555 1234", MembershipType.BASIC, PaymentOption.CASH, MembershipStatus.ACTIVE));
+        assertThrows(IllegalArgumentException.class, () -> membershipManagement.updateMember(jane.getMemberId(),
+            null, null, "john@example.com", null, null, null, null));
+        assertEquals(2, membershipManagement.getTotalMemberCount());
+        assertEquals("jane@example.com", membershipManagement.findMemberById(jane.getMemberId()).getEmail());
+
+        // A member may keep or re-enter its own details, and no ID was used up
+        membershipManagement.updateMember(john.getMemberId(), null, null, "JOHN@example.com", null, null, null, null);
+        Member jim = membershipManagement.addMember("Jim", "Doe", "jim@example.com");
+        assertEquals(3, jim.getMemberId());
+    }
+
+    @Test
+    public void testFilterMembersByAttributes() throws MemberNotFoundException {
+        Member premiumCard = membershipManagement.addMember("Ann", "Able", "ann@example.com", "",
+            MembershipType.PREMIUM, PaymentOption.CREDIT_CARD, MembershipStatus.ACTIVE);
+        Member premiumCash = membershipManagement.addMember("Bob", "Baker", "bob@example.com", "",
+            MembershipType.PREMIUM, PaymentOption.CASH, MembershipStatus.ACTIVE);
+        Member basicCard = membershipManagement.addMember("Cy", "Cole", "cy@example.com", "",
+            MembershipType.BASIC, PaymentOption.CREDIT_CARD, MembershipStatus.INACTIVE);
+        membershipManagement.markMemberPaymentOverdue(premiumCard.getMemberId());
+
+        MemberFilter report = MemberFilter.status(MembershipStatus.ACTIVE)
+            .and(MemberFilter.type(MembershipType.PREMIUM))
+            .and(MemberFilter.paymentOption(PaymentOption.CREDIT_CARD))
+            .and(MemberFilter.paymentStatus(PaymentStatus.OVERDUE));
+        assertEquals(1, membershipManagement.countMembers(report));
+        assertEquals(premiumCard.getMemberId(), membershipManagement.findMembers(report).get(0).getMemberId());
+
+        MemberFilter cardOrInactive = MemberFilter.paymentOption(PaymentOption.CREDIT_CARD)
+            .or(MemberFilter.status(MembershipStatus.INACTIVE));
+        assertEquals(2, membershipManagement.countMembers(cardOrInactive));
+        assertEquals(List.of(premiumCash.getMemberId()), ids(membershipManagement.findMembers(cardOrInactive.not())));
+        assertEquals(3, membershipManagement.countMembers(MemberFilter.all()));
+
+        // Changes move members between bitmaps
+        membershipManagement.recordMemberPayment(premiumCard.getMemberId());
+        membershipManagement.updateMember(basicCard.getMemberId(), null, null, null, null,
+            MembershipType.PREMIUM, null, MembershipStatus.ACTIVE);
+        membershipManagement.removeMember(premiumCash.getMemberId());
+        assertEquals(0, membershipManagement.countMembers(report));
+        assertEquals(2, membershipManagement.countMembers(MemberFilter.type(MembershipType.PREMIUM)
+            .and(MemberFilter.paymentOption(PaymentOption.CREDIT_CARD))));
+        assertEquals(0, membershipManagement.countMembers(MemberFilter.paymentOption(PaymentOption.CASH)));
+    }
+
+    @Test
+    public void testQueryCombinesCriteria() throws MemberNotFoundException {
+        Member ann = membershipManagement.addMember("Ann", "Smith", "ann@example.com", "",
+            MembershipType.PREMIUM, PaymentOption.CREDIT_CARD, MembershipStatus.ACTIVE);
+        membershipManagement.addMember("Bob", "Smith", "bob@example.com", "",
+            MembershipType.BASIC, PaymentOption.CASH, MembershipStatus.ACTIVE);
+        Member cy = membershipManagement.addMember("Cy", "Jones", "cy@example.com", "",
+            MembershipType.PREMIUM, PaymentOption.CASH, MembershipStatus.ACTIVE);
+        membershipManagement.markMemberPaymentOverdue(cy.getMemberId());
+
+        MemberQuery premiumSmiths = new MemberQuery().type(MembershipType.PREMIUM).nameContains("SMITH");
+        assertEquals(List.of(ann.getMemberId()), ids(membershipManagement.query(premiumSmiths)));
+
+        MemberQuery overduePremium = new MemberQuery().type(MembershipType.PREMIUM).overdue(true);
+        assertEquals(List.of(cy.getMemberId()), ids(membershipManagement.query(overduePremium)));
+        assertEquals(List.of(ann.getMemberId()),
+            ids(membershipManagement.query(new MemberQuery().type(MembershipType.PREMIUM).overdue(false))));
+
+        LocalDate today = LocalDate.now();
+        assertEquals(3, membershipManagement.query(new MemberQuery().joinedBetween(today, today)).size());
+        assertTrue(membershipManagement.query(new MemberQuery().joinedBetween(null, today.minusDays(1))).isEmpty());
+        assertEquals(3, membershipManagement.query(new MemberQuery()).size());
+    }
+
+    @Test
+    public void testExplainShowsChosenIndex() {
+        for (int i = 0; i < 20; i++) {
+            membershipManagement.addMember("Member", "Number" + i, "m" + i + "@example.com", "",
+                MembershipType.BASIC, PaymentOption.CASH, MembershipStatus.ACTIVE);
+        }
+        membershipManagement.addMember("Zed", "Quigley", "zed@example.com", "",
+            MembershipType.VIP, PaymentOption.CASH, MembershipStatus.ACTIVE);
+
+        // The name is rarer than the status, so the name index drives the query
+        String byName = membershipManagement.explain(new MemberQuery()
+            .status(MembershipStatus.ACTIVE).nameContains("quig"));
+        assertTrue(byName.startsWith("Access: name index"));
+        assertTrue(byName.contains("Index check: bitmap index on [ACTIVE]"));
+
+        String byType = membershipManagement.explain(new MemberQuery()
+            .type(MembershipType.VIP).nameContains("member"));
+        assertTrue(byType.startsWith("Access: bitmap index on [VIP]"));
+
+        String byJoined = membershipManagement.explain(new MemberQuery()
+            .joinedBetween(LocalDate.now().minusYears(1), LocalDate.now().minusDays(1)));
+        assertTrue(byJoined.startsWith("Access: joining date index"));
+
+        String scan = membershipManagement.explain(new MemberQuery().overdue(false));
+        assertTrue(scan.startsWith("Access: scan of every member"));
+        assertTrue(scan.contains("Index check: payment index for members not overdue"));
+    }
+
+    @Test
+    public void testJoiningDateCohorts() throws MemberNotFoundException {
+        LocalDate today = LocalDate.now();
+        LocalDate[] joined = {
+            today, today.minusYears(1), today.minusYears(1).plusDays(1), today.minusYears(3).minusDays(1),
+            today.minusYears(1), today.plusDays(5)
+        };
+        MembershipManagement management = new MembershipManagement(new InMemoryMemberStore() {
+            @Override
+            public int open(Map<Integer, Member> members, Supplier<Collection<Member>> snapshotSource) {
+                for (int i = 0; i < joined.length; i++) {
+                    Member member = new Member(i + 1, "Member", "Number" + i, "m" + i + "@example.com", "",
+                        joined[i], MembershipStatus.ACTIVE, MembershipType.BASIC, PaymentOption.CASH);
+                    members.put(member.getMemberId(), member);
+                }
+                return joined.length + 1;
+            }
+        }, PersistenceProperties.LoadingMode.LAZY);
+        management.loadData();
+
+        // Ordered by joining date, then by ID
+        assertEquals(List.of(4, 2, 5, 3), ids(management.getMembersJoinedBetween(null, today.minusDays(1))));
+        assertEquals(3, management.countMembersJoinedBetween(today.minusYears(1), today.minusDays(1)));
+        assertEquals(List.of(4, 2, 5), ids(management.getMembersWithTenureOfAtLeast(1)));
+        assertEquals(List.of(4), ids(management.getMembersWithTenureOfAtLeast(3)));
+
+        Map<Integer, Integer> histogram = management.getTenureHistogram();
+        assertEquals(Map.of(0, 2, 1, 2, 2, 0, 3, 1), histogram);
+        for (Member member : management.getAllMembers()) {
+            if (!member.getMembershipDate().isAfter(today)) {
+                long years = member.getYearsOfMembership();
+                assertTrue(histogram.get((int) years) > 0);
+            }
+        }
+
+        management.removeMember(4);
+        assertEquals(Map.of(0, 2, 1, 2), management.getTenureHistogram());
+        assertEquals(List.of(2, 5), ids(management.query(new MemberQuery()
+            .joinedBetween(today.minusYears(1), today.minusYears(1)))));
+    }
+
+    @Test
+    public void testStatisticsFollowChanges() throws MemberNotFoundException {
+        membershipManagement.addMember("Ann", "Able", "ann@example.com", "",
+            MembershipType.PREMIUM, PaymentOption.CREDIT_CARD, MembershipStatus.ACTIVE);
+        Member bob = membershipManagement.addMember("Bob", "Baker", "bob@example.com", "",
+            MembershipType.BASIC, PaymentOption.CASH, MembershipStatus.ACTIVE);
+
+        MemberStatistics before = membershipManagement.getStatistics();
+        assertEquals(2, before.total());
+        assertEquals(2, before.byStatus().get(MembershipStatus.ACTIVE).intValue());
+        assertEquals(0, before.byStatus().get(MembershipStatus.INACTIVE).intValue());
+        assertEquals(1, before.byType().get(MembershipType.PREMIUM).intValue());
+        assertEquals(1, before.byPaymentOption().get(PaymentOption.CASH).intValue());
+        assertEquals(0, before.overdue());
+        // Nothing changed, so the same snapshot is returned
+        assertTrue(before == membershipManagement.getStatistics());
+
+        membershipManagement.deactivateMember(bob.getMemberId());
+        membershipManagement.markMemberPaymentOverdue(bob.getMemberId());
+        MemberStatistics after = membershipManagement.getStatistics();
+        assertEquals(1, after.byStatus().get(MembershipStatus.ACTIVE).intValue());
+        assertEquals(1, after.byStatus().get(MembershipStatus.INACTIVE).intValue());
+        assertEquals(1, after.byPaymentStatus().get(PaymentStatus.OVERDUE).intValue());
+        assertEquals(1, after.overdue());
+        // The earlier snapshot is unchanged
+        assertEquals(2, before.byStatus().get(MembershipStatus.ACTIVE).intValue());
+
+        membershipManagement.removeMember(bob.getMemberId());
+        assertEquals(1, membershipManagement.getStatistics().total());
+        assertEquals(0, membershipManagement.getStatistics().overdue());
+    }
+
+    @Test
+    public void testFindMembersByNameFuzzy() throws MemberNotFoundException {
+        Member john = membershipManagement.addMember("John", "Smith", "john@example.com");
+        Member jon = membershipManagement.addMember("Jon", "Smyth", "jon@example.com");
+        Member jane = membershipManagement.addMember("Jane", "Smithers", "jane@example.com");
+
+        // Closest spelling first: "Jon Smyth" is two edits away, "John Smith" three
+        assertEquals(List.of(jon.getMemberId(), john.getMemberId()),
+            ids(membershipManagement.findMembersByNameFuzzy("Jon Smtih")));
+        assertEquals(List.of(jon.getMemberId(), john.getMemberId()),
+            ids(membershipManagement.findMembersByNameFuzzy("smyth jon")));
+        assertEquals(List.of(jane.getMemberId()), ids(membershipManagement.findMembersByNameFuzzy("smithres")));
+        assertEquals(List.of(john.getMemberId()), ids(membershipManagement.findMembersByNameFuzzy("John Smith", 0)));
+        assertTrue(membershipManagement.findMembersByNameFuzzy("Xavier").isEmpty());
+        assertTrue(membershipManagement.findMembersByNameFuzzy("  ").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> membershipManagement.findMembersByNameFuzzy("John", -1));
+
+        // The index follows renames and removals
+        membershipManagement.updateMember(john.getMemberId(), "Johan", "Schmidt", "john@example.com", "",
+            MembershipType.BASIC, PaymentOption.CASH, MembershipStatus.ACTIVE);
+        assertEquals(List.of(jon.getMemberId()), ids(membershipManagement.findMembersByNameFuzzy("Jon Smtih")));
+        assertEquals(List.of(john.getMemberId()), ids(membershipManagement.findMembersByNameFuzzy("johan schmit")));
+        membershipManagement.removeMember(jon.getMemberId());
+        assertTrue(membershipManagement.findMembersByNameFuzzy("Jon Smtih").isEmpty());
+    }
+
+    @Test
+    public void testEditDistance() {
+        assertEquals(0, FuzzyNameIndex.distance("smith", "smith"));
+        assertEquals(2, FuzzyNameIndex.distance("smith", "smtih"));
+        assertEquals(1, FuzzyNameIndex.distance("jon", "john"));
+        assertEquals(3, FuzzyNameIndex.distance("", "abc"));
+        assertEquals(3, FuzzyNameIndex.distance("kitten", "sitting"));
+    }
+
+    @Test
+    public void testPageMembersInIdOrder() throws MemberNotFoundException {
+        for (int i = 0; i < 5; i++) {
+            membershipManagement.addMember("Member", "Number" + i, "m" + i + "@example.com", "",
+                i % 2 == 0 ? MembershipType.PREMIUM : MembershipType.BASIC, PaymentOption.CASH, MembershipStatus.ACTIVE);
+        }
+        membershipManagement.removeMember(2);
+
+        Page<Member> first = membershipManagement.pageMembers(0, 2, null);
+        assertEquals(List.of(1, 3), ids(first.items()));
+        assertTrue(first.hasMore());
+        Page<Member> second = membershipManagement.pageMembers(first.nextAfter(), 2, null);
+        assertEquals(List.of(4, 5), ids(second.items()));
+        assertFalse(second.hasMore());
+        Page<Member> empty = membershipManagement.pageMembers(second.nextAfter(), 2, null);
+        assertTrue(empty.items().isEmpty());
+        assertEquals(5, empty.nextAfter());
+
+        Page<Member> premium = membershipManagement.pageMembers(1, 1, MemberFilter.type(MembershipType.PREMIUM));
+        assertEquals(List.of(3), ids(premium.items()));
+        assertTrue(premium.hasMore());
+        assertThrows(IllegalArgumentException.class, () -> membershipManagement.pageMembers(0, 0, null));
+    }
 }
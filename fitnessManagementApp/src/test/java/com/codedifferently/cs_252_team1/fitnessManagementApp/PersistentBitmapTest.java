@@ -0,0 +1,39 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class PersistentBitmapTest {
+
+    @Test
+    public void testAddAndRemoveAcrossChunks() {
+        PersistentBitmap bitmap = PersistentBitmap.EMPTY;
+        for (int id : new int[] {1, 63, 64, 1023, 1024, 70000}) {
+            bitmap = bitmap.add(id);
+        }
+
+        assertEquals(6, bitmap.cardinality());
+        assertTrue(bitmap.contains(63));
+        assertTrue(bitmap.contains(1024));
+        assertFalse(bitmap.contains(2));
+        assertSame(bitmap, bitmap.add(64));
+
+        List<Integer> keys = new ArrayList<>();
+        for (PersistentBitmap.Chunk chunk : bitmap.chunks()) {
+            keys.add(chunk.key());
+        }
+        assertEquals(List.of(0, 1, 68), keys);
+
+        PersistentBitmap removed = bitmap.remove(70000).remove(1024);
+        assertEquals(4, removed.cardinality());
+        assertNull(removed.words(1));
+        assertTrue(bitmap.contains(70000));
+    }
+}
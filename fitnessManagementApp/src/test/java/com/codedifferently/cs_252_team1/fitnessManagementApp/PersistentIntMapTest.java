@@ -0,0 +1,146 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class PersistentIntMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        PersistentIntMap<String> map = PersistentIntMap.<String>empty()
+            .put(1, "one")
+            .put(33, "thirty-three")
+            .put(Integer.MAX_VALUE, "max");
+
+        assertEquals(3, map.size());
+        assertEquals("one", map.get(1));
+        assertEquals("thirty-three", map.get(33));
+        assertEquals("max", map.get(Integer.MAX_VALUE));
+        assertNull(map.get(2));
+
+        PersistentIntMap<String> replaced = map.put(33, "again");
+        assertEquals(3, replaced.size());
+        assertEquals("again", replaced.get(33));
+    }
+
+    @Test
+    public void testOlderVersionsAreUnchanged() {
+        PersistentIntMap<String> first = PersistentIntMap.<String>empty().put(1, "one").put(2, "two");
+        PersistentIntMap<String> second = first.put(3, "three").remove(1);
+
+        assertEquals(2, first.size());
+        assertEquals("one", first.get(1));
+        assertNull(first.get(3));
+        assertEquals(2, second.size());
+        assertNull(second.get(1));
+        assertEquals("three", second.get(3));
+    }
+
+    @Test
+    public void testRemove() {
+        PersistentIntMap<String> map = PersistentIntMap.<String>empty().put(5, "five").put(70000, "big");
+
+        assertSame(map, map.remove(6));
+        PersistentIntMap<String> removed = map.remove(70000).remove(5);
+        assertTrue(removed.isEmpty());
+        assertTrue(removed.values().isEmpty());
+        assertEquals("six", removed.put(6, "six").get(6));
+    }
+
+    @Test
+    public void testValuesInKeyOrder() {
+        PersistentIntMap<Integer> map = PersistentIntMap.empty();
+        for (int key : new int[] {1000000, 3, 64, 1, 32, 2}) {
+            map = map.put(key, key);
+        }
+
+        assertEquals(List.of(1, 2, 3, 32, 64, 1000000), new ArrayList<>(map.values()));
+    }
+
+    @Test
+    public void testForEachInRange() {
+        PersistentIntMap<Integer> map = PersistentIntMap.empty();
+        for (int key = 0; key < 5000; key += 7) {
+            map = map.put(key, key);
+        }
+        map = map.put(-1, -1);
+
+        List<Integer> visited = new ArrayList<>();
+        map.forEachInRange(100, 200, visited::add);
+        List<Integer> expected = new ArrayList<>();
+        for (int key = 105; key <= 200; key += 7) {
+            expected.add(key);
+        }
+        assertEquals(expected, visited);
+
+        // Negative keys come after every other key
+        visited.clear();
+        map.forEachInRange(4995, -1, visited::add);
+        assertEquals(List.of(4998, -1), visited);
+
+        visited.clear();
+        map.forEachInRange(200, 100, visited::add);
+        assertTrue(visited.isEmpty());
+    }
+
+    @Test
+    public void testVisitRangeDescendingStopsWhenAsked() {
+        PersistentIntMap<Integer> map = PersistentIntMap.empty();
+        for (int key = 0; key < 5000; key += 7) {
+            map = map.put(key, key);
+        }
+        map = map.put(-1, -1);
+
+        List<Integer> visited = new ArrayList<>();
+        assertTrue(map.visitRangeDescending(100, 130, visited::add));
+        assertEquals(List.of(126, 119, 112, 105), visited);
+
+        visited.clear();
+        boolean finished = map.visitRangeDescending(0, -1, key -> {
+            visited.add(key);
+            return visited.size() < 3;
+        });
+        assertFalse(finished);
+        assertEquals(List.of(-1, 4998, 4991), visited);
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        Random random = new Random(42);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentIntMap<Integer> map = PersistentIntMap.empty();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, i);
+                map = map.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.size(), map.values().size());
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        assertEquals(PersistentIntMap.copyOf(expected).size(), map.size());
+    }
+
+    @Test
+    public void testNullValueIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PersistentIntMap.<String>empty().put(1, null));
+    }
+}
@@ -25,6 +25,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.codedifferently.cs_252_team1.fitnessManagementApp.Employee;
 import com.codedifferently.cs_252_team1.fitnessManagementApp.EmployeeManager;
 import com.codedifferently.cs_252_team1.fitnessManagementApp.EmployeeNotFoundException;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Page;
 import com.codedifferently.cs_252_team1.fitnessManagementApp.WorkStatus;
 
 @ExtendWith(MockitoExtension.class)
@@ -210,6 +211,26 @@ public void testAddEmployeeCommandSuccess() {
         assertTrue(output.contains("ID: 2 | Name: Jane Smith | Dept: HR | Position: Manager | Status: ACTIVE"));
     }
 
+    @Test
+    public void testListEmployeesCommandPage() {
+        // Arrange
+        EmployeeCommand.ListEmployeesCommand listCommand = new EmployeeCommand.ListEmployeesCommand();
+        listCommand.employeeManager = employeeManager;
+        listCommand.limit = 1;
+
+        Employee emp1 = new Employee(1, "John", "Doe", "john@email.com", "1234567890",
+            "IT", "Developer", 60000.00, LocalDate.now(), WorkStatus.ACTIVE);
+        when(employeeManager.pageEmployees(0, 1, null)).thenReturn(new Page<>(List.of(emp1), 1, false));
+
+        // Act
+        listCommand.run();
+
+        // Assert
+        String output = outContent.toString();
+        assertTrue(output.contains("ID: 1 | Name: John Doe | Dept: IT | Position: Developer | Status: ACTIVE"));
+        assertTrue(!output.contains("More employees"));
+    }
+
     @Test
     public void testGetEmployeeCommandSuccess() throws EmployeeNotFoundException {
         // Arrange
@@ -25,6 +25,7 @@ import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
 import com.codedifferently.cs_252_team1.fitnessManagementApp.MemberNotFoundException;
 import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipManagement;
 import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipType;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Page;
 
 @ExtendWith(MockitoExtension.class)
 public class MemberCommandTest {
@@ -311,6 +312,86 @@ public void testListMembersCommandEmpty() {
         assertTrue(errContent.toString().contains("❌ Error getting member: Database error"));
     }
 
+    @Test
+    public void testFindMemberCommandByPhone() throws MemberNotFoundException {
+        // Arrange
+        MemberCommand.FindMemberCommand findCommand = new MemberCommand.FindMemberCommand();
+        setFieldValue(findCommand, "membershipManagement", membershipManagement);
+        setFieldValue(findCommand, "phone", "(123) 456-7890");
+        
+        Member mockMember = new Member();
+        mockMember.setMemberId(1);
+        mockMember.setFirstName("John");
+        mockMember.setLastName("Doe");
+        mockMember.setEmail("john@email.com");
+        mockMember.setPhoneNumber("1234567890");
+        mockMember.setMembershipType(MembershipType.PREMIUM);
+        
+        when(membershipManagement.findMemberByPhone("(123) 456-7890")).thenReturn(mockMember);
+
+        // Act
+        findCommand.run();
+
+        // Assert
+        String output = outContent.toString();
+        assertTrue(output.contains("👤 Member Details:"));
+        assertTrue(output.contains("ID: 1"));
+        assertTrue(output.contains("Phone: 1234567890"));
+    }
+
+    @Test
+    public void testFindMemberCommandByEmailNotFound() throws MemberNotFoundException {
+        // Arrange
+        MemberCommand.FindMemberCommand findCommand = new MemberCommand.FindMemberCommand();
+        setFieldValue(findCommand, "membershipManagement", membershipManagement);
+        setFieldValue(findCommand, "email", "nobody@email.com");
+        
+        when(membershipManagement.findMemberByEmail("nobody@email.com"))
+            .thenThrow(new MemberNotFoundException("Member with email nobody@email.com not found"));
+
+        // Act
+        findCommand.run();
+
+        // Assert
+        assertTrue(errContent.toString().contains("❌ Member not found: Member with email nobody@email.com not found"));
+    }
+
+    @Test
+    public void testFindMemberCommandNeedsOneOption() {
+        MemberCommand.FindMemberCommand findCommand = new MemberCommand.FindMemberCommand();
+        setFieldValue(findCommand, "membershipManagement", membershipManagement);
+
+        findCommand.run();
+
+        assertTrue(errContent.toString().contains("❌ Give either --email or --phone"));
+    }
+
+    @Test
+    public void testListMembersCommandPage() {
+        // Arrange
+        MemberCommand.ListMembersCommand listCommand = new MemberCommand.ListMembersCommand();
+        setFieldValue(listCommand, "membershipManagement", membershipManagement);
+        setFieldValue(listCommand, "limit", 1);
+        setFieldValue(listCommand, "afterId", 5);
+
+        Member member = new Member();
+        member.setMemberId(6);
+        member.setFirstName("John");
+        member.setLastName("Doe");
+        member.setEmail("john@email.com");
+        member.setMembershipType(MembershipType.PREMIUM);
+
+        when(membershipManagement.pageMembers(5, 1, null)).thenReturn(new Page<>(List.of(member), 6, true));
+
+        // Act
+        listCommand.run();
+
+        // Assert
+        String output = outContent.toString();
+        assertTrue(output.contains("ID: 6 | Name: John Doe | Email: john@email.com | Type: PREMIUM"));
+        assertTrue(output.contains("More members: use --after 6"));
+    }
+
     @Test
     public void testDefaultConstructor() {
         MemberCommand command = new MemberCommand();
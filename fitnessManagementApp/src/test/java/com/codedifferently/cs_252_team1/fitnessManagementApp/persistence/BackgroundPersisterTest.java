@@ -0,0 +1,117 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BackgroundPersisterTest {
+    @TempDir
+    Path tempDir;
+
+    private long replayCount(Path file) throws IOException {
+        try (MutationLog reader = new MutationLog(file)) {
+            return reader.replay(payload -> { });
+        }
+    }
+
+    @Test
+    public void testAppendsAreBufferedUntilPersisted() throws IOException {
+        Path file = tempDir.resolve("members.log");
+        BackgroundPersister persister = new BackgroundPersister(Duration.ofHours(1));
+        MutationLog log = new MutationLog(file, FsyncPolicy.osManaged(), persister);
+
+        long last = 0;
+        for (int i = 0; i < 1000; i++) {
+            last = log.append(new byte[] {1, 2, 3});
+            log.commit(last);
+        }
+
+        // Still lingering: nothing has reached the file yet
+        assertEquals(0, Files.exists(file) ? Files.size(file) : 0);
+        assertEquals(1000, log.recordCount());
+        assertEquals(0, log.durableSequence());
+
+        log.sync(last);
+        assertEquals(1000, log.durableSequence());
+        assertEquals(1000, replayCount(file));
+        log.close();
+        persister.close();
+    }
+
+    @Test
+    public void testBatchCommitWaitsForBackgroundForce() throws Exception {
+        Path file = tempDir.resolve("members.log");
+        BackgroundPersister persister = new BackgroundPersister(Duration.ofMillis(20));
+        MutationLog log = new MutationLog(file, FsyncPolicy.everyBatch(), persister);
+
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                try {
+                    long sequence = log.append(new byte[] {7});
+                    log.commit(sequence);
+                    // Acknowledged only once it is on disk
+                    assertTrue(log.durableSequence() >= sequence);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        assertEquals(4, log.durableSequence());
+        assertEquals(4, replayCount(file));
+        persister.close();
+        log.close();
+    }
+
+    @Test
+    public void testBackgroundThreadWritesBatch() throws Exception {
+        Path file = tempDir.resolve("members.log");
+        BackgroundPersister persister = new BackgroundPersister(Duration.ZERO);
+        MutationLog log = new MutationLog(file, FsyncPolicy.everyBatch(), persister);
+        for (int i = 0; i < 100; i++) {
+            log.append(new byte[] {4, 5});
+        }
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (log.durableSequence() < 100 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(100, log.durableSequence());
+        assertEquals(100, replayCount(file));
+        persister.close();
+        log.close();
+    }
+
+    @Test
+    public void testCloseDrainsBufferedRecords() throws IOException {
+        Path file = tempDir.resolve("members.log");
+        BackgroundPersister persister = new BackgroundPersister(Duration.ofHours(1));
+        MutationLog log = new MutationLog(file, FsyncPolicy.osManaged(), persister);
+        log.append(new byte[] {1});
+        log.append(new byte[] {2});
+
+        MutationLog.Mark mark = log.mark();
+        assertEquals(2, mark.recordCount());
+        log.append(new byte[] {3});
+        persister.close();
+
+        assertEquals(3, replayCount(file));
+        log.close();
+    }
+
+    @Test
+    public void testRejectsNegativeLinger() {
+        assertThrows(IllegalArgumentException.class, () -> new BackgroundPersister(Duration.ofMillis(-1)));
+    }
+}
@@ -0,0 +1,158 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipStatus;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipType;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentOption;
+
+public class CheckpointerTest {
+    @TempDir
+    Path tempDir;
+
+    private MemberJournal journal;
+
+    @BeforeEach
+    public void setUp() {
+        journal = new MemberJournal(tempDir.resolve("members.log"));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        journal.close();
+    }
+
+    private void logMembers(int count) throws IOException {
+        for (int i = 1; i <= count; i++) {
+            journal.recordAdd(new Member(i, "Member", "Number", "m@example.com", "",
+                LocalDate.now(), MembershipStatus.ACTIVE, MembershipType.BASIC, PaymentOption.CASH));
+        }
+    }
+
+    @Test
+    public void testPolicyThresholds() {
+        CompactionPolicy policy = new CompactionPolicy(1000, 10, Duration.ofMinutes(5));
+
+        assertFalse(policy.isCheckpointDue(10_000, 0, Duration.ofHours(1)));
+        assertFalse(policy.isCheckpointDue(999, 9, Duration.ofMinutes(4)));
+        assertTrue(policy.isCheckpointDue(1000, 1, Duration.ZERO));
+        assertTrue(policy.isCheckpointDue(10, 10, Duration.ZERO));
+        assertTrue(policy.isCheckpointDue(10, 1, Duration.ofMinutes(5)));
+    }
+
+    @Test
+    public void testPolicyRejectsInvalidThresholds() {
+        assertThrows(IllegalArgumentException.class, () -> new CompactionPolicy(0, 10, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> new CompactionPolicy(10, 10, Duration.ZERO));
+    }
+
+    @Test
+    public void testCheckpointRunsOnlyWhenDue() throws IOException {
+        AtomicInteger checkpoints = new AtomicInteger();
+        Checkpointer checkpointer = new Checkpointer(new CompactionPolicy(1_000_000, 5, Duration.ofDays(1)),
+            Duration.ofHours(1));
+        checkpointer.register(journal, () -> {
+            checkpoints.incrementAndGet();
+            journal.reset();
+        });
+
+        logMembers(4);
+        checkpointer.runDueCheckpoints();
+        assertEquals(0, checkpoints.get());
+
+        logMembers(1);
+        checkpointer.runDueCheckpoints();
+        assertEquals(1, checkpoints.get());
+        assertEquals(0, journal.recordCount());
+        checkpointer.close();
+    }
+
+    @Test
+    public void testCheckpointRunsAfterInterval() throws IOException {
+        AtomicInteger checkpoints = new AtomicInteger();
+        MutableClock clock = new MutableClock();
+        Checkpointer checkpointer = new Checkpointer(new CompactionPolicy(1_000_000, 1_000, Duration.ofMinutes(10)),
+            Duration.ofHours(1), clock);
+        checkpointer.register(journal, checkpoints::incrementAndGet);
+        logMembers(1);
+
+        checkpointer.runDueCheckpoints();
+        assertEquals(0, checkpoints.get());
+
+        clock.advance(Duration.ofMinutes(10));
+        checkpointer.runDueCheckpoints();
+        assertEquals(1, checkpoints.get());
+        checkpointer.close();
+    }
+
+    @Test
+    public void testSyncEveryForcesOnTheInterval() throws Exception {
+        Checkpointer checkpointer = new Checkpointer(new CompactionPolicy(1_000_000, 1_000, Duration.ofDays(1)),
+            Duration.ofHours(1));
+        CountDownLatch forced = new CountDownLatch(3);
+        AtomicInteger ignored = new AtomicInteger();
+        Object store = new Object();
+        checkpointer.syncEvery(store, "store", FsyncPolicy.every(Duration.ofMillis(5)), forced::countDown);
+        checkpointer.syncEvery(new Object(), "batch store", FsyncPolicy.everyBatch(), ignored::incrementAndGet);
+
+        assertTrue(forced.await(5, TimeUnit.SECONDS));
+        checkpointer.cancelSync(store);
+        assertEquals(0, ignored.get());
+        checkpointer.close();
+    }
+
+    @Test
+    public void testIntervalPolicyNeedsACheckpointer() {
+        FsyncPolicy interval = FsyncPolicy.every(Duration.ofMillis(100));
+        assertThrows(IllegalArgumentException.class, () -> new JournalMemberStore(tempDir, interval, null, null));
+        assertThrows(IllegalArgumentException.class, () -> new JournalEmployeeStore(tempDir, interval, null, null));
+        assertThrows(IllegalArgumentException.class, () -> new MappedMemberStore(tempDir, interval, null));
+        assertThrows(IllegalArgumentException.class, () -> new SerializedMemberStore(tempDir, interval));
+        assertThrows(IllegalArgumentException.class,
+            () -> new JdbcMemberStore(new ConnectionPool("jdbc:unused", "sa", "", 1), interval, 500));
+        new JournalMemberStore(tempDir, FsyncPolicy.osManaged(), null, null);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
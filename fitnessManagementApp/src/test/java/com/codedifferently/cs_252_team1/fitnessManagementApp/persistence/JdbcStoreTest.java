@@ -0,0 +1,174 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Employee;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipStatus;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipType;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentOption;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentStatus;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.WorkStatus;
+
+public class JdbcStoreTest {
+    @TempDir
+    Path tempDir;
+
+    private ConnectionPool pool() {
+        return new ConnectionPool("jdbc:h2:file:" + tempDir.resolve("fitness").toAbsolutePath(), "sa", "", 2);
+    }
+
+    private Member member(int id, String firstName, MembershipStatus status) {
+        return new Member(id, firstName, "Doe", firstName.toLowerCase() + "@example.com", "555-1234",
+            LocalDate.of(2020, 1, 15), status, MembershipType.PREMIUM, PaymentOption.CREDIT_CARD);
+    }
+
+    private Employee employee(int id, String firstName, String department) {
+        return new Employee(id, firstName, "Doe", firstName.toLowerCase() + "@gym.com", "555-1234",
+            department, "Coach", 50000.00, LocalDate.of(2022, 3, 1), WorkStatus.ACTIVE);
+    }
+
+    @Test
+    public void testMemberChangesSurviveReopen() throws IOException {
+        Map<Integer, Member> members = new HashMap<>();
+        JdbcMemberStore store = new JdbcMemberStore(pool(), FsyncPolicy.everyBatch(), 2);
+        assertEquals(1, store.open(members, () -> new ArrayList<>(members.values())));
+        Member john = member(1, "John", MembershipStatus.ACTIVE);
+        Member jane = member(2, "Jane", MembershipStatus.ACTIVE);
+        Member bob = member(3, "Bob", MembershipStatus.ACTIVE);
+        store.memberAdded(john);
+        store.memberAdded(jane);
+        store.commit(store.memberAdded(bob));
+        jane.markPaymentOverdue();
+        store.paymentChanged(jane);
+        store.commit(store.memberRemoved(3));
+        store.close();
+
+        Map<Integer, Member> loaded = new HashMap<>();
+        JdbcMemberStore reopened = new JdbcMemberStore(pool(), FsyncPolicy.everyBatch(), 2);
+        assertEquals(4, reopened.open(loaded, () -> new ArrayList<>(loaded.values())));
+        reopened.close();
+        assertEquals(2, loaded.size());
+        assertEquals("john@example.com", loaded.get(1).getEmail());
+        assertEquals(LocalDate.of(2020, 1, 15), loaded.get(1).getMembershipDate());
+        assertEquals(PaymentStatus.OVERDUE, loaded.get(2).getPaymentStatus());
+        assertNull(loaded.get(3));
+    }
+
+    @Test
+    public void testStatusQuerySeesUnflushedChanges() throws IOException {
+        JdbcMemberStore store = new JdbcMemberStore(pool(), FsyncPolicy.osManaged(), 500);
+        store.open(new HashMap<>(), ArrayList::new);
+        store.memberAdded(member(1, "John", MembershipStatus.ACTIVE));
+        store.memberAdded(member(2, "Jane", MembershipStatus.INACTIVE));
+        store.memberAdded(member(3, "Bob", MembershipStatus.ACTIVE));
+
+        assertEquals(List.of(1, 3), sorted(store.findIdsByStatus(MembershipStatus.ACTIVE)));
+        assertEquals(List.of(2), store.findIdsByStatus(MembershipStatus.INACTIVE));
+        store.close();
+    }
+
+    @Test
+    public void testOsPolicyWritesEachCommit() throws Exception {
+        JdbcMemberStore store = new JdbcMemberStore(pool(), FsyncPolicy.osManaged(), 500);
+        store.open(new HashMap<>(), ArrayList::new);
+        store.commit(store.memberAdded(member(1, "John", MembershipStatus.ACTIVE)));
+        store.memberAdded(member(2, "Jane", MembershipStatus.ACTIVE));
+
+        // Only the committed change is in the table
+        assertEquals(1, countRows("members"));
+        store.close();
+    }
+
+    @Test
+    public void testIntervalPolicyFlushesOnTheCheckpointer() throws Exception {
+        Checkpointer checkpointer = new Checkpointer(new CompactionPolicy(1_000_000, 1_000, Duration.ofDays(1)),
+            Duration.ofHours(1));
+        JdbcEmployeeStore store = new JdbcEmployeeStore(pool(), FsyncPolicy.every(Duration.ofMillis(10)), 500,
+            checkpointer);
+        store.open(new HashMap<>(), ArrayList::new);
+        store.commit(store.employeeAdded(employee(1, "John", "Training")));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (countRows("employees") < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, countRows("employees"));
+        store.close();
+        checkpointer.close();
+    }
+
+    @Test
+    public void testClearEmptiesTableAndResetsNextId() throws IOException {
+        JdbcMemberStore store = new JdbcMemberStore(pool(), FsyncPolicy.everyBatch(), 500);
+        store.open(new HashMap<>(), ArrayList::new);
+        store.commit(store.memberAdded(member(1, "John", MembershipStatus.ACTIVE)));
+        store.membersCleared();
+        store.commit(store.memberAdded(member(1, "Bob", MembershipStatus.ACTIVE)));
+        store.close();
+
+        Map<Integer, Member> loaded = new HashMap<>();
+        JdbcMemberStore reopened = new JdbcMemberStore(pool(), FsyncPolicy.everyBatch(), 500);
+        assertEquals(2, reopened.open(loaded, ArrayList::new));
+        reopened.close();
+        assertEquals(1, loaded.size());
+        assertEquals("Bob", loaded.get(1).getFirstName());
+    }
+
+    @Test
+    public void testDepartmentQueryIgnoresCase() throws IOException {
+        Map<Integer, Employee> employees = new HashMap<>();
+        JdbcEmployeeStore store = new JdbcEmployeeStore(pool(), FsyncPolicy.everyBatch(), 500);
+        store.open(employees, ArrayList::new);
+        store.employeeAdded(employee(1, "John", "Training"));
+        store.employeeAdded(employee(2, "Jane", "Management"));
+        store.commit(store.employeeAdded(employee(3, "Bob", "TRAINING")));
+
+        assertEquals(List.of(1, 3), sorted(store.findIdsByDepartment("training")));
+        store.close();
+
+        Map<Integer, Employee> loaded = new HashMap<>();
+        JdbcEmployeeStore reopened = new JdbcEmployeeStore(pool(), FsyncPolicy.everyBatch(), 500);
+        assertEquals(4, reopened.open(loaded, ArrayList::new));
+        reopened.close();
+        assertEquals(50000.00, loaded.get(2).getSalary());
+        assertTrue(loaded.get(3).getDepartment().equals("TRAINING"));
+    }
+
+    private int countRows(String table) throws SQLException {
+        ConnectionPool reader = pool();
+        try {
+            return reader.withConnection(connection -> {
+                try (Statement statement = connection.createStatement();
+                        ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                    rows.next();
+                    return rows.getInt(1);
+                }
+            });
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static List<Integer> sorted(List<Integer> ids) {
+        List<Integer> copy = new ArrayList<>(ids);
+        copy.sort(null);
+        return copy;
+    }
+}
@@ -0,0 +1,116 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Employee;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipStatus;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipType;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentOption;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.WorkStatus;
+
+public class LegacyDataMigratorTest {
+    @TempDir
+    Path tempDir;
+
+    private Path dataFile;
+    private Path logFile;
+    private Path snapshotFile;
+
+    @BeforeEach
+    public void setUp() {
+        dataFile = tempDir.resolve("members.dat");
+        logFile = tempDir.resolve("members.log");
+        snapshotFile = tempDir.resolve("members.snap");
+    }
+
+    private void writeSerialized(Path file, Object value) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(file))) {
+            out.writeObject(value);
+        }
+    }
+
+    private Member member(int id, String firstName) {
+        return new Member(id, firstName, "Doe", "", "555-1234",
+            LocalDate.of(2021, 4, 2), MembershipStatus.ACTIVE, MembershipType.VIP, PaymentOption.DEBIT_CARD);
+    }
+
+    @Test
+    public void testNothingToMigrate() throws IOException {
+        assertFalse(LegacyDataMigrator.migrateMembers(dataFile, logFile, snapshotFile));
+        assertFalse(Files.exists(snapshotFile));
+    }
+
+    @Test
+    public void testMigratesSerializedMembers() throws IOException {
+        Map<Integer, Member> legacy = new HashMap<>();
+        legacy.put(1, member(1, "John"));
+        legacy.put(3, member(3, "Jane"));
+        writeSerialized(dataFile, legacy);
+
+        assertTrue(LegacyDataMigrator.migrateMembers(dataFile, logFile, snapshotFile));
+
+        Map<Integer, Member> migrated = new HashMap<>();
+        SnapshotFile.readMembers(snapshotFile, migrated);
+        assertEquals(2, migrated.size());
+        assertEquals(MembershipType.VIP, migrated.get(3).getMembershipType());
+        assertFalse(Files.exists(dataFile));
+        assertTrue(Files.exists(tempDir.resolve("members.dat.migrated")));
+
+        // Running again is a no-op
+        assertFalse(LegacyDataMigrator.migrateMembers(dataFile, logFile, snapshotFile));
+    }
+
+    @Test
+    public void testFoldsVersionOneLogIntoSnapshot() throws IOException {
+        Map<Integer, Member> legacy = new HashMap<>();
+        legacy.put(1, member(1, "John"));
+        writeSerialized(dataFile, legacy);
+
+        // Version 1 STATUS record: op 4, int id, UTF status name
+        try (MutationLog log = new MutationLog(logFile, 1)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(4);
+            out.writeInt(1);
+            out.writeUTF("INACTIVE");
+            log.append(bytes.toByteArray());
+        }
+
+        assertTrue(LegacyDataMigrator.migrateMembers(dataFile, logFile, snapshotFile));
+
+        Map<Integer, Member> migrated = new HashMap<>();
+        SnapshotFile.readMembers(snapshotFile, migrated);
+        assertEquals(MembershipStatus.INACTIVE, migrated.get(1).getMembershipStatus());
+        assertFalse(Files.exists(logFile));
+    }
+
+    @Test
+    public void testMigratesSerializedEmployees() throws IOException {
+        Map<Integer, Employee> legacy = new HashMap<>();
+        legacy.put(2, new Employee(2, "Mattie", "Weathersby", "mattie@email.com", "302000000",
+            "Management", "Assistant Manager", 50000.00, LocalDate.of(2025, 9, 18), WorkStatus.ACTIVE));
+        writeSerialized(dataFile, legacy);
+
+        assertTrue(LegacyDataMigrator.migrateEmployees(dataFile, logFile, snapshotFile));
+
+        Map<Integer, Employee> migrated = new HashMap<>();
+        SnapshotFile.readEmployees(snapshotFile, migrated);
+        assertEquals("Assistant Manager", migrated.get(2).getPosition());
+    }
+}
@@ -0,0 +1,223 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipStatus;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipType;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentOption;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentStatus;
+
+public class MappedMemberStoreTest {
+    @TempDir
+    Path tempDir;
+
+    private Member member(int id, String firstName) {
+        return new Member(id, firstName, "Doe", firstName.toLowerCase() + "@example.com", "555-1234",
+            LocalDate.of(2020, 1, 15), MembershipStatus.ACTIVE, MembershipType.PREMIUM, PaymentOption.CREDIT_CARD);
+    }
+
+    private Map<Integer, Member> reopen() throws IOException {
+        Map<Integer, Member> members = new HashMap<>();
+        MappedMemberStore store = new MappedMemberStore(tempDir, FsyncPolicy.osManaged(), null);
+        store.open(members, () -> new ArrayList<>(members.values()));
+        store.close();
+        return members;
+    }
+
+    @Test
+    public void testInPlaceUpdatesSurviveReopen() throws IOException {
+        Map<Integer, Member> members = new HashMap<>();
+        MappedMemberStore store = new MappedMemberStore(tempDir, FsyncPolicy.osManaged(), null);
+        store.open(members, () -> new ArrayList<>(members.values()));
+
+        Member john = member(1, "John");
+        Member jane = member(2, "Jane");
+        store.memberAdded(john);
+        store.memberAdded(jane);
+        john.deactivate();
+        store.statusChanged(john);
+        jane.markPaymentOverdue();
+        jane.setLastPaymentDate(LocalDate.of(2024, 3, 1));
+        store.paymentChanged(jane);
+        john.setLastName("Doeson");
+        john.setPhoneNumber(null);
+        store.memberUpdated(john);
+        store.close();
+
+        Map<Integer, Member> loaded = reopen();
+        assertEquals(2, loaded.size());
+        assertEquals(MembershipStatus.INACTIVE, loaded.get(1).getMembershipStatus());
+        assertEquals("Doeson", loaded.get(1).getLastName());
+        assertNull(loaded.get(1).getPhoneNumber());
+        assertEquals(MembershipType.PREMIUM, loaded.get(1).getMembershipType());
+        assertEquals(LocalDate.of(2020, 1, 15), loaded.get(1).getMembershipDate());
+        assertEquals(PaymentStatus.OVERDUE, loaded.get(2).getPaymentStatus());
+        assertEquals(LocalDate.of(2024, 3, 1), loaded.get(2).getLastPaymentDate());
+    }
+
+    @Test
+    public void testRemoveAndClear() throws IOException {
+        Map<Integer, Member> members = new HashMap<>();
+        MappedMemberStore store = new MappedMemberStore(tempDir, FsyncPolicy.osManaged(), null);
+        store.open(members, () -> new ArrayList<>(members.values()));
+        store.memberAdded(member(1, "John"));
+        store.memberAdded(member(2, "Jane"));
+        store.memberRemoved(1);
+        store.close();
+
+        assertEquals(1, reopen().size());
+
+        store = new MappedMemberStore(tempDir, FsyncPolicy.osManaged(), null);
+        store.open(new HashMap<>(), ArrayList::new);
+        store.membersCleared();
+        store.memberAdded(member(1, "Bob"));
+        store.close();
+
+        Map<Integer, Member> loaded = reopen();
+        assertEquals(1, loaded.size());
+        assertEquals("Bob", loaded.get(1).getFirstName());
+    }
+
+    @Test
+    public void testConcurrentBatchCommitsAreAllDurable() throws Exception {
+        MappedMemberStore store = new MappedMemberStore(tempDir, FsyncPolicy.everyBatch(), null);
+        store.open(new HashMap<>(), ArrayList::new);
+        List<Thread> threads = new ArrayList<>();
+        Map<Integer, Throwable> failures = new ConcurrentHashMap<>();
+        for (int t = 0; t < 4; t++) {
+            int first = t * 50 + 1;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int id = first; id < first + 50; id++) {
+                        long ticket = store.memberAdded(member(id, "Member" + id));
+                        store.commit(ticket);
+                        assertTrue(store.durableTicket() >= ticket);
+                    }
+                } catch (Throwable e) {
+                    failures.put(first, e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        store.close();
+
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(200, reopen().size());
+    }
+
+    @Test
+    public void testIntervalForcesContinueAfterClear() throws Exception {
+        Checkpointer checkpointer = new Checkpointer(new CompactionPolicy(1_000_000, 1_000, Duration.ofDays(1)),
+            Duration.ofHours(1));
+        MappedMemberStore store = new MappedMemberStore(tempDir, FsyncPolicy.every(Duration.ofMillis(10)), null,
+            checkpointer);
+        store.open(new HashMap<>(), ArrayList::new);
+        store.membersCleared();
+        long ticket = store.memberAdded(member(1, "Bob"));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (store.durableTicket() < ticket && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(store.durableTicket() >= ticket);
+        store.close();
+        checkpointer.close();
+    }
+
+    @Test
+    public void testOpensHeapLargerThanTwoGigabytes() throws IOException {
+        MappedMemberStore store = new MappedMemberStore(tempDir, FsyncPolicy.osManaged(), null);
+        store.open(new HashMap<>(), ArrayList::new);
+        store.close();
+        Path heap;
+        try (Stream<Path> files = Files.list(tempDir)) {
+            heap = files.filter(file -> file.getFileName().toString().startsWith(MappedMemberStore.HEAP_FILE_PREFIX))
+                .findFirst().orElseThrow();
+        }
+        // A sparse heap, so the next strings land past 2 GiB
+        try (FileChannel channel = FileChannel.open(heap, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(1), 3L << 30);
+        }
+
+        store = new MappedMemberStore(tempDir, FsyncPolicy.osManaged(), null);
+        store.open(new HashMap<>(), ArrayList::new);
+        store.memberAdded(member(1, "John"));
+        store.close();
+
+        assertEquals("John", reopen().get(1).getFirstName());
+    }
+
+    @Test
+    public void testSlotFileGrowsForLargeIds() throws IOException {
+        MappedMemberStore store = new MappedMemberStore(tempDir, FsyncPolicy.osManaged(), null);
+        store.open(new HashMap<>(), ArrayList::new);
+        store.memberAdded(member(5000, "John"));
+        store.close();
+
+        assertEquals("John", reopen().get(5000).getFirstName());
+        assertTrue(Files.size(tempDir.resolve(MappedMemberStore.SLOT_FILE))
+            >= MappedMemberStore.HEADER_SIZE + 5000L * MappedMemberStore.SLOT_SIZE);
+    }
+
+    @Test
+    public void testDeadHeapSpaceIsReclaimedOnOpen() throws IOException {
+        MappedMemberStore store = new MappedMemberStore(tempDir, FsyncPolicy.osManaged(), null);
+        store.open(new HashMap<>(), ArrayList::new);
+        Member john = member(1, "John");
+        store.memberAdded(john);
+        for (int i = 0; i < 5000; i++) {
+            john.setEmail("john" + i + "@example.com");
+            store.memberUpdated(john);
+        }
+        store.close();
+        assertTrue(Files.exists(tempDir.resolve(MappedMemberStore.HEAP_FILE_PREFIX + "1")));
+
+        assertEquals("john4999@example.com", reopen().get(1).getEmail());
+        assertFalse(Files.exists(tempDir.resolve(MappedMemberStore.HEAP_FILE_PREFIX + "1")));
+        assertEquals("john4999@example.com", reopen().get(1).getEmail());
+    }
+
+    @Test
+    public void testImportsJournalDataOnFirstOpen() throws IOException {
+        Map<Integer, Member> original = new HashMap<>();
+        JournalMemberStore journalStore = new JournalMemberStore(tempDir, FsyncPolicy.osManaged(), null, null);
+        journalStore.open(original, () -> new ArrayList<>(original.values()));
+        Member john = member(3, "John");
+        original.put(3, john);
+        journalStore.memberAdded(john);
+        journalStore.close();
+
+        Map<Integer, Member> members = new HashMap<>();
+        MappedMemberStore store = new MappedMemberStore(tempDir, FsyncPolicy.osManaged(), new JournalMemberStore(tempDir, FsyncPolicy.osManaged(), null, null));
+        store.open(members, () -> new ArrayList<>(members.values()));
+        store.close();
+
+        assertEquals("John", members.get(3).getFirstName());
+        assertEquals("John", reopen().get(3).getFirstName());
+    }
+}
@@ -0,0 +1,234 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipStatus;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipType;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentOption;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentStatus;
+
+public class MemberJournalTest {
+    @TempDir
+    Path tempDir;
+
+    private Path logFile;
+    private MemberJournal journal;
+
+    @BeforeEach
+    public void setUp() {
+        logFile = tempDir.resolve("members.log");
+        journal = new MemberJournal(logFile);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        journal.close();
+    }
+
+    private Member member(int id, String firstName) {
+        return new Member(id, firstName, "Doe", firstName.toLowerCase() + "@example.com", "555-1234",
+            LocalDate.of(2020, 1, 15), MembershipStatus.ACTIVE, MembershipType.PREMIUM, PaymentOption.CREDIT_CARD);
+    }
+
+    private Map<Integer, Member> replayFromDisk() throws IOException {
+        Map<Integer, Member> members = new HashMap<>();
+        try (MemberJournal reader = new MemberJournal(logFile)) {
+            reader.replay(members);
+        }
+        return members;
+    }
+
+    @Test
+    public void testReplayRebuildsAddedMembers() throws IOException {
+        journal.recordAdd(member(1, "John"));
+        journal.recordAdd(member(2, "Jane"));
+        journal.close();
+
+        Map<Integer, Member> members = replayFromDisk();
+
+        assertEquals(2, members.size());
+        Member john = members.get(1);
+        assertEquals("John", john.getFirstName());
+        assertEquals("john@example.com", john.getEmail());
+        assertEquals(LocalDate.of(2020, 1, 15), john.getMembershipDate());
+        assertEquals(MembershipType.PREMIUM, john.getMembershipType());
+        assertEquals(PaymentOption.CREDIT_CARD, john.getPaymentOption());
+    }
+
+    @Test
+    public void testReplayAppliesUpdatesRemovesAndStatusChanges() throws IOException {
+        Member john = member(1, "John");
+        Member jane = member(2, "Jane");
+        journal.recordAdd(john);
+        journal.recordAdd(jane);
+
+        john.setEmail("new@example.com");
+        journal.recordUpdate(john);
+        john.deactivate();
+        journal.recordStatus(john);
+        john.markPaymentOverdue();
+        journal.recordPayment(john);
+        journal.recordRemove(2);
+        journal.close();
+
+        Map<Integer, Member> members = replayFromDisk();
+
+        assertEquals(1, members.size());
+        assertFalse(members.containsKey(2));
+        assertEquals("new@example.com", members.get(1).getEmail());
+        assertEquals(MembershipStatus.INACTIVE, members.get(1).getMembershipStatus());
+        assertEquals(PaymentStatus.OVERDUE, members.get(1).getPaymentStatus());
+    }
+
+    @Test
+    public void testReplayIsIdempotentOverSnapshot() throws IOException {
+        Member john = member(1, "John");
+        journal.recordAdd(john);
+        john.deactivate();
+        journal.recordStatus(john);
+        journal.close();
+
+        // Snapshot already contains the final state; replaying must not change it
+        Map<Integer, Member> members = new HashMap<>();
+        members.put(1, john);
+        try (MemberJournal reader = new MemberJournal(logFile)) {
+            reader.replay(members);
+        }
+
+        assertEquals(MembershipStatus.INACTIVE, members.get(1).getMembershipStatus());
+    }
+
+    @Test
+    public void testClearRecordEmptiesMembers() throws IOException {
+        journal.recordAdd(member(1, "John"));
+        journal.recordClear();
+        journal.recordAdd(member(1, "Jane"));
+        journal.close();
+
+        Map<Integer, Member> members = replayFromDisk();
+
+        assertEquals(1, members.size());
+        assertEquals("Jane", members.get(1).getFirstName());
+    }
+
+    @Test
+    public void testTornTailIsDiscarded() throws IOException {
+        journal.recordAdd(member(1, "John"));
+        journal.recordAdd(member(2, "Jane"));
+        journal.close();
+
+        // Simulate a crash in the middle of writing the last record
+        long size = Files.size(logFile);
+        try (RandomAccessFile file = new RandomAccessFile(logFile.toFile(), "rw")) {
+            file.setLength(size - 5);
+        }
+
+        Map<Integer, Member> members = replayFromDisk();
+        assertEquals(1, members.size());
+        assertTrue(members.containsKey(1));
+
+        // New records go after the last intact one
+        try (MemberJournal writer = new MemberJournal(logFile)) {
+            writer.recordAdd(member(3, "Bob"));
+        }
+        members = replayFromDisk();
+        assertEquals(2, members.size());
+        assertTrue(members.containsKey(3));
+    }
+
+    @Test
+    public void testResetDropsLoggedOperations() throws IOException {
+        journal.recordAdd(member(1, "John"));
+        journal.reset();
+        journal.recordAdd(member(2, "Jane"));
+        journal.close();
+
+        Map<Integer, Member> members = replayFromDisk();
+
+        assertEquals(1, members.size());
+        assertTrue(members.containsKey(2));
+    }
+
+    @Test
+    public void testDiscardBeforeKeepsRecordsAfterMark() throws IOException {
+        journal.recordAdd(member(1, "John"));
+        journal.recordAdd(member(2, "Jane"));
+        MutationLog.Mark mark = journal.mark();
+        journal.recordRemove(2);
+
+        journal.discardBefore(mark);
+        assertEquals(1, journal.recordCount());
+        journal.close();
+
+        // Only the remove is left to apply on top of the snapshot
+        Map<Integer, Member> members = new HashMap<>();
+        members.put(2, member(2, "Jane"));
+        try (MemberJournal reader = new MemberJournal(logFile)) {
+            reader.replay(members);
+        }
+        assertTrue(members.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentCommitsAreAllDurable() throws Exception {
+        MutationLog log = new MutationLog(tempDir.resolve("group.log"), FsyncPolicy.everyBatch());
+        List<Thread> writers = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread writer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 50; i++) {
+                        log.commit(log.append(new byte[] {1, 2, 3}));
+                    }
+                } catch (IOException e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertTrue(failures.isEmpty());
+        assertEquals(400, log.lastSequence());
+        assertEquals(400, log.durableSequence());
+        log.close();
+        try (MutationLog reader = new MutationLog(tempDir.resolve("group.log"))) {
+            assertEquals(400, reader.replay(payload -> { }));
+        }
+    }
+
+    @Test
+    public void testOnlyBatchPolicyWaitsOnCommit() throws IOException {
+        MutationLog log = new MutationLog(tempDir.resolve("interval.log"), FsyncPolicy.every(Duration.ofHours(1)));
+        long sequence = log.append(new byte[] {1});
+        log.commit(sequence);
+        assertEquals(0, log.durableSequence());
+
+        log.sync(sequence);
+        assertEquals(sequence, log.durableSequence());
+        log.close();
+    }
+}
@@ -0,0 +1,179 @@
+package com.codedifferently.cs_252_team1.fitnessManagementApp.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Employee;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.Member;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipStatus;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.MembershipType;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentOption;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.PaymentStatus;
+import com.codedifferently.cs_252_team1.fitnessManagementApp.WorkStatus;
+
+public class RecordCodecTest {
+    @TempDir
+    Path tempDir;
+
+    private interface Encoder {
+        void encode(DataOutputStream out) throws IOException;
+    }
+
+    private DataInputStream roundTrip(Encoder encoder) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        encoder.encode(out);
+        out.flush();
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    @Test
+    public void testVarIntRoundTripAndSize() throws IOException {
+        int[] values = {0, 1, 127, 128, 16_383, 16_384, 200_000, Integer.MAX_VALUE};
+        DataInputStream in = roundTrip(out -> {
+            for (int value : values) {
+                RecordCodec.writeVarInt(out, value);
+            }
+        });
+        for (int value : values) {
+            assertEquals(value, RecordCodec.readVarInt(in));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        RecordCodec.writeVarInt(new DataOutputStream(bytes), 127);
+        assertEquals(1, bytes.size());
+    }
+
+    @Test
+    public void testVarIntRejectsNegativeValues() {
+        assertThrows(IllegalArgumentException.class,
+            () -> RecordCodec.writeVarInt(new DataOutputStream(new ByteArrayOutputStream()), -1));
+    }
+
+    @Test
+    public void testNullableStringsAndDates() throws IOException {
+        DataInputStream in = roundTrip(out -> {
+            RecordCodec.writeString(out, null);
+            RecordCodec.writeString(out, "");
+            RecordCodec.writeString(out, "Zoë");
+            RecordCodec.writeDate(out, null);
+            RecordCodec.writeDate(out, LocalDate.of(1960, 2, 29));
+            RecordCodec.writeDate(out, LocalDate.of(2025, 9, 18));
+        });
+
+        assertNull(RecordCodec.readString(in));
+        assertEquals("", RecordCodec.readString(in));
+        assertEquals("Zoë", RecordCodec.readString(in));
+        assertNull(RecordCodec.readDate(in));
+        assertEquals(LocalDate.of(1960, 2, 29), RecordCodec.readDate(in));
+        assertEquals(LocalDate.of(2025, 9, 18), RecordCodec.readDate(in));
+    }
+
+    @Test
+    public void testMemberRoundTrip() throws IOException {
+        Member member = new Member(42, "John", "Doe", "john@example.com", "555-1234",
+            LocalDate.of(2018, 5, 20), MembershipStatus.EXPIRED, MembershipType.STUDENT, PaymentOption.BANK_TRANSFER);
+        member.markPaymentOverdue();
+        member.setLastPaymentDate(LocalDate.of(2024, 12, 1));
+
+        Member decoded = RecordCodec.readMember(roundTrip(out -> RecordCodec.writeMember(out, member)));
+
+        assertEquals(42, decoded.getMemberId());
+        assertEquals("John", decoded.getFirstName());
+        assertEquals("Doe", decoded.getLastName());
+        assertEquals("john@example.com", decoded.getEmail());
+        assertEquals("555-1234", decoded.getPhoneNumber());
+        assertEquals(LocalDate.of(2018, 5, 20), decoded.getMembershipDate());
+        assertEquals(MembershipStatus.EXPIRED, decoded.getMembershipStatus());
+        assertEquals(MembershipType.STUDENT, decoded.getMembershipType());
+        assertEquals(PaymentOption.BANK_TRANSFER, decoded.getPaymentOption());
+        assertEquals(PaymentStatus.OVERDUE, decoded.getPaymentStatus());
+        assertEquals(LocalDate.of(2024, 12, 1), decoded.getLastPaymentDate());
+    }
+
+    @Test
+    public void testEmployeeRoundTrip() throws IOException {
+        Employee employee = new Employee(7, "Mattie", "Weathersby", "mattie@email.com", "302000000",
+            "Management", "Assistant Manager", 50000.50, LocalDate.of(2025, 9, 18), WorkStatus.ON_LEAVE);
+
+        Employee decoded = RecordCodec.readEmployee(roundTrip(out -> RecordCodec.writeEmployee(out, employee)));
+
+        assertEquals(7, decoded.getEmployeeId());
+        assertEquals("Mattie Weathersby", decoded.getFullName());
+        assertEquals("Management", decoded.getDepartment());
+        assertEquals("Assistant Manager", decoded.getPosition());
+        assertEquals(50000.50, decoded.getSalary());
+        assertEquals(LocalDate.of(2025, 9, 18), decoded.getHireDate());
+        assertEquals(WorkStatus.ON_LEAVE, decoded.getWorkStatus());
+    }
+
+    @Test
+    public void testInvalidEnumOrdinalIsRejected() throws IOException {
+        DataInputStream in = roundTrip(out -> out.writeByte(99));
+        assertThrows(IOException.class, () -> RecordCodec.readMembershipStatus(in));
+    }
+
+    @Test
+    public void testSnapshotIsSmallerThanJavaSerialization() throws IOException {
+        Map<Integer, Member> members = new HashMap<>();
+        List<Member> list = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            Member member = new Member(i, "First" + i, "Last" + i, "member" + i + "@example.com", "555-" + i,
+                LocalDate.of(2020, 1, 1).plusDays(i), MembershipStatus.ACTIVE, MembershipType.BASIC, PaymentOption.CASH);
+            members.put(i, member);
+            list.add(member);
+        }
+        Path legacy = tempDir.resolve("members.dat");
+        try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(legacy))) {
+            out.writeObject(new HashMap<>(members));
+        }
+        Path snapshot = tempDir.resolve("members.snap");
+        SnapshotFile.writeMembers(snapshot, list, 1001);
+
+        assertTrue(Files.size(snapshot) * 2 < Files.size(legacy),
+            "snapshot " + Files.size(snapshot) + " vs legacy " + Files.size(legacy));
+
+        Map<Integer, Member> loaded = new HashMap<>();
+        assertEquals(1001, SnapshotFile.readMembers(snapshot, loaded));
+        assertEquals(1000, loaded.size());
+        assertEquals("member500@example.com", loaded.get(500).getEmail());
+    }
+
+    @Test
+    public void testSnapshotRejectsWrongKind() throws IOException {
+        Path snapshot = tempDir.resolve("employees.snap");
+        SnapshotFile.writeEmployees(snapshot, List.of(), 1);
+
+        assertThrows(IOException.class, () -> SnapshotFile.readMembers(snapshot, new HashMap<>()));
+    }
+
+    @Test
+    public void testSnapshotKeepsNextIdPastHighestRecord() throws IOException {
+        Path snapshot = tempDir.resolve("members.snap");
+        Member member = new Member(2, "John", "Doe", "john@example.com", "555-1234",
+            LocalDate.of(2020, 1, 1), MembershipStatus.ACTIVE, MembershipType.BASIC, PaymentOption.CASH);
+        SnapshotFile.writeMembers(snapshot, List.of(member), 7);
+
+        Map<Integer, Member> loaded = new HashMap<>();
+        assertEquals(7, SnapshotFile.readMembers(snapshot, loaded));
+        assertEquals("John", loaded.get(2).getFirstName());
+    }
+}